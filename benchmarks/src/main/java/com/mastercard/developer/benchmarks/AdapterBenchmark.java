@@ -0,0 +1,302 @@
+package com.mastercard.developer.benchmarks;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.mastercard.developer.interceptors.HttpExecuteOAuth1Interceptor;
+import com.mastercard.developer.interceptors.OkHttp2OAuth1Interceptor;
+import com.mastercard.developer.interceptors.OkHttpOAuth1Interceptor;
+import com.mastercard.developer.interceptors.OpenFeignOAuth1Interceptor;
+import com.mastercard.developer.interceptors.SpringWebfluxOAuth1Interceptor;
+import com.mastercard.developer.signers.ApacheHttpClient4Signer;
+import com.mastercard.developer.signers.HttpsUrlConnectionSigner;
+import com.mastercard.developer.signers.SpringHttpRequestSigner;
+import com.mastercard.developer.signers.WebfluxBodies;
+import feign.Feign;
+import feign.Headers;
+import feign.RequestLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives each HTTP client integration against a {@link LocalServer}, with ("signed") and without the OAuth
+ * adapter, so that the cost of the adapter (body capture, hashing, signing) can be told apart from the cost of
+ * the client. {@link AdapterBenchmarkReport} runs this benchmark and prints the differences.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdapterBenchmark {
+
+    private static final String CONSUMER_KEY = "benchmark-consumer-key";
+    private static final String PATH = "/fraud/merchant/v1/termination-inquiry?Format=JSON&PageOffset=0";
+
+    @Param({"OKHTTP", "OKHTTP2", "APACHE_HTTP_CLIENT_4", "SPRING_REST_TEMPLATE", "SPRING_WEBFLUX", "OPENFEIGN", "GOOGLE_HTTP_CLIENT", "HTTPS_URL_CONNECTION"})
+    public Adapter adapter;
+
+    @Param({"true", "false"})
+    public boolean signed;
+
+    @Param({"1024"})
+    public int bodySize;
+
+    private LocalServer server;
+    private Client client;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = adapter == Adapter.HTTPS_URL_CONNECTION ? LocalServer.https() : LocalServer.http();
+        PrivateKey signingKey = signed ? BenchmarkKeys.generateRsaKeyPair(2048).getPrivate() : null;
+        client = adapter.create(server.getBaseUri(), signingKey);
+        body = BenchmarkRequests.payload(bodySize).getBytes(StandardCharsets.UTF_8);
+        if (client.post(body) != 200) {
+            throw new IllegalStateException("Unexpected response from the local server");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int post() throws Exception {
+        return client.post(body);
+    }
+
+    interface Client extends AutoCloseable {
+
+        /**
+         * @return The response status code
+         */
+        int post(byte[] body) throws Exception;
+
+        @Override
+        default void close() throws Exception {
+        }
+    }
+
+    interface FeignApi {
+        @RequestLine("POST " + PATH)
+        @Headers("Content-Type: application/json")
+        feign.Response post(byte[] body);
+    }
+
+    /**
+     * The client integrations, each signing when given a key.
+     */
+    public enum Adapter {
+        OKHTTP {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder();
+                if (signingKey != null) {
+                    builder.addInterceptor(new OkHttpOAuth1Interceptor(CONSUMER_KEY, signingKey));
+                }
+                okhttp3.OkHttpClient client = builder.build();
+                okhttp3.MediaType json = okhttp3.MediaType.get("application/json");
+                return new Client() {
+                    @Override
+                    public int post(byte[] body) throws IOException {
+                        okhttp3.Request request = new okhttp3.Request.Builder()
+                                .url(baseUri + PATH)
+                                .post(okhttp3.RequestBody.create(body, json))
+                                .build();
+                        try (okhttp3.Response response = client.newCall(request).execute()) {
+                            response.body().bytes();
+                            return response.code();
+                        }
+                    }
+
+                    @Override
+                    public void close() {
+                        client.dispatcher().executorService().shutdown();
+                        client.connectionPool().evictAll();
+                    }
+                };
+            }
+        },
+        OKHTTP2 {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                com.squareup.okhttp.OkHttpClient client = new com.squareup.okhttp.OkHttpClient();
+                if (signingKey != null) {
+                    client.interceptors().add(new OkHttp2OAuth1Interceptor(CONSUMER_KEY, signingKey));
+                }
+                com.squareup.okhttp.MediaType json = com.squareup.okhttp.MediaType.parse("application/json");
+                return body -> {
+                    com.squareup.okhttp.Request request = new com.squareup.okhttp.Request.Builder()
+                            .url(baseUri + PATH)
+                            .post(com.squareup.okhttp.RequestBody.create(json, body))
+                            .build();
+                    com.squareup.okhttp.Response response = client.newCall(request).execute();
+                    response.body().bytes();
+                    return response.code();
+                };
+            }
+        },
+        APACHE_HTTP_CLIENT_4 {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                CloseableHttpClient client = HttpClients.createDefault();
+                ApacheHttpClient4Signer signer = signingKey == null ? null : new ApacheHttpClient4Signer(CONSUMER_KEY, signingKey);
+                return new Client() {
+                    @Override
+                    public int post(byte[] body) throws IOException {
+                        HttpPost request = new HttpPost(baseUri + PATH);
+                        request.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+                        if (signer != null) {
+                            signer.sign(request);
+                        }
+                        try (CloseableHttpResponse response = client.execute(request)) {
+                            EntityUtils.consume(response.getEntity());
+                            return response.getStatusLine().getStatusCode();
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        client.close();
+                    }
+                };
+            }
+        },
+        SPRING_REST_TEMPLATE {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                RestTemplate restTemplate = new RestTemplate();
+                if (signingKey != null) {
+                    SpringHttpRequestSigner signer = new SpringHttpRequestSigner(CONSUMER_KEY, signingKey);
+                    restTemplate.getInterceptors().add((request, body, execution) -> {
+                        signer.sign(request, body);
+                        return execution.execute(request, body);
+                    });
+                }
+                URI uri = URI.create(baseUri + PATH);
+                return body -> restTemplate.exchange(org.springframework.http.RequestEntity.method(HttpMethod.POST, uri)
+                        .contentType(MediaType.APPLICATION_JSON).body(body), byte[].class).getStatusCode().value();
+            }
+        },
+        SPRING_WEBFLUX {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                WebClient.Builder builder = WebClient.builder();
+                if (signingKey != null) {
+                    builder.filter(new SpringWebfluxOAuth1Interceptor(CONSUMER_KEY, signingKey));
+                }
+                WebClient client = builder.build();
+                URI uri = URI.create(baseUri + PATH);
+                // The signer serializes the wrapped object with Jackson to compute the body hash, bytes would become Base64
+                return body -> client.post().uri(uri).contentType(MediaType.APPLICATION_JSON)
+                        .body(WebfluxBodies.wrap(Collections.singletonMap("data", new String(body, StandardCharsets.UTF_8))))
+                        .retrieve().toEntity(byte[].class).block().getStatusCode().value();
+            }
+        },
+        OPENFEIGN {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                Feign.Builder builder = Feign.builder();
+                if (signingKey != null) {
+                    builder.requestInterceptor(new OpenFeignOAuth1Interceptor(CONSUMER_KEY, signingKey, baseUri.toString()));
+                }
+                FeignApi api = builder.target(FeignApi.class, baseUri.toString());
+                return body -> {
+                    try (feign.Response response = api.post(body); InputStream in = response.body().asInputStream()) {
+                        drain(in);
+                        return response.status();
+                    }
+                };
+            }
+        },
+        GOOGLE_HTTP_CLIENT {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                HttpExecuteOAuth1Interceptor interceptor = signingKey == null ? null : new HttpExecuteOAuth1Interceptor(CONSUMER_KEY, signingKey);
+                HttpRequestFactory requestFactory = new NetHttpTransport().createRequestFactory(request -> {
+                    if (interceptor != null) {
+                        request.setInterceptor(interceptor);
+                    }
+                });
+                GenericUrl url = new GenericUrl(baseUri + PATH);
+                return body -> {
+                    com.google.api.client.http.HttpResponse response = requestFactory
+                            .buildPostRequest(url, new ByteArrayContent("application/json", body)).execute();
+                    try {
+                        drain(response.getContent());
+                        return response.getStatusCode();
+                    } finally {
+                        response.disconnect();
+                    }
+                };
+            }
+        },
+        HTTPS_URL_CONNECTION {
+            @Override
+            Client create(URI baseUri, PrivateKey signingKey) {
+                HttpsUrlConnectionSigner signer = signingKey == null ? null : new HttpsUrlConnectionSigner(StandardCharsets.UTF_8, CONSUMER_KEY, signingKey);
+                SSLSocketFactory socketFactory = LocalServer.sslContext().getSocketFactory();
+                return body -> {
+                    HttpsURLConnection connection = (HttpsURLConnection) URI.create(baseUri + PATH).toURL().openConnection();
+                    connection.setSSLSocketFactory(socketFactory);
+                    connection.setRequestMethod("POST");
+                    connection.setRequestProperty("Content-Type", "application/json");
+                    connection.setDoOutput(true);
+                    try (OutputStream out = signer == null ? connection.getOutputStream() : signer.signingOutputStream(connection)) {
+                        out.write(body);
+                    }
+                    try (InputStream in = connection.getInputStream()) {
+                        drain(in);
+                    }
+                    return connection.getResponseCode();
+                };
+            }
+        };
+
+        abstract Client create(URI baseUri, PrivateKey signingKey) throws Exception;
+
+        private static void drain(InputStream in) throws IOException {
+            byte[] buffer = new byte[1024];
+            while (in.read(buffer) != -1) {
+                // Read the response like an application would, so that connections get reused
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mastercard.developer.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs {@link AdapterBenchmark} with the GC profiler, then prints for each adapter: requests per second when
+ * signing, and the p50/p99 latency and the bytes allocated per request added by signing (signed minus unsigned).
+ * Usage: {@code java -cp target/benchmarks.jar com.mastercard.developer.benchmarks.AdapterBenchmarkReport [JMH options]}
+ */
+public final class AdapterBenchmarkReport {
+
+    private AdapterBenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(AdapterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Measures[]> measuresByAdapter = new TreeMap<>();
+        for (RunResult result : results) {
+            String adapter = result.getParams().getParam("adapter");
+            int index = Boolean.parseBoolean(result.getParams().getParam("signed")) ? 0 : 1;
+            Measures[] measures = measuresByAdapter.computeIfAbsent(adapter, key -> new Measures[]{new Measures(), new Measures()});
+            measures[index].add(result);
+        }
+
+        System.out.println();
+        System.out.printf("%-22s %14s %14s %16s %16s %18s%n", "Adapter", "Signed req/s", "Unsigned req/s", "Added p50 (us)", "Added p99 (us)", "Added B/request");
+        for (Map.Entry<String, Measures[]> entry : measuresByAdapter.entrySet()) {
+            Measures signed = entry.getValue()[0];
+            Measures unsigned = entry.getValue()[1];
+            System.out.printf("%-22s %14.0f %14.0f %16.1f %16.1f %18.0f%n", entry.getKey(), signed.requestsPerSecond, unsigned.requestsPerSecond,
+                    signed.p50 - unsigned.p50, signed.p99 - unsigned.p99, signed.bytesPerRequest - unsigned.bytesPerRequest);
+        }
+    }
+
+    private static final class Measures {
+        double requestsPerSecond = Double.NaN;
+        double p50 = Double.NaN;
+        double p99 = Double.NaN;
+        double bytesPerRequest = Double.NaN;
+
+        void add(RunResult result) {
+            if (result.getParams().getMode() == Mode.Throughput) {
+                // Operations per microsecond, see AdapterBenchmark
+                requestsPerSecond = result.getPrimaryResult().getScore() * 1_000_000;
+                for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                    if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                        bytesPerRequest = secondary.getValue().getScore();
+                    }
+                }
+            } else if (result.getParams().getMode() == Mode.SampleTime) {
+                p50 = result.getPrimaryResult().getStatistics().getPercentile(50);
+                p99 = result.getPrimaryResult().getStatistics().getPercentile(99);
+            }
+        }
+    }
+}
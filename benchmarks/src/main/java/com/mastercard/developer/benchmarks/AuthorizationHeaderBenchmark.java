@@ -0,0 +1,67 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OAuth#getAuthorizationHeader(URI, String, String, Charset, String, PrivateKey, SignatureMethod)}
+ * end to end, for every combination of RSA key size, signature method, query parameter count and body size.
+ * See {@link com.mastercard.developer.oauth.SigningStageBenchmark} for the cost of each stage.
+ * Run with {@code -prof gc} for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationHeaderBenchmark {
+
+    private static final String CONSUMER_KEY = "benchmark-consumer-key";
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    @Param({"2048", "3072", "4096"})
+    public int keySize;
+
+    @Param({"RSA_SHA256", "RSA_PSS_SHA256"})
+    public SignatureMethod signatureMethod;
+
+    @Param({"0", "5", "20"})
+    public int queryParamCount;
+
+    @Param({"0", "1024", "65536"})
+    public int bodySize;
+
+    private PrivateKey signingKey;
+    private URI uri;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        signingKey = BenchmarkKeys.generateRsaKeyPair(keySize).getPrivate();
+        uri = BenchmarkRequests.uri(queryParamCount);
+        payload = BenchmarkRequests.payload(bodySize);
+    }
+
+    @Benchmark
+    public String getAuthorizationHeader() {
+        return OAuth.getAuthorizationHeader(uri, "POST", payload, CHARSET, CONSUMER_KEY, signingKey, signatureMethod);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mastercard.developer.benchmarks;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * Generates throwaway key pairs so that benchmarks don't depend on key files.
+ */
+public final class BenchmarkKeys {
+
+    private BenchmarkKeys() {
+    }
+
+    public static KeyPair generateRsaKeyPair(int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate a " + keySize + " bit RSA key pair", e);
+        }
+    }
+
+    public static KeyPair generateEcKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate a P-256 EC key pair", e);
+        }
+    }
+
+    public static KeyPair generateEd25519KeyPair() {
+        try {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate an Ed25519 key pair", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mastercard.developer.benchmarks;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * Builds request URIs and payloads of a given shape, so that benchmarks can be parameterized by query parameter
+ * count and body size.
+ */
+public final class BenchmarkRequests {
+
+    private static final String BASE_URI = "https://sandbox.api.mastercard.com/fraud/merchant/v1/termination-inquiry";
+
+    private BenchmarkRequests() {
+    }
+
+    /**
+     * @return A URI with the given number of query parameters, a third of them with values needing percent-encoding
+     */
+    public static URI uri(int queryParamCount) {
+        StringBuilder uri = new StringBuilder(BASE_URI);
+        for (int i = 0; i < queryParamCount; i++) {
+            uri.append(i == 0 ? '?' : '&').append("param").append(i).append('=');
+            uri.append(i % 3 == 0 ? "some%20value%2B" + i : "value" + i);
+        }
+        return URI.create(uri.toString());
+    }
+
+    /**
+     * @return A JSON payload of the given size (in bytes), null for 0
+     */
+    public static String payload(int bodySize) {
+        if (bodySize == 0) {
+            return null;
+        }
+        String prefix = "{\"data\":\"";
+        String suffix = "\"}";
+        char[] data = new char[Math.max(0, bodySize - prefix.length() - suffix.length())];
+        Arrays.fill(data, 'x');
+        return prefix + new String(data) + suffix;
+    }
+}
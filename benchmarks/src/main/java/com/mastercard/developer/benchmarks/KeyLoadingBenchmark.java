@@ -0,0 +1,164 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.utils.AuthenticationUtils;
+import com.mastercard.developer.utils.SigningKeyCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time needed to load the signing keys of many tenants at startup, by key file format.
+ * The key files are the ones from the library tests (run from the benchmarks directory, or set
+ * {@code -Dbenchmark.pkcs12=<path>} and {@code -Dbenchmark.encryptedPkcs8=<path>}, password "Password1").
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyLoadingBenchmark {
+
+    private static final String ALIAS = "mykeyalias";
+    private static final String PASSWORD = "Password1";
+
+    @Param({"500"})
+    public int keyCount;
+
+    private Path directory;
+    private String[] pkcs12Files;
+    private String[] pkcs8DerFiles;
+    private String[] pkcs8PemFiles;
+    private String[] encryptedPkcs8Files;
+
+    @Setup
+    public void setUp() throws Exception {
+        String pkcs12Path = System.getProperty("benchmark.pkcs12", "../src/test/resources/test_key_container.p12");
+        byte[] pkcs12 = Files.readAllBytes(Paths.get(pkcs12Path));
+        byte[] der = AuthenticationUtils.loadSigningKey(pkcs12Path, ALIAS, PASSWORD).getEncoded();
+        byte[] pem = toPem("PRIVATE KEY", der);
+        byte[] encryptedPem = Files.readAllBytes(Paths.get(System.getProperty("benchmark.encryptedPkcs8", "../src/test/resources/test_key_pkcs8_encrypted.pem")));
+
+        directory = Files.createTempDirectory("oauth1-signer-keys");
+        pkcs12Files = new String[keyCount];
+        pkcs8DerFiles = new String[keyCount];
+        pkcs8PemFiles = new String[keyCount];
+        encryptedPkcs8Files = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            pkcs12Files[i] = write("key-" + i + ".p12", pkcs12);
+            pkcs8DerFiles[i] = write("key-" + i + ".der", der);
+            pkcs8PemFiles[i] = write("key-" + i + ".pem", pem);
+            encryptedPkcs8Files[i] = write("key-" + i + ".encrypted.pem", encryptedPem);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void loadPkcs12(Blackhole blackhole) throws Exception {
+        for (String file : pkcs12Files) {
+            blackhole.consume(AuthenticationUtils.loadSigningKey(file, ALIAS, PASSWORD));
+        }
+    }
+
+    @Benchmark
+    public void loadPkcs8Der(Blackhole blackhole) throws Exception {
+        for (String file : pkcs8DerFiles) {
+            blackhole.consume(AuthenticationUtils.loadPkcs8SigningKey(file));
+        }
+    }
+
+    @Benchmark
+    public void loadPkcs8Pem(Blackhole blackhole) throws Exception {
+        for (String file : pkcs8PemFiles) {
+            blackhole.consume(AuthenticationUtils.loadPkcs8SigningKey(file));
+        }
+    }
+
+    @Benchmark
+    public void loadEncryptedPkcs8(Blackhole blackhole) throws Exception {
+        for (String file : encryptedPkcs8Files) {
+            blackhole.consume(AuthenticationUtils.loadEncryptedPkcs8SigningKey(file, PASSWORD));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, PrivateKey> loadPkcs12Parallel() throws Exception {
+        Map<Integer, Callable<PrivateKey>> loaders = new LinkedHashMap<>();
+        for (int i = 0; i < keyCount; i++) {
+            String file = pkcs12Files[i];
+            loaders.put(i, () -> AuthenticationUtils.loadSigningKey(file, ALIAS, PASSWORD));
+        }
+        return AuthenticationUtils.loadSigningKeys(loaders);
+    }
+
+    @Benchmark
+    public Map<Integer, PrivateKey> loadEncryptedPkcs8Parallel() throws Exception {
+        Map<Integer, Callable<PrivateKey>> loaders = new LinkedHashMap<>();
+        for (int i = 0; i < keyCount; i++) {
+            String file = encryptedPkcs8Files[i];
+            loaders.put(i, () -> AuthenticationUtils.loadEncryptedPkcs8SigningKey(file, PASSWORD));
+        }
+        return AuthenticationUtils.loadSigningKeys(loaders);
+    }
+
+    /**
+     * Tenants sharing one container, without cache: the container is loaded and decrypted for every tenant.
+     */
+    @Benchmark
+    public void loadSharedPkcs12(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < keyCount; i++) {
+            blackhole.consume(AuthenticationUtils.loadSigningKey(pkcs12Files[0], ALIAS, PASSWORD));
+        }
+    }
+
+    /**
+     * Tenants sharing one container, with a {@link SigningKeyCache}: the container is loaded and decrypted once.
+     */
+    @Benchmark
+    public void loadSharedPkcs12Cached(Blackhole blackhole) throws Exception {
+        SigningKeyCache cache = new SigningKeyCache();
+        for (int i = 0; i < keyCount; i++) {
+            blackhole.consume(cache.loadSigningKey(pkcs12Files[0], ALIAS, PASSWORD));
+        }
+    }
+
+    private String write(String name, byte[] content) throws IOException {
+        return Files.write(directory.resolve(name), content).toString();
+    }
+
+    private static byte[] toPem(String label, byte[] der) {
+        String base64 = Base64.getMimeEncoder(64, new byte[] { '\n' }).encodeToString(der);
+        return ("-----BEGIN " + label + "-----\n" + base64 + "\n-----END " + label + "-----\n").getBytes(StandardCharsets.US_ASCII);
+    }
+}
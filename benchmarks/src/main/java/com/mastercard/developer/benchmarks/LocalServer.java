@@ -0,0 +1,100 @@
+package com.mastercard.developer.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An in-process HTTP(S) server, reading the whole request body and answering "{}", for driving HTTP clients
+ * without a network hop. HTTPS uses a self-signed certificate for 127.0.0.1 (see {@link #sslContext()}).
+ */
+public final class LocalServer implements AutoCloseable {
+
+    private static final char[] KEY_STORE_PASSWORD = "benchmark".toCharArray();
+    private static final byte[] RESPONSE = "{}".getBytes();
+
+    static {
+        // Without it, the response headers and body go in separate packets, and delayed ACKs add ~40 ms per request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final URI baseUri;
+
+    private LocalServer(HttpServer server, String scheme) {
+        this.server = server;
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        server.createContext("/", LocalServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        this.baseUri = URI.create(scheme + "://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public static LocalServer http() throws IOException {
+        return new LocalServer(HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0), "http");
+    }
+
+    public static LocalServer https() throws IOException {
+        HttpsServer server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext()));
+        return new LocalServer(server, "https");
+    }
+
+    /**
+     * @return An SSL context holding the certificate of the server, usable on both sides
+     */
+    public static SSLContext sslContext() {
+        try (InputStream in = LocalServer.class.getResourceAsStream("/localhost.p12")) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, KEY_STORE_PASSWORD);
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, KEY_STORE_PASSWORD);
+            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(keyStore);
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+            return sslContext;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to load the local server certificate", e);
+        }
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = exchange.getRequestBody()) {
+            while (in.read(buffer) != -1) {
+                // Consume the body, like a real service would
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, RESPONSE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(RESPONSE);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
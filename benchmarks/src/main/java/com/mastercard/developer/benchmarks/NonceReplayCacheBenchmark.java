@@ -0,0 +1,68 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.oauth.NonceReplayCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NonceReplayCache} inserts per second, with all the available threads recording distinct nonces.
+ * Nonces are created beforehand so that only the cache is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class NonceReplayCacheBenchmark {
+
+    private static final int NONCE_COUNT = 1 << 16;
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    @State(Scope.Benchmark)
+    public static class Cache {
+        // A short window, so that buckets get dropped during the measurement and memory stays bounded
+        final NonceReplayCache cache = new NonceReplayCache(2, TimeUnit.SECONDS);
+    }
+
+    @State(Scope.Thread)
+    public static class Nonces {
+        final String[] nonces = new String[NONCE_COUNT];
+        int index;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < NONCE_COUNT; i++) {
+                nonces[i] = newNonce();
+            }
+        }
+    }
+
+    /** Same format as the nonces created by OAuth: 16 alphanumeric characters. */
+    private static String newNonce() {
+        char[] nonce = new char[16];
+        for (int i = 0; i < nonce.length; i++) {
+            nonce[i] = ALPHANUMERIC.charAt(ThreadLocalRandom.current().nextInt(ALPHANUMERIC.length()));
+        }
+        return new String(nonce);
+    }
+
+    @Benchmark
+    public boolean tryRecord(Cache cache, Nonces nonces) {
+        // Nonces get reused once per 64k inserts, rejected as replays while still in the window
+        String nonce = nonces.nonces[nonces.index++ & (NONCE_COUNT - 1)];
+        return cache.cache.tryRecord("benchmark-consumer-key", nonce, System.currentTimeMillis() / 1000L);
+    }
+}
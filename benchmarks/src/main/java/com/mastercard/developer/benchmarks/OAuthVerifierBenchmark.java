@@ -0,0 +1,77 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.oauth.HmacSigningKey;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.OAuthVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OAuthVerifier} throughput (verifications per second and per thread) on requests signed
+ * beforehand, with a 1 KB body.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OAuthVerifierBenchmark {
+
+    private static final URI REQUEST_URI = URI.create("https://sandbox.api.mastercard.com/fraud/merchant/v1/termination-inquiry?Format=XML&PageOffset=0&PageLength=10");
+    private static final String CONSUMER_KEY = "benchmark-consumer-key";
+    private static final int HEADER_COUNT = 1024;
+
+    @Param({"RSA_SHA256", "HMAC_SHA256"})
+    public String method;
+
+    private OAuthVerifier verifier;
+    private String[] headers;
+    private byte[] body;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        body = new byte[1024];
+        String payload = new String(body, StandardCharsets.UTF_8);
+        headers = new String[HEADER_COUNT];
+        if ("HMAC_SHA256".equals(method)) {
+            HmacSigningKey hmacKey = new HmacSigningKey(OAuth.getHmacKey("benchmark-consumer-secret", null));
+            verifier = new OAuthVerifier(consumerKey -> null, consumerKey -> hmacKey, 1, TimeUnit.HOURS, Clock.systemUTC(), StandardCharsets.UTF_8);
+            for (int i = 0; i < HEADER_COUNT; i++) {
+                headers[i] = OAuth.getAuthorizationHeader(OAuth.getBaseUriString(REQUEST_URI), OAuth.extractQueryParams(REQUEST_URI, StandardCharsets.UTF_8),
+                        "POST", OAuth.getBodyHash(body), StandardCharsets.UTF_8, CONSUMER_KEY, hmacKey);
+            }
+        } else {
+            KeyPair keyPair = BenchmarkKeys.generateRsaKeyPair(2048);
+            verifier = new OAuthVerifier(consumerKey -> keyPair.getPublic(), 1, TimeUnit.HOURS);
+            for (int i = 0; i < HEADER_COUNT; i++) {
+                headers[i] = OAuth.getAuthorizationHeader(REQUEST_URI, "POST", payload, StandardCharsets.UTF_8, CONSUMER_KEY, keyPair.getPrivate());
+            }
+        }
+        if (!verify().isValid()) {
+            throw new IllegalStateException("Unable to verify a " + method + " request");
+        }
+    }
+
+    @Benchmark
+    public OAuthVerifier.Result verify() {
+        String header = headers[index++ & (HEADER_COUNT - 1)];
+        return verifier.verify("POST", REQUEST_URI, header, body);
+    }
+}
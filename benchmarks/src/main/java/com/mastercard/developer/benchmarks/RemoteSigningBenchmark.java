@@ -0,0 +1,98 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.oauth.LoopbackSigningKeyHandle;
+import com.mastercard.developer.oauth.LoopbackSigningServer;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing through a {@link SigningKeyHandle} against a {@link LoopbackSigningServer} in the same JVM, from
+ * 16 threads, with and without batching. A maximum batch size of 1 makes each signature a round trip of its own
+ * (the per-request baseline), larger sizes let concurrent signatures share round trips. The average batch size is
+ * printed at the end of each trial. "LOCAL" signs with the private key in the application, for reference.
+ * <p>
+ * The signer runs on the same machine, so the benchmark measures the protocol and thread hand-off costs that
+ * batching amortizes: with a remote signer, network latency adds to each round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class RemoteSigningBenchmark {
+
+    private static final URI REQUEST_URI = URI.create("https://sandbox.api.mastercard.com/fraud/merchant/v1/termination-inquiry?Format=XML&PageOffset=0&PageLength=10");
+    private static final String CONSUMER_KEY = "benchmark-consumer-key";
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    @Param({"RSA_SHA256", "ECDSA_SHA256"})
+    public SignatureMethod signatureMethod;
+
+    /** LOCAL, or the maximum batch size of the handle */
+    @Param({"LOCAL", "1", "16", "64"})
+    public String batchSize;
+
+    @Param({"SIGNATURE_BASE_STRING", "SHA256_DIGEST"})
+    public SigningKeyHandle.Input input;
+
+    private KeyPair keyPair;
+    private LoopbackSigningServer server;
+    private LoopbackSigningKeyHandle handle;
+    private String baseUri;
+    private SortedMap<String, List<String>> queryParams;
+    private String bodyHash;
+
+    @Setup
+    public void setUp() throws IOException {
+        keyPair = signatureMethod == SignatureMethod.ECDSA_SHA256 ? BenchmarkKeys.generateEcKeyPair() : BenchmarkKeys.generateRsaKeyPair(2048);
+        baseUri = OAuth.getBaseUriString(REQUEST_URI);
+        queryParams = OAuth.extractQueryParams(REQUEST_URI, CHARSET);
+        bodyHash = OAuth.getBodyHash((byte[]) null);
+        if (!"LOCAL".equals(batchSize)) {
+            server = new LoopbackSigningServer(keyPair.getPrivate(), signatureMethod);
+            handle = new LoopbackSigningKeyHandle(server.getAddress(), input, Integer.parseInt(batchSize), 30, TimeUnit.SECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (handle != null) {
+            System.out.printf("%nAverage batch size: %.1f signatures%n", (double) handle.getSignatureCount() / Math.max(handle.getBatchCount(), 1));
+            handle.close();
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public String signRequest() {
+        if (handle == null) {
+            return OAuth.getAuthorizationHeader(baseUri, queryParams, "GET", bodyHash, CHARSET, CONSUMER_KEY, keyPair.getPrivate(), signatureMethod);
+        }
+        return OAuth.getAuthorizationHeader(baseUri, queryParams, "GET", bodyHash, CHARSET, CONSUMER_KEY, handle);
+    }
+}
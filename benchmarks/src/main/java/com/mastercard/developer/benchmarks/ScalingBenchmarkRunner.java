@@ -0,0 +1,270 @@
+package com.mastercard.developer.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.ScalingBenchmark;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ScalingBenchmark} with 1, 2, 4... up to the available processors, then signs with thousands of
+ * virtual threads (Java 21+), and writes the throughputs and scaling efficiencies as JSON.
+ * The scaling efficiency for n threads is the throughput with n threads divided by n times the single thread
+ * throughput: 1 means linear scaling.
+ * <p>
+ * Options:
+ * <ul>
+ *   <li>{@code --output <file>}: where to write the results (default: scaling-results.json)</li>
+ *   <li>{@code --results <file>}: reads results written previously instead of running the benchmarks</li>
+ *   <li>{@code --baseline <file>}: fails (exit code 1) when a throughput or a scaling efficiency is below the
+ *   baseline minus the baseline tolerance, when the efficiency with all processors is below the
+ *   "minScalingEfficiency" of the baseline, or when the virtual threads throughput is below the baseline or below
+ *   "minVirtualThreadsRatio" times the throughput with all processors. Also fails when the baseline is missing, or
+ *   was recorded with another processor count: throughputs and efficiencies only compare on the same hardware</li>
+ *   <li>{@code --record-baseline <file>}: writes the results as a baseline, for the machine running them (at least
+ *   2 processors, a single processor can't tell anything about scaling)</li>
+ * </ul>
+ */
+public final class ScalingBenchmarkRunner {
+
+    private static final int VIRTUAL_THREADS = 10_000;
+    private static final int REQUESTS_PER_VIRTUAL_THREAD = 2;
+    private static final double DEFAULT_TOLERANCE = 0.2;
+    private static final double DEFAULT_MIN_SCALING_EFFICIENCY = 0.75;
+    private static final double DEFAULT_MIN_VIRTUAL_THREADS_RATIO = 0.75;
+    private static final String VIRTUAL_THREADS_OPS = "getAuthorizationHeaderOpsPerSecond";
+
+    private ScalingBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        Map<String, Object> results;
+        if (options.containsKey("--results")) {
+            results = mapper.readValue(new File(options.get("--results")), Map.class);
+        } else {
+            results = run();
+            File output = new File(options.getOrDefault("--output", "scaling-results.json"));
+            mapper.writeValue(output, results);
+            System.out.println("Scaling results written to " + output.getAbsolutePath());
+        }
+
+        if (options.containsKey("--record-baseline")) {
+            File baseline = new File(options.get("--record-baseline"));
+            mapper.writeValue(baseline, toBaseline(results));
+            System.out.println("Baseline written to " + baseline.getAbsolutePath());
+        }
+        if (options.containsKey("--baseline")) {
+            File baseline = new File(options.get("--baseline"));
+            if (!baseline.isFile()) {
+                System.err.println("No baseline at " + baseline.getAbsolutePath() + ": record one on this hardware with --record-baseline");
+                System.exit(1);
+            }
+            List<String> regressions = compare(mapper.valueToTree(results), mapper.readTree(baseline));
+            if (!regressions.isEmpty()) {
+                regressions.forEach(regression -> System.err.println("Regression: " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regression against the baseline");
+        }
+    }
+
+    private static Map<String, Object> run() throws RunnerException, InterruptedException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        Map<String, Map<Integer, Double>> throughputs = new TreeMap<>();
+        for (int threads : threadCounts(processors)) {
+            Options options = new OptionsBuilder()
+                    .include(ScalingBenchmark.class.getName() + "\\.")
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(2)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(3)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                String label = result.getParams().getBenchmark();
+                label = label.substring(label.lastIndexOf('.') + 1);
+                throughputs.computeIfAbsent(label, key -> new TreeMap<>()).put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+
+        Map<String, Object> benchmarks = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<Integer, Double>> entry : throughputs.entrySet()) {
+            Map<Integer, Double> opsPerSecond = entry.getValue();
+            Map<Integer, Double> efficiency = new TreeMap<>();
+            double singleThread = opsPerSecond.get(1);
+            opsPerSecond.forEach((threads, ops) -> efficiency.put(threads, ops / (threads * singleThread)));
+            Map<String, Object> benchmark = new LinkedHashMap<>();
+            benchmark.put("opsPerSecond", opsPerSecond);
+            benchmark.put("scalingEfficiency", efficiency);
+            benchmarks.put(entry.getKey(), benchmark);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("javaVersion", System.getProperty("java.version"));
+        results.put("availableProcessors", processors);
+        results.put("benchmarks", benchmarks);
+        results.put("virtualThreads", runVirtualThreads());
+        return results;
+    }
+
+    static List<Integer> threadCounts(int processors) {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+        return threadCounts;
+    }
+
+    /**
+     * Signs from {@value #VIRTUAL_THREADS} virtual threads at once. Looked up reflectively, since the module
+     * targets Java versions without virtual threads.
+     */
+    private static Map<String, Object> runVirtualThreads() throws InterruptedException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", VIRTUAL_THREADS);
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            result.put("skipped", "Virtual threads require Java 21+");
+            return result;
+        }
+        PrivateKey signingKey = BenchmarkKeys.generateRsaKeyPair(2048).getPrivate();
+        URI uri = BenchmarkRequests.uri(5);
+        String payload = BenchmarkRequests.payload(1024);
+        OAuth.warmUp(StandardCharsets.UTF_8, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD, 1_000, 50);
+        AtomicLong signed = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < REQUESTS_PER_VIRTUAL_THREAD; j++) {
+                    OAuth.getAuthorizationHeader(uri, "POST", payload, StandardCharsets.UTF_8, "benchmark-consumer-key", signingKey);
+                    signed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        result.put("getAuthorizationHeaderOpsPerSecond", signed.get() / seconds);
+        return result;
+    }
+
+    private static Map<String, Object> toBaseline(Map<String, Object> results) {
+        if (((Number) results.get("availableProcessors")).intValue() < 2) {
+            throw new IllegalStateException("A scaling baseline needs at least 2 processors, record it on the hardware running the gate");
+        }
+        Map<String, Object> baseline = new LinkedHashMap<>();
+        baseline.put("availableProcessors", results.get("availableProcessors"));
+        baseline.put("tolerance", DEFAULT_TOLERANCE);
+        // Signing is expected to scale linearly, whatever the machine
+        baseline.put("minScalingEfficiency", java.util.Collections.singletonMap("getAuthorizationHeader", DEFAULT_MIN_SCALING_EFFICIENCY));
+        // Virtual threads run on one carrier per processor, so they should sign about as fast as that many platform threads
+        baseline.put("minVirtualThreadsRatio", DEFAULT_MIN_VIRTUAL_THREADS_RATIO);
+        baseline.put("benchmarks", results.get("benchmarks"));
+        baseline.put("virtualThreads", results.get("virtualThreads"));
+        return baseline;
+    }
+
+    /**
+     * @return The throughputs and scaling efficiencies (per thread count) falling below the baseline minus the
+     * tolerance, the efficiencies with all processors falling below the minimum ones, the virtual threads throughput
+     * falling below the baseline or the minimum ratio, or why the results can't be compared to the baseline at all
+     */
+    static List<String> compare(JsonNode results, JsonNode baseline) {
+        List<String> regressions = new ArrayList<>();
+        double tolerance = baseline.path("tolerance").asDouble(DEFAULT_TOLERANCE);
+        int baselineProcessors = baseline.path("availableProcessors").asInt();
+        int processors = results.path("availableProcessors").asInt();
+        if (baselineProcessors < 2) {
+            regressions.add(String.format("the baseline was recorded with %d processor(s), too few to gate scaling: record one on the hardware running the gate", baselineProcessors));
+            return regressions;
+        }
+        if (baselineProcessors != processors) {
+            regressions.add(String.format("the baseline was recorded with %d processors, the results with %d: record a baseline on this hardware", baselineProcessors, processors));
+            return regressions;
+        }
+        baseline.path("benchmarks").fields().forEachRemaining(entry -> {
+            String name = entry.getKey();
+            JsonNode current = results.path("benchmarks").path(name);
+            entry.getValue().path("opsPerSecond").fields().forEachRemaining(threads -> {
+                double expected = threads.getValue().asDouble();
+                JsonNode actual = current.path("opsPerSecond").path(threads.getKey());
+                if (!actual.isMissingNode() && actual.asDouble() < expected * (1 - tolerance)) {
+                    regressions.add(String.format("%s with %s threads: %.0f ops/s, baseline %.0f ops/s", name, threads.getKey(), actual.asDouble(), expected));
+                }
+            });
+            entry.getValue().path("scalingEfficiency").fields().forEachRemaining(threads -> {
+                double expected = threads.getValue().asDouble();
+                JsonNode actual = current.path("scalingEfficiency").path(threads.getKey());
+                if (!actual.isMissingNode() && actual.asDouble() < expected - tolerance) {
+                    regressions.add(String.format("%s scaling efficiency with %s threads: %.2f, baseline %.2f", name, threads.getKey(), actual.asDouble(), expected));
+                }
+            });
+        });
+        String maxThreads = String.valueOf(results.path("availableProcessors").asInt());
+        baseline.path("minScalingEfficiency").fields().forEachRemaining(entry -> {
+            JsonNode actual = results.path("benchmarks").path(entry.getKey()).path("scalingEfficiency").path(maxThreads);
+            if (!actual.isMissingNode() && actual.asDouble() < entry.getValue().asDouble()) {
+                regressions.add(String.format("%s scaling efficiency with %s threads: %.2f, minimum %.2f", entry.getKey(), maxThreads, actual.asDouble(), entry.getValue().asDouble()));
+            }
+        });
+        compareVirtualThreads(results, baseline, tolerance, maxThreads, regressions);
+        return regressions;
+    }
+
+    private static void compareVirtualThreads(JsonNode results, JsonNode baseline, double tolerance, String maxThreads, List<String> regressions) {
+        JsonNode actual = results.path("virtualThreads").path(VIRTUAL_THREADS_OPS);
+        if (actual.isMissingNode()) {
+            regressions.add("virtual threads weren't run (" + results.path("virtualThreads").path("skipped").asText("no result") + "): run the gate on Java 21+");
+            return;
+        }
+        JsonNode expected = baseline.path("virtualThreads").path(VIRTUAL_THREADS_OPS);
+        if (!expected.isMissingNode() && actual.asDouble() < expected.asDouble() * (1 - tolerance)) {
+            regressions.add(String.format("getAuthorizationHeader with %s virtual threads: %.0f ops/s, baseline %.0f ops/s",
+                    results.path("virtualThreads").path("threads").asText(), actual.asDouble(), expected.asDouble()));
+        }
+        double platformThreads = results.path("benchmarks").path("getAuthorizationHeader").path("opsPerSecond").path(maxThreads).asDouble();
+        double minRatio = baseline.path("minVirtualThreadsRatio").asDouble(DEFAULT_MIN_VIRTUAL_THREADS_RATIO);
+        if (platformThreads > 0 && actual.asDouble() < platformThreads * minRatio) {
+            regressions.add(String.format("getAuthorizationHeader with virtual threads: %.0f ops/s, below %.2f times the %.0f ops/s with %s platform threads",
+                    actual.asDouble(), minRatio, platformThreads, maxThreads));
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IOException("Usage: [--output <file> | --results <file>] [--baseline <file>] [--record-baseline <file>]");
+            }
+            options.put(args[i], args[++i]);
+        }
+        return options;
+    }
+}
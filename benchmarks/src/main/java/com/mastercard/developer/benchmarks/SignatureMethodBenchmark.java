@@ -0,0 +1,131 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.oauth.HmacSigningKey;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of signing and verifying a request with each {@link SignatureMethod}.
+ * The "method" parameter is a signature method, followed by the RSA key size for RSA methods.
+ * HMAC-SHA256 signs with a precomputed {@link HmacSigningKey}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureMethodBenchmark {
+
+    private static final URI REQUEST_URI = URI.create("https://sandbox.api.mastercard.com/fraud/merchant/v1/termination-inquiry?Format=XML&PageOffset=0&PageLength=10");
+    private static final String CONSUMER_KEY = "benchmark-consumer-key";
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+    private static final String SIGNATURE_BASE_STRING = "GET&https%3A%2F%2Fsandbox.api.mastercard.com%2Ffraud%2Fmerchant%2Fv1%2Ftermination-inquiry"
+            + "&Format%3DXML%26PageLength%3D10%26PageOffset%3D0%26oauth_body_hash%3D47DEQpj8HBSa%252B%252FTImW%252B5JCeuQeRkm5NMpJWZG3hSuFU%253D"
+            + "%26oauth_consumer_key%3Dbenchmark-consumer-key%26oauth_nonce%3DuTeLPs6K2Ii8Zrd0%26oauth_signature_method%3DRSA-SHA256"
+            + "%26oauth_timestamp%3D1558370962%26oauth_version%3D1.0";
+
+    @Param({"RSA_SHA256/2048", "RSA_SHA256/3072", "RSA_PSS_SHA256/2048", "ECDSA_SHA256", "ED25519", "HMAC_SHA256"})
+    public String method;
+
+    private SignatureMethod signatureMethod;
+    private KeyPair keyPair;
+    private HmacSigningKey hmacSigningKey;
+    private SortedMap<String, List<String>> queryParams;
+    private String signature;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        String[] parts = method.split("/");
+        signatureMethod = SignatureMethod.valueOf(parts[0]);
+        queryParams = OAuth.extractQueryParams(REQUEST_URI, CHARSET);
+        switch (signatureMethod) {
+            case HMAC_SHA256:
+                hmacSigningKey = new HmacSigningKey(OAuth.getHmacKey("benchmark-consumer-secret", null));
+                break;
+            case ECDSA_SHA256:
+                keyPair = BenchmarkKeys.generateEcKeyPair();
+                break;
+            case ED25519:
+                keyPair = BenchmarkKeys.generateEd25519KeyPair();
+                break;
+            default:
+                keyPair = BenchmarkKeys.generateRsaKeyPair(Integer.parseInt(parts[1]));
+        }
+        signature = sign(SIGNATURE_BASE_STRING);
+        if (!verifySignature()) {
+            throw new IllegalStateException("Unable to verify a " + method + " signature");
+        }
+    }
+
+    @Benchmark
+    public String signRequest() {
+        if (hmacSigningKey != null) {
+            return OAuth.getAuthorizationHeader(OAuth.getBaseUriString(REQUEST_URI), queryParams, "GET", OAuth.getBodyHash((byte[]) null), CHARSET, CONSUMER_KEY, hmacSigningKey);
+        }
+        return OAuth.getAuthorizationHeader(REQUEST_URI, "GET", null, CHARSET, CONSUMER_KEY, keyPair.getPrivate(), signatureMethod);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        if (hmacSigningKey != null) {
+            return OAuth.verifySignature(SIGNATURE_BASE_STRING, signature, hmacSigningKey, CHARSET);
+        }
+        return OAuth.verifySignature(SIGNATURE_BASE_STRING, signature, keyPair.getPublic(), CHARSET, signatureMethod);
+    }
+
+    private static byte[] hmac(String sbs) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(OAuth.getHmacKey("benchmark-consumer-secret", null));
+        return mac.doFinal(sbs.getBytes(CHARSET));
+    }
+
+    private String sign(String sbs) throws GeneralSecurityException {
+        if (hmacSigningKey != null) {
+            return Base64.getEncoder().encodeToString(hmac(sbs));
+        }
+        Signature signer;
+        switch (signatureMethod) {
+            case RSA_PSS_SHA256:
+                signer = Signature.getInstance("RSASSA-PSS");
+                signer.setParameter(new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
+                break;
+            case ECDSA_SHA256:
+                signer = Signature.getInstance("SHA256withECDSA");
+                break;
+            case ED25519:
+                signer = Signature.getInstance("Ed25519");
+                break;
+            default:
+                signer = Signature.getInstance("SHA256withRSA");
+        }
+        signer.initSign(keyPair.getPrivate());
+        signer.update(sbs.getBytes(CHARSET));
+        return Base64.getEncoder().encodeToString(signer.sign());
+    }
+}
@@ -0,0 +1,75 @@
+package com.mastercard.developer.benchmarks;
+
+import com.mastercard.developer.signers.OpenFeignSigner;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.mastercard.developer.signers.SigningCredentials;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the routing overhead of {@link SignerRegistry}, i.e. the time needed to pick the signer of a request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SignerRegistryBenchmark {
+
+    @Param({"10", "1000"})
+    public int tenantCount;
+
+    private SignerRegistry<OpenFeignSigner> registry;
+    private String lastHost;
+    private String lastPath;
+    private String lastTenantId;
+
+    @Setup
+    public void setUp() {
+        final PrivateKey signingKey = BenchmarkKeys.generateRsaKeyPair(2048).getPrivate();
+        registry = new SignerRegistry<>(c -> new OpenFeignSigner(c.getConsumerKey(), c.getSigningKey(), "https://api.mastercard.com"), 1, TimeUnit.HOURS);
+        for (int i = 0; i < tenantCount; i++) {
+            String tenantId = "tenant-" + i;
+            registry.register(tenantId, () -> new SigningCredentials(tenantId, signingKey))
+                    .routeHost("api-" + i + ".mastercard.com", tenantId)
+                    .routePathPrefix("/tenants/" + i + "/", tenantId);
+        }
+        lastTenantId = "tenant-" + (tenantCount - 1);
+        lastHost = "api-" + (tenantCount - 1) + ".mastercard.com";
+        lastPath = "/tenants/" + (tenantCount - 1) + "/payments";
+        // Load every tenant, routing is what is measured here
+        for (int i = 0; i < tenantCount; i++) {
+            registry.resolve("tenant-" + i, (String) null, null);
+        }
+    }
+
+    @Benchmark
+    public OpenFeignSigner resolveByTenantId() {
+        return registry.resolve(lastTenantId, (String) null, null);
+    }
+
+    @Benchmark
+    public OpenFeignSigner resolveByHost() {
+        return registry.resolve(null, lastHost, "/payments");
+    }
+
+    @Benchmark
+    public OpenFeignSigner resolveByPathPrefix() {
+        return registry.resolve(null, "unknown.mastercard.com", lastPath);
+    }
+}
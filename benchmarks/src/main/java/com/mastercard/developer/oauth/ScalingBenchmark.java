@@ -0,0 +1,77 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.benchmarks.BenchmarkKeys;
+import com.mastercard.developer.benchmarks.BenchmarkRequests;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Signing throughput, and the shared resources signing goes through on every request, for measuring how they
+ * scale with the number of threads: the {@link java.security.SecureRandom} seeding of {@link OAuth#getNonce()},
+ * the JCA provider tables behind {@link Signature#getInstance(String)} and {@link MessageDigest#getInstance(String)},
+ * and the (disabled) FINE logging of the signature base string.
+ * The thread count is set by {@link com.mastercard.developer.benchmarks.ScalingBenchmarkRunner}, all threads
+ * share one signing key like the threads of an HTTP client do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+    private static final Logger LOG = Logger.getLogger(OAuth.class.getName());
+
+    private PrivateKey signingKey;
+    private URI uri;
+    private String payload;
+    private String signatureBaseString;
+
+    @Setup
+    public void setUp() {
+        signingKey = BenchmarkKeys.generateRsaKeyPair(2048).getPrivate();
+        uri = BenchmarkRequests.uri(5);
+        payload = BenchmarkRequests.payload(1024);
+        signatureBaseString = OAuth.getSignatureBaseString("POST", OAuth.getBaseUriString(uri), "a=1&b=2", CHARSET);
+    }
+
+    @Benchmark
+    public String getAuthorizationHeader() {
+        return OAuth.getAuthorizationHeader(uri, "POST", payload, CHARSET, "benchmark-consumer-key", signingKey);
+    }
+
+    @Benchmark
+    public String getNonce() {
+        return OAuth.getNonce();
+    }
+
+    @Benchmark
+    public Signature signatureGetInstance() throws GeneralSecurityException {
+        return Signature.getInstance(SignatureMethod.RSA_SHA256.getJcaName());
+    }
+
+    @Benchmark
+    public MessageDigest messageDigestGetInstance() {
+        return OAuth.getBodyHashDigest();
+    }
+
+    @Benchmark
+    public void logSignatureBaseString() {
+        LOG.log(Level.FINE, "Generated SBS: {0}", signatureBaseString);
+    }
+}
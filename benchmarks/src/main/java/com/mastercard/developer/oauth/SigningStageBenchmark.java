@@ -0,0 +1,153 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.benchmarks.BenchmarkKeys;
+import com.mastercard.developer.benchmarks.BenchmarkRequests;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each stage of {@link OAuth#getAuthorizationHeader(URI, String, String, Charset, String, PrivateKey)}
+ * separately. This class lives in the package of {@link OAuth} to reach the package-private stages.
+ * Each stage only depends on the parameters of the states it uses: query parameter count for canonicalization,
+ * body size for hashing, RSA key size and signature method for signing.
+ * Run with {@code -prof gc} for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningStageBenchmark {
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    @State(Scope.Benchmark)
+    public static class Request {
+
+        @Param({"0", "5", "20"})
+        public int queryParamCount;
+
+        URI uri;
+        String baseUri;
+        SortedMap<String, List<String>> queryParams;
+        Map<String, String> oauthParams;
+        String paramString;
+
+        @Setup
+        public void setUp() {
+            uri = BenchmarkRequests.uri(queryParamCount);
+            baseUri = OAuth.getBaseUriString(uri);
+            queryParams = OAuth.extractQueryParams(uri, CHARSET);
+            oauthParams = new HashMap<>();
+            oauthParams.put("oauth_consumer_key", "benchmark-consumer-key");
+            oauthParams.put("oauth_nonce", "uTeLPs6K2Ii8Zrd0");
+            oauthParams.put("oauth_timestamp", "1558370962");
+            oauthParams.put("oauth_signature_method", "RSA-SHA256");
+            oauthParams.put("oauth_version", "1.0");
+            oauthParams.put("oauth_body_hash", "47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+            paramString = OAuth.toOauthParamString(queryParams, oauthParams);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Body {
+
+        @Param({"0", "1024", "65536"})
+        public int bodySize;
+
+        String payload;
+        byte[] digest;
+
+        @Setup
+        public void setUp() {
+            payload = BenchmarkRequests.payload(bodySize);
+            digest = OAuth.getBodyHashDigest().digest(new byte[bodySize]);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Key {
+
+        @Param({"2048", "3072", "4096"})
+        public int keySize;
+
+        @Param({"RSA_SHA256", "RSA_PSS_SHA256"})
+        public SignatureMethod signatureMethod;
+
+        PrivateKey signingKey;
+        String signatureBaseString;
+
+        @Setup
+        public void setUp() {
+            signingKey = BenchmarkKeys.generateRsaKeyPair(keySize).getPrivate();
+            Request request = new Request();
+            request.queryParamCount = 5;
+            request.setUp();
+            signatureBaseString = OAuth.getSignatureBaseString("POST", request.baseUri, request.paramString, CHARSET);
+        }
+    }
+
+    @Benchmark
+    public SortedMap<String, List<String>> extractQueryParams(Request request) {
+        return OAuth.extractQueryParams(request.uri, CHARSET);
+    }
+
+    @Benchmark
+    public String toOauthParamString(Request request) {
+        return OAuth.toOauthParamString(request.queryParams, request.oauthParams);
+    }
+
+    @Benchmark
+    public String getBaseUriString(Request request) {
+        return OAuth.getBaseUriString(request.uri);
+    }
+
+    @Benchmark
+    public String getSignatureBaseString(Request request) {
+        return OAuth.getSignatureBaseString("POST", request.baseUri, request.paramString, CHARSET);
+    }
+
+    @Benchmark
+    public String percentEncode(Request request) {
+        return Util.percentEncode(request.paramString, CHARSET);
+    }
+
+    @Benchmark
+    public String getBodyHash(Body body) {
+        return OAuth.getBodyHash(body.payload, CHARSET, "SHA-256");
+    }
+
+    @Benchmark
+    public String b64Encode(Body body) {
+        return Util.b64Encode(body.digest);
+    }
+
+    @Benchmark
+    public String signSignatureBaseString(Key key) {
+        return OAuth.signSignatureBaseString(key.signatureBaseString, key.signingKey, CHARSET, key.signatureMethod);
+    }
+
+    @Benchmark
+    public String getNonce() {
+        return OAuth.getNonce();
+    }
+}
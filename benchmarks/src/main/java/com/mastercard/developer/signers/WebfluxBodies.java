@@ -0,0 +1,18 @@
+package com.mastercard.developer.signers;
+
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+
+/**
+ * Wraps request bodies the way {@link SpringWebfluxSigner} expects them. This class lives in the package of the
+ * signer because {@link BodyInserterWrapper} is package-private.
+ */
+public final class WebfluxBodies {
+
+    private WebfluxBodies() {
+    }
+
+    public static <T> BodyInserter<T, ReactiveHttpOutputMessage> wrap(T body) {
+        return new BodyInserterWrapper<>(body);
+    }
+}
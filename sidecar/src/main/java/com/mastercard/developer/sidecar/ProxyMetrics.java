@@ -0,0 +1,138 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.ConcurrentHistogram;
+import com.mastercard.developer.oauth.SigningLatencyHistograms;
+import com.mastercard.developer.oauth.SigningSample;
+import okhttp3.ConnectionPool;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latency histograms of a {@link SigningProxy}, served in the Prometheus text format on
+ * {@link SigningProxy#METRICS_PATH}. Latencies are in nanoseconds.
+ * The added latency is the time a request spends in the proxy outside of the upstream call: reading and hashing
+ * the body, routing, signing, and relaying the response headers.
+ */
+public final class ProxyMetrics {
+
+    public enum Error {
+        /** The request comes from a browser, or names a non-loopback host (403). */
+        FORBIDDEN,
+        /** No tenant matches the request (400). */
+        NO_TENANT,
+        /** The body is larger than the configured maximum (413). */
+        BODY_TOO_LARGE,
+        /** Signing failed (500). */
+        SIGNING,
+        /** The upstream call failed (502). */
+        UPSTREAM
+    }
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+    private static final String[] QUANTILES = { "0.5", "0.9", "0.99", "0.999" };
+
+    private final LongAdder[] responses = new LongAdder[6];
+    private final LongAdder[] errors = new LongAdder[Error.values().length];
+    private final SigningLatencyHistograms signingLatency =
+            new SigningLatencyHistograms(SigningSample::getConsumerKey, SigningLatencyHistograms.DEFAULT_MAX_ENDPOINTS);
+    private volatile ConcurrentHistogram addedLatency = new ConcurrentHistogram();
+    private volatile ConcurrentHistogram upstreamLatency = new ConcurrentHistogram();
+
+    public ProxyMetrics() {
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = new LongAdder();
+        }
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts the latency histograms over, for instance after a warm-up. Counters aren't reset.
+     */
+    public void resetLatencies() {
+        addedLatency = new ConcurrentHistogram();
+        upstreamLatency = new ConcurrentHistogram();
+        signingLatency.reset();
+    }
+
+    void recordResponse(int status) {
+        responses[Math.min(Math.max(status / 100, 0), responses.length - 1)].increment();
+    }
+
+    void recordError(Error error) {
+        errors[error.ordinal()].increment();
+    }
+
+    public ConcurrentHistogram getAddedLatency() {
+        return addedLatency;
+    }
+
+    public ConcurrentHistogram getUpstreamLatency() {
+        return upstreamLatency;
+    }
+
+    /**
+     * @return The signing timings, per consumer key
+     */
+    public SigningLatencyHistograms getSigningLatency() {
+        return signingLatency;
+    }
+
+    /**
+     * @param statusClass 1 to 5, for instance 2 for the 2xx responses
+     */
+    public long getResponseCount(int statusClass) {
+        return responses[statusClass].sum();
+    }
+
+    public long getErrorCount(Error error) {
+        return errors[error.ordinal()].sum();
+    }
+
+    String render(ConnectionPool connectionPool) {
+        StringBuilder text = new StringBuilder(2048);
+        text.append("# TYPE sidecar_responses_total counter\n");
+        for (int statusClass = 1; statusClass < responses.length; statusClass++) {
+            text.append("sidecar_responses_total{status=\"").append(statusClass).append("xx\"} ").append(getResponseCount(statusClass)).append('\n');
+        }
+        text.append("# TYPE sidecar_errors_total counter\n");
+        for (Error error : Error.values()) {
+            text.append("sidecar_errors_total{reason=\"").append(error.name().toLowerCase(Locale.ROOT)).append("\"} ").append(getErrorCount(error)).append('\n');
+        }
+        text.append("# TYPE sidecar_added_latency_seconds summary\n");
+        appendQuantiles(text, "sidecar_added_latency_seconds", null, addedLatency);
+        text.append("# TYPE sidecar_upstream_latency_seconds summary\n");
+        appendQuantiles(text, "sidecar_upstream_latency_seconds", null, upstreamLatency);
+        text.append("# TYPE sidecar_signing_latency_seconds summary\n");
+        for (Map.Entry<String, SigningLatencyHistograms.Endpoint> tenant : signingLatency.getEndpoints().entrySet()) {
+            appendQuantiles(text, "sidecar_signing_latency_seconds", "consumer_key=\"" + tenant.getKey() + "\"", tenant.getValue().getLatency());
+        }
+        text.append("# TYPE sidecar_upstream_connections gauge\n");
+        text.append("sidecar_upstream_connections{state=\"idle\"} ").append(connectionPool.idleConnectionCount()).append('\n');
+        text.append("sidecar_upstream_connections{state=\"total\"} ").append(connectionPool.connectionCount()).append('\n');
+        return text.toString();
+    }
+
+    /**
+     * @param label A label added to every sample, null for none
+     */
+    private static void appendQuantiles(StringBuilder text, String name, String label, ConcurrentHistogram histogram) {
+        String labels = label == null ? "" : label + ",";
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            text.append(name).append('{').append(labels).append("quantile=\"").append(QUANTILES[i]).append("\"} ")
+                .append(seconds(histogram.getValueAtPercentile(PERCENTILES[i]))).append('\n');
+        }
+        text.append(name).append("_count");
+        if (label != null) {
+            text.append('{').append(label).append('}');
+        }
+        text.append(' ').append(histogram.getCount()).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
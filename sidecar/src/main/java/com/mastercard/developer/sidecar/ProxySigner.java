@@ -0,0 +1,102 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.BodyHashOutputStream;
+import com.mastercard.developer.oauth.SigningSample;
+import com.mastercard.developer.signers.AbstractSigner;
+import com.mastercard.developer.signers.SigningCredentials;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Signs the requests relayed by {@link SigningProxy}: the body is read from the incoming request and hashed in
+ * the same pass, then the request is signed for the upstream URI.
+ */
+public class ProxySigner extends AbstractSigner {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    public ProxySigner(SigningCredentials credentials) {
+        super(StandardCharsets.UTF_8, credentials.getConsumerKey(), credentials.getSigningKey(), credentials.getSignatureMethod());
+    }
+
+    /**
+     * Reads and hashes a request body, then signs the request.
+     *
+     * @param uri Upstream URI of the request
+     * @param body Incoming request body, read until its end
+     * @param maxBodySize Maximum number of body bytes read
+     * @throws BodyTooLargeException When the body is larger than the maximum size
+     */
+    public SignedRequest sign(URI uri, String method, InputStream body, int maxBodySize) throws IOException {
+        SigningSample sample = startSample();
+        BodyBuffer buffer = new BodyBuffer();
+        BodyHashOutputStream hashingStream = new BodyHashOutputStream(buffer);
+        byte[] chunk = new byte[READ_BUFFER_SIZE];
+        int read;
+        while ((read = body.read(chunk)) != -1) {
+            if (hashingStream.getCount() + read > maxBodySize) {
+                throw new BodyTooLargeException(maxBodySize);
+            }
+            hashingStream.write(chunk, 0, read);
+        }
+        if (sample != null) {
+            sample.setBodySize(hashingStream.getCount());
+        }
+        String bodyHash = hashingStream.getBodyHash();
+        endPhase(sample, SigningSample.Phase.BODY_CAPTURE);
+        String authorizationHeader = getAuthorizationHeader(uri, method, bodyHash, charset, sample);
+        return new SignedRequest(authorizationHeader, buffer.bytes(), buffer.size());
+    }
+
+    /**
+     * A signed request and the body read for it.
+     */
+    public static final class SignedRequest {
+        private final String authorizationHeader;
+        private final byte[] body;
+        private final int bodyLength;
+
+        SignedRequest(String authorizationHeader, byte[] body, int bodyLength) {
+            this.authorizationHeader = authorizationHeader;
+            this.body = body;
+            this.bodyLength = bodyLength;
+        }
+
+        public String getAuthorizationHeader() {
+            return authorizationHeader;
+        }
+
+        /**
+         * @return A buffer holding the body in its first {@link #getBodyLength()} bytes, not copied
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        public int getBodyLength() {
+            return bodyLength;
+        }
+    }
+
+    /**
+     * Thrown when a request body goes over the configured maximum, answered with a 413.
+     */
+    public static final class BodyTooLargeException extends IOException {
+        BodyTooLargeException(int maxBodySize) {
+            super("Request body is larger than " + maxBodySize + " bytes");
+        }
+    }
+
+    /**
+     * Gives access to its buffer, so that the body isn't copied once read.
+     */
+    private static final class BodyBuffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
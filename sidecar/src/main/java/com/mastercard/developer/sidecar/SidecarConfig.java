@@ -0,0 +1,237 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.mastercard.developer.signers.SigningCredentials;
+import com.mastercard.developer.utils.SigningKeyCache;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.PrivateKey;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The settings of a {@link SigningProxy}: where it listens, the upstream it forwards to, and the tenants it signs for.
+ * Settings can be set one by one, or read from properties (see {@link #fromProperties(Properties)} and the README).
+ */
+public final class SidecarConfig {
+
+    public static final int DEFAULT_PORT = 8181;
+    public static final int DEFAULT_THREADS = 64;
+    public static final int DEFAULT_MAX_BODY_SIZE = 10 * 1024 * 1024;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 64;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 300;
+    public static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 2000;
+    public static final long DEFAULT_READ_TIMEOUT_MILLIS = 30000;
+
+    private final URI upstream;
+    private final SignerRegistry<ProxySigner> registry;
+    private InetSocketAddress listenAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), DEFAULT_PORT);
+    private int threads = DEFAULT_THREADS;
+    private int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    private long keepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+    private long connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+    private long readTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+
+    /**
+     * @param upstream Base URI the requests are forwarded to, for instance "https://api.mastercard.com"; the path and
+     *                 query of each request are appended to it
+     * @param registry The tenants, see {@link #newRegistry()}
+     */
+    public SidecarConfig(URI upstream, SignerRegistry<ProxySigner> registry) {
+        if (upstream.getScheme() == null || upstream.getHost() == null) {
+            throw new IllegalArgumentException("Upstream must be an absolute URI, was " + upstream);
+        }
+        String uri = upstream.toString();
+        this.upstream = uri.endsWith("/") ? URI.create(uri.substring(0, uri.length() - 1)) : upstream;
+        this.registry = registry;
+    }
+
+    /**
+     * @return An empty registry of {@link ProxySigner}s, whose tenants are never evicted
+     */
+    public static SignerRegistry<ProxySigner> newRegistry() {
+        return new SignerRegistry<>(ProxySigner::new, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads the settings, and registers the tenants with their keys loaded on startup.
+     *
+     * @throws IllegalArgumentException When a required property is missing or a value is invalid
+     */
+    public static SidecarConfig fromProperties(Properties properties) {
+        SignerRegistry<ProxySigner> registry = newRegistry();
+        SigningKeyCache keyCache = new SigningKeyCache();
+        String tenants = required(properties, "tenants");
+        for (String tenantId : split(tenants)) {
+            String prefix = "tenant." + tenantId + ".";
+            String consumerKey = required(properties, prefix + "consumerKey");
+            String keyFile = required(properties, prefix + "keyFile");
+            String keyAlias = properties.getProperty(prefix + "keyAlias");
+            String keyPassword = properties.getProperty(prefix + "keyPassword");
+            String signatureMethodName = properties.getProperty(prefix + "signatureMethod");
+            SignatureMethod signatureMethod = signatureMethodName == null ? OAuth.DEFAULT_SIGNATURE_METHOD : SignatureMethod.fromOauthName(signatureMethodName.trim());
+            registry.register(tenantId, () -> {
+                PrivateKey signingKey;
+                if (keyAlias != null) {
+                    signingKey = keyCache.loadSigningKey(keyFile, keyAlias, keyPassword);
+                } else if (keyPassword != null) {
+                    signingKey = keyCache.loadEncryptedPkcs8SigningKey(keyFile, keyPassword);
+                } else {
+                    signingKey = keyCache.loadPkcs8SigningKey(keyFile);
+                }
+                return new SigningCredentials(consumerKey, signingKey, signatureMethod);
+            });
+            for (String pathPrefix : split(properties.getProperty(prefix + "pathPrefixes", ""))) {
+                registry.routePathPrefix(pathPrefix, tenantId);
+            }
+        }
+        String defaultTenant = properties.getProperty("defaultTenant");
+        if (defaultTenant != null) {
+            // Every path starts with "/", and longer prefixes win
+            registry.routePathPrefix("/", defaultTenant);
+        }
+
+        SidecarConfig config = new SidecarConfig(URI.create(required(properties, "upstream")), registry);
+        String host = properties.getProperty("listen.host");
+        int port = intProperty(properties, "listen.port", DEFAULT_PORT);
+        config.setListenAddress(host == null ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port) : new InetSocketAddress(host, port));
+        config.setThreads(intProperty(properties, "threads", DEFAULT_THREADS));
+        config.setMaxBodySize(intProperty(properties, "maxBodySize", DEFAULT_MAX_BODY_SIZE));
+        config.setMaxIdleConnections(intProperty(properties, "upstream.maxIdleConnections", DEFAULT_MAX_IDLE_CONNECTIONS));
+        config.setKeepAliveSeconds(intProperty(properties, "upstream.keepAliveSeconds", (int) DEFAULT_KEEP_ALIVE_SECONDS));
+        config.setConnectTimeoutMillis(intProperty(properties, "upstream.connectTimeoutMillis", (int) DEFAULT_CONNECT_TIMEOUT_MILLIS));
+        config.setReadTimeoutMillis(intProperty(properties, "upstream.readTimeoutMillis", (int) DEFAULT_READ_TIMEOUT_MILLIS));
+        return config;
+    }
+
+    public URI getUpstream() {
+        return upstream;
+    }
+
+    public SignerRegistry<ProxySigner> getRegistry() {
+        return registry;
+    }
+
+    public InetSocketAddress getListenAddress() {
+        return listenAddress;
+    }
+
+    /**
+     * @param listenAddress A loopback address, port 0 for an ephemeral port
+     * @throws IllegalArgumentException When the address isn't a loopback address: the proxy signs whatever it receives
+     */
+    public SidecarConfig setListenAddress(InetSocketAddress listenAddress) {
+        if (listenAddress.getAddress() == null || !listenAddress.getAddress().isLoopbackAddress()) {
+            throw new IllegalArgumentException("Not a loopback address: " + listenAddress);
+        }
+        this.listenAddress = listenAddress;
+        return this;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @param threads Number of threads serving requests, each blocked for the duration of an upstream call
+     */
+    public SidecarConfig setThreads(int threads) {
+        this.threads = positive("Threads", threads);
+        return this;
+    }
+
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * @param maxBodySize Maximum request body size in bytes, larger requests get a 413
+     */
+    public SidecarConfig setMaxBodySize(int maxBodySize) {
+        this.maxBodySize = positive("Maximum body size", maxBodySize);
+        return this;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * @param maxIdleConnections Number of idle upstream connections kept, at least the expected concurrent requests
+     */
+    public SidecarConfig setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = positive("Maximum idle connections", maxIdleConnections);
+        return this;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public SidecarConfig setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = positive("Keep alive", keepAliveSeconds);
+        return this;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public SidecarConfig setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = positive("Connect timeout", connectTimeoutMillis);
+        return this;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public SidecarConfig setReadTimeoutMillis(long readTimeoutMillis) {
+        this.readTimeoutMillis = positive("Read timeout", readTimeoutMillis);
+        return this;
+    }
+
+    private static String required(Properties properties, String name) {
+        String value = properties.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing property: " + name);
+        }
+        return value.trim();
+    }
+
+    private static int intProperty(Properties properties, String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+        }
+    }
+
+    private static String[] split(String list) {
+        String trimmed = list.trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s*,\\s*");
+    }
+
+    private static int positive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive, was " + value);
+        }
+        return value;
+    }
+
+    private static long positive(String name, long value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive, was " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.WarmUpReport;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Runs a {@link SigningProxy} configured by a properties file, until the JVM is stopped:
+ * <pre>
+ * java -jar oauth1-signer-sidecar.jar sidecar.properties
+ * </pre>
+ */
+public final class SidecarMain {
+
+    private SidecarMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java -jar oauth1-signer-sidecar.jar <sidecar.properties>");
+            System.exit(2);
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(args[0])) {
+            properties.load(in);
+        }
+        SidecarConfig config = SidecarConfig.fromProperties(properties);
+        SigningProxy proxy = new SigningProxy(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(proxy::close, "oauth1-sidecar-shutdown"));
+        WarmUpReport report = proxy.start();
+        System.out.println("Warmed up: " + report);
+        System.out.println("Signing requests on " + proxy.getBaseUri() + " for " + config.getUpstream());
+    }
+}
@@ -0,0 +1,381 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.WarmUpReport;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A forward proxy on the loopback interface, signing the requests of local applications that can't use the library
+ * (other languages, closed HTTP clients) before relaying them to the upstream API:
+ * <pre>
+ * application --HTTP, unsigned--&gt; SigningProxy --HTTP(S), signed, pooled connections--&gt; upstream
+ * </pre>
+ * Each request is routed to a tenant (by {@link #TENANT_HEADER}, then by path prefix, see {@link SignerRegistry}),
+ * its body is read and hashed in one pass, and it is signed for the upstream URI and forwarded over a pool of kept
+ * alive connections. The Authorization header of the incoming request, the tenant header and the hop-by-hop headers
+ * aren't forwarded. The response is streamed back as is.
+ * The body has to be read in full before forwarding since the Authorization header, which carries its hash, comes first.
+ * <p>
+ * Listening on the loopback interface doesn't keep web pages out: they can make the browser send requests to the
+ * proxy, directly or through a DNS name rebound to 127.0.0.1. Requests carrying browser headers ({@code Origin},
+ * {@code Sec-Fetch-Site}) or a {@code Host} other than a loopback address or "localhost" are therefore refused (403)
+ * before being routed or signed.
+ * <p>
+ * Errors raised by the proxy itself (browser request, no tenant, body too large, signing or upstream failure) are
+ * answered with a text/plain body and the {@link #ERROR_HEADER} header, so that they can be told apart from upstream
+ * errors.
+ */
+public final class SigningProxy implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(SigningProxy.class.getName());
+
+    public static final String TENANT_HEADER = "X-OAuth1-Tenant";
+    public static final String ERROR_HEADER = "X-OAuth1-Sidecar-Error";
+    public static final String METRICS_PATH = "/_sidecar/metrics";
+    public static final String READY_PATH = "/_sidecar/ready";
+
+    private static final String ADMIN_PATH_PREFIX = "/_sidecar/";
+    /** Not forwarded either way (RFC 7230, section 6.1), in lowercase. */
+    private static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "proxy-connection", "te", "trailer",
+            "transfer-encoding", "upgrade"));
+    /** Handled by the HTTP client or server themselves, in lowercase. */
+    private static final Set<String> FRAMING_HEADERS = new TreeSet<>(Arrays.asList("content-length", "expect", "host"));
+    /** Methods OkHttp refuses to send without a body. */
+    private static final Set<String> BODY_REQUIRED_METHODS = new TreeSet<>(Arrays.asList("PATCH", "POST", "PROPPATCH", "PUT", "REPORT"));
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    static {
+        // Without it, the response headers and body go in separate packets, and delayed ACKs add ~40 ms per request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final SidecarConfig config;
+    private final SignerRegistry<ProxySigner> registry;
+    private final String upstream;
+    private final ProxyMetrics metrics = new ProxyMetrics();
+    private final ConnectionPool connectionPool;
+    private final OkHttpClient client;
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    public SigningProxy(SidecarConfig config) throws IOException {
+        this.config = config;
+        this.registry = config.getRegistry();
+        this.upstream = config.getUpstream().toString();
+        registry.setSigningMetrics(metrics.getSigningLatency());
+        this.connectionPool = new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveSeconds(), TimeUnit.SECONDS);
+        this.client = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .followRedirects(false)
+                .followSslRedirects(false)
+                .build();
+        this.executor = Executors.newFixedThreadPool(config.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "oauth1-sidecar-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(config.getListenAddress(), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Loads the keys of all the tenants and warms up signing, then starts accepting requests.
+     *
+     * @return What the warm-up did
+     */
+    public WarmUpReport start() {
+        WarmUpReport report = registry.warmUp();
+        server.start();
+        return report;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return The base URI to send requests to, for instance "http://127.0.0.1:8181"
+     */
+    public URI getBaseUri() {
+        InetSocketAddress address = getAddress();
+        return URI.create("http://" + address.getAddress().getHostAddress() + ":" + address.getPort());
+    }
+
+    public ProxyMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting requests, waits up to one second for the requests being relayed, and closes the upstream connections.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+        connectionPool.evictAll();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            String path = exchange.getRequestURI().getRawPath();
+            String refusal = checkLocalClient(exchange.getRequestHeaders());
+            if (refusal != null) {
+                sendError(exchange, 403, ProxyMetrics.Error.FORBIDDEN, refusal);
+            } else if (path != null && path.startsWith(ADMIN_PATH_PREFIX)) {
+                handleAdmin(exchange, path);
+            } else {
+                relay(exchange, startNanos);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void relay(HttpExchange exchange, long startNanos) throws IOException {
+        String method = exchange.getRequestMethod();
+        URI requestUri = exchange.getRequestURI();
+        Headers requestHeaders = exchange.getRequestHeaders();
+
+        ProxySigner signer;
+        try {
+            signer = registry.resolve(requestHeaders.getFirst(TENANT_HEADER), null, requestUri.getRawPath());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, ProxyMetrics.Error.NO_TENANT, e.getMessage());
+            return;
+        }
+        URI upstreamUri = toUpstreamUri(requestUri);
+        ProxySigner.SignedRequest signedRequest;
+        try {
+            // OkHttp doesn't send GET and HEAD bodies, so they aren't signed either
+            InputStream body = isBodyPermitted(method) ? exchange.getRequestBody() : new ByteArrayInputStream(new byte[0]);
+            signedRequest = signer.sign(upstreamUri, method, body, config.getMaxBodySize());
+        } catch (ProxySigner.BodyTooLargeException e) {
+            sendError(exchange, 413, ProxyMetrics.Error.BODY_TOO_LARGE, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Unable to sign " + method + " " + upstreamUri, e);
+            sendError(exchange, 500, ProxyMetrics.Error.SIGNING, "Unable to sign the request: " + e);
+            return;
+        }
+
+        Request request = toUpstreamRequest(method, upstreamUri, requestHeaders, signedRequest);
+        long upstreamStartNanos = System.nanoTime();
+        Response response;
+        try {
+            response = client.newCall(request).execute();
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Upstream call failed: " + method + " " + upstreamUri, e);
+            sendError(exchange, 502, ProxyMetrics.Error.UPSTREAM, "Upstream call failed: " + e);
+            return;
+        }
+        try (Response upstreamResponse = response) {
+            long upstreamEndNanos = System.nanoTime();
+            metrics.getUpstreamLatency().record(upstreamEndNanos - upstreamStartNanos);
+            sendResponse(exchange, method, upstreamResponse);
+            metrics.getAddedLatency().record(upstreamStartNanos - startNanos + System.nanoTime() - upstreamEndNanos);
+            metrics.recordResponse(upstreamResponse.code());
+            ResponseBody body = upstreamResponse.body();
+            if (body != null && hasResponseBody(method, upstreamResponse.code())) {
+                try (InputStream in = body.byteStream(); OutputStream out = exchange.getResponseBody()) {
+                    in.transferTo(out);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Why the request seems to come from a browser rather than from a local application, null if it doesn't
+     */
+    static String checkLocalClient(Headers requestHeaders) {
+        if (requestHeaders.containsKey("Origin") || requestHeaders.containsKey("Sec-Fetch-Site")) {
+            return "Requests from browsers aren't signed";
+        }
+        String host = requestHeaders.getFirst("Host");
+        if (!isLoopbackHost(host)) {
+            return "Not a loopback host: " + host;
+        }
+        return null;
+    }
+
+    /**
+     * @param host A Host header value, for instance "127.0.0.1:8181" or "[::1]:8181"
+     */
+    static boolean isLoopbackHost(String host) {
+        if (host == null) {
+            return false;
+        }
+        String name;
+        if (host.startsWith("[")) {
+            int end = host.indexOf(']');
+            if (end < 0) {
+                return false;
+            }
+            name = host.substring(1, end);
+        } else {
+            int colon = host.indexOf(':');
+            name = colon < 0 ? host : host.substring(0, colon);
+            if ("localhost".equalsIgnoreCase(name)) {
+                return true;
+            }
+            // Only literal addresses: looking a name up would ask the very DNS that can be rebound
+            if (!name.matches("[0-9]{1,3}(\\.[0-9]{1,3}){3}")) {
+                return false;
+            }
+        }
+        try {
+            return InetAddress.getByName(name).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private URI toUpstreamUri(URI requestUri) {
+        String rawPath = requestUri.getRawPath();
+        String rawQuery = requestUri.getRawQuery();
+        StringBuilder uri = new StringBuilder(upstream.length() + 64).append(upstream);
+        uri.append(rawPath == null || rawPath.isEmpty() ? "/" : rawPath);
+        if (rawQuery != null) {
+            uri.append('?').append(rawQuery);
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static Request toUpstreamRequest(String method, URI upstreamUri, Headers requestHeaders, ProxySigner.SignedRequest signedRequest) {
+        Request.Builder request = new Request.Builder().url(upstreamUri.toString());
+        Set<String> connectionHeaders = connectionHeaders(requestHeaders.get("Connection"));
+        for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (isForwarded(name, connectionHeaders) && !"authorization".equals(name) && !TENANT_HEADER.equalsIgnoreCase(name)) {
+                for (String value : header.getValue()) {
+                    request.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        request.header("Authorization", signedRequest.getAuthorizationHeader());
+        RequestBody body = null;
+        if (signedRequest.getBodyLength() > 0 || BODY_REQUIRED_METHODS.contains(method)) {
+            // No media type: the Content-Type header is forwarded as is
+            body = RequestBody.create(signedRequest.getBody(), null, 0, signedRequest.getBodyLength());
+        }
+        return request.method(method, body).build();
+    }
+
+    private static void sendResponse(HttpExchange exchange, String method, Response response) throws IOException {
+        Headers responseHeaders = exchange.getResponseHeaders();
+        Set<String> connectionHeaders = connectionHeaders(response.headers("Connection"));
+        for (String name : response.headers().names()) {
+            if (isForwarded(name.toLowerCase(Locale.ROOT), connectionHeaders)) {
+                responseHeaders.put(name, response.headers(name));
+            }
+        }
+        long length = -1;
+        if (hasResponseBody(method, response.code())) {
+            ResponseBody body = response.body();
+            long contentLength = body == null ? 0 : body.contentLength();
+            // For HttpServer, 0 means chunked and -1 means no body
+            length = contentLength == 0 ? -1 : contentLength < 0 ? 0 : contentLength;
+        }
+        exchange.sendResponseHeaders(response.code(), length);
+    }
+
+    private static boolean isBodyPermitted(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method);
+    }
+
+    private static boolean hasResponseBody(String method, int code) {
+        return !"HEAD".equals(method) && code >= 200 && code != 204 && code != 304;
+    }
+
+    private static boolean isForwarded(String lowercaseName, Set<String> connectionHeaders) {
+        return !HOP_BY_HOP_HEADERS.contains(lowercaseName) && !FRAMING_HEADERS.contains(lowercaseName) && !connectionHeaders.contains(lowercaseName);
+    }
+
+    /**
+     * @return The lowercase names of the headers listed in the Connection header, which are hop-by-hop too
+     */
+    private static Set<String> connectionHeaders(List<String> connectionValues) {
+        Set<String> names = new TreeSet<>();
+        if (connectionValues != null) {
+            for (String value : connectionValues) {
+                for (String name : value.split(",")) {
+                    names.add(name.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private void handleAdmin(HttpExchange exchange, String path) throws IOException {
+        drain(exchange.getRequestBody());
+        if (METRICS_PATH.equals(path)) {
+            sendText(exchange, 200, "text/plain; version=0.0.4", metrics.render(connectionPool));
+        } else if (READY_PATH.equals(path)) {
+            boolean ready = registry.isWarmedUp();
+            sendText(exchange, ready ? 200 : 503, "text/plain", ready ? "ready\n" : "warming up\n");
+        } else {
+            sendText(exchange, 404, "text/plain", "Not found: " + path + "\n");
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, ProxyMetrics.Error error, String message) throws IOException {
+        metrics.recordError(error);
+        metrics.recordResponse(status);
+        // Drains what's left of the body, so that the connection can be reused
+        drain(exchange.getRequestBody());
+        exchange.getResponseHeaders().set(ERROR_HEADER, error.name().toLowerCase(Locale.ROOT));
+        sendText(exchange, status, "text/plain", message + "\n");
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            // Discard
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + (contentType.contains("charset") ? "" : "; charset=utf-8"));
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
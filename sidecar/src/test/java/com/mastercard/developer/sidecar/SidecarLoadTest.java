@@ -0,0 +1,220 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.ConcurrentHistogram;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.mastercard.developer.signers.SigningCredentials;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the latency the sidecar adds, entirely in process: requests are sent at a fixed rate to a
+ * {@link StubUpstream} directly, then through a {@link SigningProxy} forwarding to it, and the latency percentiles of
+ * both runs are compared.
+ * The load is open loop: latencies are measured from when each request was scheduled, so that a stall delays the
+ * requests queued behind it instead of pausing the load (no coordinated omission).
+ * It lives in the test sources, out of the sidecar jar, and runs with the load-test profile:
+ * <pre>
+ * mvn verify -Pload-test -Dloadtest.args="--rps 10000 --seconds 30"
+ * </pre>
+ * Options: --rps, --seconds, --warmup-seconds, --body (request body size in bytes), --method (OAuth signature method),
+ * --connections (concurrent requests), and --max-added-p99-ms, exiting with status 1 when the p99 latency added by the
+ * proxy (as measured by the proxy itself) is higher.
+ * The load generator, the proxy and the stub share the machine: run it on as many cores as the target host.
+ */
+public final class SidecarLoadTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final int rps;
+    private final int connections;
+    private final byte[] body;
+    private final OkHttpClient client;
+
+    private SidecarLoadTest(int rps, int connections, int bodySize) {
+        this.rps = rps;
+        this.connections = connections;
+        this.body = new byte[bodySize];
+        Arrays.fill(body, (byte) 'a');
+        Dispatcher dispatcher = new Dispatcher(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sidecar-load");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        dispatcher.setMaxRequests(connections);
+        dispatcher.setMaxRequestsPerHost(connections);
+        this.client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(connections, 5, TimeUnit.MINUTES))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rps = intOption(args, "--rps", 10000);
+        int seconds = intOption(args, "--seconds", 30);
+        int warmUpSeconds = intOption(args, "--warmup-seconds", 10);
+        int bodySize = intOption(args, "--body", 256);
+        int connections = intOption(args, "--connections", 64);
+        String signatureMethodName = option(args, "--method", "RSA-SHA256");
+        SignatureMethod signatureMethod = SignatureMethod.fromOauthName(signatureMethodName);
+        String maxAddedP99 = option(args, "--max-added-p99-ms", null);
+
+        SidecarLoadTest loadTest = new SidecarLoadTest(rps, connections, bodySize);
+        try (StubUpstream upstream = new StubUpstream(connections)) {
+            SignerRegistry<ProxySigner> registry = SidecarConfig.newRegistry()
+                    .register("load-test", new SigningCredentials("load-test-consumer-key", generateKey(signatureMethod), signatureMethod))
+                    .routePathPrefix("/", "load-test");
+            SidecarConfig config = new SidecarConfig(upstream.getBaseUri(), registry)
+                    .setListenAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                    .setThreads(connections)
+                    .setMaxIdleConnections(connections);
+            try (SigningProxy proxy = new SigningProxy(config)) {
+                proxy.start();
+                URI direct = upstream.getBaseUri().resolve("/load-test?poll=1");
+                URI sidecar = proxy.getBaseUri().resolve("/load-test?poll=1");
+
+                System.out.printf(Locale.ROOT, "%d requests/s, %d byte bodies, %s, %d connections%n", rps, bodySize, signatureMethodName, connections);
+                loadTest.run(direct, warmUpSeconds);
+                Result directResult = loadTest.run(direct, seconds);
+                loadTest.run(sidecar, warmUpSeconds);
+                proxy.getMetrics().resetLatencies();
+                Result sidecarResult = loadTest.run(sidecar, seconds);
+
+                System.out.println("            achieved rps     p50 ms     p99 ms   p99.9 ms   errors");
+                System.out.println(directResult.format("direct"));
+                System.out.println(sidecarResult.format("sidecar"));
+                double addedByClient = millis(sidecarResult.latency.getValueAtPercentile(99) - directResult.latency.getValueAtPercentile(99));
+                ConcurrentHistogram addedLatency = proxy.getMetrics().getAddedLatency();
+                double addedByProxy = millis(addedLatency.getValueAtPercentile(99));
+                System.out.printf(Locale.ROOT, "Added p99, client side: %.3f ms%n", addedByClient);
+                System.out.printf(Locale.ROOT, "Added p99, measured by the proxy: %.3f ms (p50 %.3f ms, %d requests)%n",
+                        addedByProxy, millis(addedLatency.getValueAtPercentile(50)), addedLatency.getCount());
+                if (maxAddedP99 != null && addedByProxy > Double.parseDouble(maxAddedP99)) {
+                    System.out.println("FAILED: added p99 above " + maxAddedP99 + " ms");
+                    System.exit(1);
+                }
+            }
+        } finally {
+            loadTest.client.dispatcher().executorService().shutdown();
+            loadTest.client.connectionPool().evictAll();
+        }
+    }
+
+    private Result run(URI uri, int seconds) throws InterruptedException {
+        ConcurrentHistogram latency = new ConcurrentHistogram();
+        LongAdder errors = new LongAdder();
+        long count = (long) rps * seconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long startNanos = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long scheduledNanos = startNanos + i * intervalNanos;
+            long waitNanos;
+            while ((waitNanos = scheduledNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            Request request = new Request.Builder().url(uri.toString()).post(RequestBody.create(body, JSON)).build();
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (Response r = response) {
+                        r.body().bytes();
+                        if (!r.isSuccessful()) {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    }
+                    latency.record(System.nanoTime() - scheduledNanos);
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    errors.increment();
+                    latency.record(System.nanoTime() - scheduledNanos);
+                }
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (latency.getCount() + errors.sum() < count && System.nanoTime() < deadline
+                && client.dispatcher().runningCallsCount() + client.dispatcher().queuedCallsCount() > 0) {
+            Thread.sleep(10);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return new Result(latency, errors.sum(), latency.getCount() * 1e9 / elapsedNanos);
+    }
+
+    private static PrivateKey generateKey(SignatureMethod signatureMethod) throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        switch (signatureMethod) {
+            case ECDSA_SHA256:
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                break;
+            case ED25519:
+                generator = KeyPairGenerator.getInstance("Ed25519");
+                break;
+            default:
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                break;
+        }
+        return generator.generateKeyPair().getPrivate();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int intOption(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(option(args, name, String.valueOf(defaultValue)));
+    }
+
+    private static final class Result {
+        private final ConcurrentHistogram latency;
+        private final long errors;
+        private final double achievedRps;
+
+        Result(ConcurrentHistogram latency, long errors, double achievedRps) {
+            this.latency = latency;
+            this.errors = errors;
+            this.achievedRps = achievedRps;
+        }
+
+        String format(String name) {
+            return String.format(Locale.ROOT, "%-10s %12.0f %10.3f %10.3f %10.3f %8d", name, achievedRps,
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), errors);
+        }
+    }
+}
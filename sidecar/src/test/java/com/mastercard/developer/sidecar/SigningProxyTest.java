@@ -0,0 +1,289 @@
+package com.mastercard.developer.sidecar;
+
+import com.mastercard.developer.oauth.OAuthVerifier;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.mastercard.developer.signers.SigningCredentials;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SigningProxyTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final OkHttpClient client = new OkHttpClient();
+    private final Map<String, PublicKey> publicKeys = new HashMap<>();
+    private StubUpstream upstream;
+    private SigningProxy proxy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubUpstream(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (proxy != null) {
+            proxy.close();
+        }
+        upstream.close();
+        client.connectionPool().evictAll();
+    }
+
+    @Test
+    void testRelay_ShouldForwardSignedRequest() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default"));
+        Request request = new Request.Builder()
+                .url(proxy.getBaseUri().resolve("/payments?b=2&a=1").toString())
+                .header("Authorization", "Bearer not-forwarded")
+                .post(RequestBody.create("{\"amount\":1}", JSON))
+                .build();
+
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            assertEquals("{}", response.body().string());
+            assertEquals("application/json", response.header("Content-Type"));
+        }
+        StubUpstream.ReceivedRequest received = upstream.getLastRequest();
+        assertEquals("POST", received.getMethod());
+        assertEquals("/payments?b=2&a=1", received.getUri().toString());
+        assertEquals("application/json; charset=utf-8", received.getContentType());
+        assertArrayEquals("{\"amount\":1}".getBytes(StandardCharsets.UTF_8), received.getBody());
+        OAuthVerifier.Result result = verify(received);
+        assertTrue(result.isValid(), String.valueOf(result.getFailure()));
+        assertEquals("default-consumer-key", result.getConsumerKey());
+        assertEquals(1, proxy.getMetrics().getResponseCount(2));
+        assertEquals(1, proxy.getMetrics().getAddedLatency().getCount());
+    }
+
+    @Test
+    void testRelay_ShouldSignBodilessRequest() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default"));
+
+        try (Response response = client.newCall(new Request.Builder().url(proxy.getBaseUri().resolve("/status").toString()).build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        StubUpstream.ReceivedRequest received = upstream.getLastRequest();
+        assertEquals("GET", received.getMethod());
+        assertTrue(verify(received).isValid());
+    }
+
+    @Test
+    void testRelay_ShouldRouteByTenantHeaderThenPathPrefix() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default").routePathPrefix("/other/", "other"));
+
+        send(new Request.Builder().url(proxy.getBaseUri().resolve("/other/things").toString())).close();
+        assertEquals("other-consumer-key", verify(upstream.getLastRequest()).getConsumerKey());
+
+        send(new Request.Builder().url(proxy.getBaseUri().resolve("/other/things").toString()).header(SigningProxy.TENANT_HEADER, "default")).close();
+        assertEquals("default-consumer-key", verify(upstream.getLastRequest()).getConsumerKey());
+    }
+
+    @Test
+    void testRelay_ShouldAnswer400_WhenNoTenantMatches() throws Exception {
+        startProxy(registry().routePathPrefix("/other/", "other"));
+
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString()))) {
+            assertEquals(400, response.code());
+            assertEquals("no_tenant", response.header(SigningProxy.ERROR_HEADER));
+        }
+        assertNull(upstream.getLastRequest());
+        assertEquals(1, proxy.getMetrics().getErrorCount(ProxyMetrics.Error.NO_TENANT));
+    }
+
+    @Test
+    void testRelay_ShouldAnswer403_WhenRequestComesFromBrowser() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default"));
+
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString())
+                .header("Origin", "https://attacker.example")
+                .post(RequestBody.create("{}", JSON)))) {
+            assertEquals(403, response.code());
+            assertEquals("forbidden", response.header(SigningProxy.ERROR_HEADER));
+        }
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString())
+                .header("Sec-Fetch-Site", "cross-site"))) {
+            assertEquals(403, response.code());
+        }
+        assertNull(upstream.getLastRequest());
+        assertEquals(2, proxy.getMetrics().getErrorCount(ProxyMetrics.Error.FORBIDDEN));
+    }
+
+    @Test
+    void testRelay_ShouldAnswer403_WhenHostIsNotLoopback() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default"));
+
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString())
+                .header("Host", "rebound.attacker.example:" + proxy.getAddress().getPort()))) {
+            assertEquals(403, response.code());
+            assertEquals("forbidden", response.header(SigningProxy.ERROR_HEADER));
+        }
+        assertNull(upstream.getLastRequest());
+    }
+
+    @Test
+    void testIsLoopbackHost() {
+        assertTrue(SigningProxy.isLoopbackHost("127.0.0.1:8181"));
+        assertTrue(SigningProxy.isLoopbackHost("127.1.2.3"));
+        assertTrue(SigningProxy.isLoopbackHost("localhost:8181"));
+        assertTrue(SigningProxy.isLoopbackHost("[::1]:8181"));
+        assertFalse(SigningProxy.isLoopbackHost(null));
+        assertFalse(SigningProxy.isLoopbackHost("127.0.0.1.attacker.example"));
+        assertFalse(SigningProxy.isLoopbackHost("10.0.0.1:8181"));
+        assertFalse(SigningProxy.isLoopbackHost("[::1"));
+    }
+
+    @Test
+    void testRelay_ShouldAnswer413_WhenBodyTooLarge() throws Exception {
+        SidecarConfig config = config(registry().routePathPrefix("/", "default")).setMaxBodySize(16);
+        proxy = new SigningProxy(config);
+        proxy.start();
+
+        Request request = new Request.Builder()
+                .url(proxy.getBaseUri().resolve("/payments").toString())
+                .post(RequestBody.create(new byte[17], JSON))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(413, response.code());
+            assertEquals("body_too_large", response.header(SigningProxy.ERROR_HEADER));
+        }
+        assertNull(upstream.getLastRequest());
+    }
+
+    @Test
+    void testRelay_ShouldAnswer502_WhenUpstreamIsDown() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        SidecarConfig config = new SidecarConfig(URI.create("http://127.0.0.1:" + closedPort), registry().routePathPrefix("/", "default"))
+                .setListenAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        proxy = new SigningProxy(config);
+        proxy.start();
+
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString()))) {
+            assertEquals(502, response.code());
+            assertEquals("upstream", response.header(SigningProxy.ERROR_HEADER));
+        }
+        assertEquals(1, proxy.getMetrics().getErrorCount(ProxyMetrics.Error.UPSTREAM));
+    }
+
+    @Test
+    void testAdmin_ShouldServeReadinessAndMetrics() throws Exception {
+        startProxy(registry().routePathPrefix("/", "default"));
+        send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString())).close();
+
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve(SigningProxy.READY_PATH).toString()))) {
+            assertEquals(200, response.code());
+        }
+        try (Response response = send(new Request.Builder().url(proxy.getBaseUri().resolve(SigningProxy.METRICS_PATH).toString()))) {
+            String metrics = response.body().string();
+            assertTrue(metrics.contains("sidecar_responses_total{status=\"2xx\"} 1\n"), metrics);
+            assertTrue(metrics.contains("sidecar_added_latency_seconds_count 1\n"), metrics);
+            assertTrue(metrics.contains("sidecar_signing_latency_seconds_count{consumer_key=\"default-consumer-key\"}"), metrics);
+        }
+    }
+
+    @Test
+    void testFromProperties_ShouldLoadTenantsAndRoutes(@TempDir Path directory) throws Exception {
+        KeyPair keyPair = generateKeyPair(SignatureMethod.RSA_SHA256);
+        Path keyFile = directory.resolve("key.der");
+        Files.write(keyFile, keyPair.getPrivate().getEncoded());
+        publicKeys.put("file-consumer-key", keyPair.getPublic());
+        Properties properties = new Properties();
+        properties.setProperty("upstream", upstream.getBaseUri() + "/");
+        properties.setProperty("listen.port", "0");
+        properties.setProperty("tenants", "file");
+        properties.setProperty("tenant.file.consumerKey", "file-consumer-key");
+        properties.setProperty("tenant.file.keyFile", keyFile.toString());
+        properties.setProperty("defaultTenant", "file");
+
+        proxy = new SigningProxy(SidecarConfig.fromProperties(properties));
+        proxy.start();
+        send(new Request.Builder().url(proxy.getBaseUri().resolve("/payments").toString())).close();
+
+        assertEquals("/payments", upstream.getLastRequest().getUri().toString());
+        assertEquals("file-consumer-key", verify(upstream.getLastRequest()).getConsumerKey());
+    }
+
+    @Test
+    void testConfig_ShouldRejectNonLoopbackAddresses() {
+        SidecarConfig config = new SidecarConfig(upstream.getBaseUri(), SidecarConfig.newRegistry());
+        assertThrows(IllegalArgumentException.class, () -> config.setListenAddress(new InetSocketAddress("0.0.0.0", 8181)));
+        assertThrows(IllegalArgumentException.class, () -> SidecarConfig.fromProperties(new Properties()));
+    }
+
+    private SignerRegistry<ProxySigner> registry() throws Exception {
+        SignerRegistry<ProxySigner> registry = SidecarConfig.newRegistry();
+        register(registry, "default", SignatureMethod.RSA_SHA256);
+        register(registry, "other", SignatureMethod.ECDSA_SHA256);
+        return registry;
+    }
+
+    private void register(SignerRegistry<ProxySigner> registry, String tenantId, SignatureMethod signatureMethod) throws Exception {
+        KeyPair keyPair = generateKeyPair(signatureMethod);
+        publicKeys.put(tenantId + "-consumer-key", keyPair.getPublic());
+        registry.register(tenantId, new SigningCredentials(tenantId + "-consumer-key", keyPair.getPrivate(), signatureMethod));
+    }
+
+    private SidecarConfig config(SignerRegistry<ProxySigner> registry) {
+        return new SidecarConfig(upstream.getBaseUri(), registry).setListenAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private void startProxy(SignerRegistry<ProxySigner> registry) throws IOException {
+        proxy = new SigningProxy(config(registry));
+        proxy.start();
+    }
+
+    private Response send(Request.Builder request) throws IOException {
+        return client.newCall(request.build()).execute();
+    }
+
+    private OAuthVerifier.Result verify(StubUpstream.ReceivedRequest received) {
+        assertNotEquals("Bearer not-forwarded", received.getAuthorizationHeader());
+        URI uri = upstream.getBaseUri().resolve(received.getUri().toString());
+        return new OAuthVerifier(publicKeys::get).verify(received.getMethod(), uri, received.getAuthorizationHeader(), received.getBody());
+    }
+
+    private static KeyPair generateKeyPair(SignatureMethod signatureMethod) throws Exception {
+        if (signatureMethod == SignatureMethod.ECDSA_SHA256) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
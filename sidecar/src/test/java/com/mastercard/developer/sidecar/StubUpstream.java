@@ -0,0 +1,114 @@
+package com.mastercard.developer.sidecar;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An in-process HTTP server standing in for the upstream API: it reads the whole request body and answers "{}",
+ * keeping the last request for inspection. For {@link SidecarLoadTest} and the tests.
+ */
+public final class StubUpstream implements AutoCloseable {
+
+    private static final byte[] RESPONSE = "{}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Without it, the response headers and body go in separate packets, and delayed ACKs add ~40 ms per request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile ReceivedRequest lastRequest;
+
+    public StubUpstream(int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort());
+    }
+
+    /**
+     * @return The last request received, null when none
+     */
+    public ReceivedRequest getLastRequest() {
+        return lastRequest;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(body);
+        }
+        lastRequest = new ReceivedRequest(exchange.getRequestMethod(), exchange.getRequestURI(),
+                exchange.getRequestHeaders().getFirst("Authorization"), exchange.getRequestHeaders().getFirst("Content-Type"), body.toByteArray());
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, RESPONSE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(RESPONSE);
+        }
+    }
+
+    /**
+     * A request as received by the stub.
+     */
+    public static final class ReceivedRequest {
+        private final String method;
+        private final URI uri;
+        private final String authorizationHeader;
+        private final String contentType;
+        private final byte[] body;
+
+        ReceivedRequest(String method, URI uri, String authorizationHeader, String contentType, byte[] body) {
+            this.method = method;
+            this.uri = uri;
+            this.authorizationHeader = authorizationHeader;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return The request path and query
+         */
+        public URI getUri() {
+            return uri;
+        }
+
+        public String getAuthorizationHeader() {
+            return authorizationHeader;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
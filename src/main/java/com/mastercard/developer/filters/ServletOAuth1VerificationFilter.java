@@ -0,0 +1,281 @@
+package com.mastercard.developer.filters;
+
+import com.mastercard.developer.oauth.BodyHashOutputStream;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.OAuthVerifier;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * A Servlet filter verifying the OAuth1.0a signature of inbound requests.
+ * The signature is checked before the request reaches the application, then the body hash is computed as the
+ * application reads the body: when the end of the body is reached and the hash doesn't match the signed one,
+ * reading fails with an {@link IOException} instead of completing, and the request is answered with a 401 if the
+ * response isn't committed yet.
+ * Only applications reading the body to its end through this filter are protected: the application must not act
+ * on the body before its read completed. The part of the body the application didn't read (all of it when the
+ * application ignores the body) is read and verified once the filter chain returns, after the application acted on
+ * the request, and fails it with a 401 when the response isn't committed yet. Bodies the container consumed on its
+ * own, for instance for {@link ServletRequest#getParameter(String)} on form posts, can't be verified and fail the
+ * request the same way. Bodies of asynchronous requests still being processed when the chain returns aren't
+ * verified unless the application reads them.
+ * The request URL is rebuilt from {@link HttpServletRequest#getRequestURL()}: behind a reverse proxy, the container
+ * must be configured to expose the URL the consumer called.
+ */
+public class ServletOAuth1VerificationFilter implements Filter {
+
+    /**
+     * Name of the request attribute holding the {@link OAuthVerifier.Result} of authenticated requests.
+     */
+    public static final String RESULT_ATTRIBUTE = OAuthVerifier.Result.class.getName();
+
+    private final OAuthVerifier verifier;
+    private final Charset charset;
+
+    public ServletOAuth1VerificationFilter(OAuthVerifier verifier) {
+        this(verifier, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param charset Charset used for decoding the query parameters
+     */
+    public ServletOAuth1VerificationFilter(OAuthVerifier verifier, Charset charset) {
+        this.verifier = verifier;
+        this.charset = charset;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        if (!(servletRequest instanceof HttpServletRequest) || !(servletResponse instanceof HttpServletResponse)) {
+            chain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        OAuthVerifier.Result result;
+        try {
+            String baseUri = OAuth.getBaseUriString(new URI(request.getRequestURL().toString()));
+            SortedMap<String, List<String>> queryParams = OAuth.extractQueryParams(request.getQueryString(), charset);
+            result = verifier.verifyHeader(request.getMethod(), baseUri, queryParams, request.getHeader("Authorization"));
+        } catch (URISyntaxException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!result.isValid()) {
+            reject(response);
+            return;
+        }
+        request.setAttribute(RESULT_ATTRIBUTE, result);
+
+        BodyVerifyingRequest verifyingRequest = new BodyVerifyingRequest(request, result);
+        try {
+            chain.doFilter(verifyingRequest, response);
+            if (!request.isAsyncStarted()) {
+                verifyingRequest.verifyUnreadBody();
+            }
+        } catch (BodyHashMismatchException e) {
+            rejectOrRethrow(response, e);
+        } catch (ServletException e) {
+            if (!(e.getRootCause() instanceof BodyHashMismatchException)) {
+                throw e;
+            }
+            rejectOrRethrow(response, (BodyHashMismatchException) e.getRootCause());
+        }
+    }
+
+    private static void rejectOrRethrow(HttpServletResponse response, BodyHashMismatchException e) throws IOException {
+        if (response.isCommitted()) {
+            throw e;
+        }
+        response.reset();
+        reject(response);
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setHeader("WWW-Authenticate", "OAuth");
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    /**
+     * Thrown by the request body stream when the body doesn't match the signed body hash.
+     */
+    static final class BodyHashMismatchException extends IOException {
+        BodyHashMismatchException(OAuthVerifier.Result result) {
+            this("The request body doesn't match the oauth_body_hash (" + result + ")");
+        }
+
+        BodyHashMismatchException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class BodyVerifyingRequest extends HttpServletRequestWrapper {
+
+        private final OAuthVerifier.Result result;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        BodyVerifyingRequest(HttpServletRequest request, OAuthVerifier.Result result) {
+            super(request);
+            this.result = result;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new BodyVerifyingInputStream(super.getInputStream(), getContentLengthLong(), result);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset readerCharset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), readerCharset));
+            }
+            return reader;
+        }
+
+        void verifyUnreadBody() throws IOException {
+            ((BodyVerifyingInputStream) getInputStream()).drain();
+        }
+    }
+
+    /**
+     * Hashes the bytes read. The hash is checked when the declared content length is reached (before the last
+     * bytes are returned), or at the end of the stream when the length isn't known.
+     */
+    private static final class BodyVerifyingInputStream extends ServletInputStream {
+
+        private final ServletInputStream in;
+        private final long contentLength;
+        private final OAuthVerifier.Result result;
+        private final BodyHashOutputStream hash = new BodyHashOutputStream();
+        private boolean verified;
+        private BodyHashMismatchException mismatch;
+
+        BodyVerifyingInputStream(ServletInputStream in, long contentLength, OAuthVerifier.Result result) {
+            this.in = in;
+            this.contentLength = contentLength;
+            this.result = result;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b == -1) {
+                verify();
+                return -1;
+            }
+            hash.write(b);
+            if (hash.getCount() == contentLength) {
+                verify();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read == -1) {
+                verify();
+                return -1;
+            }
+            hash.write(b, off, read);
+            if (hash.getCount() == contentLength) {
+                verify();
+            }
+            return read;
+        }
+
+        /**
+         * Reads and verifies the rest of the body. A body ending before its declared length without any byte read
+         * was consumed outside of this stream, and fails verification.
+         */
+        void drain() throws IOException {
+            if (verified) {
+                if (mismatch != null) {
+                    throw mismatch;
+                }
+                return;
+            }
+            byte[] buffer = new byte[8192];
+            while (!verified) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read == -1) {
+                    if (hash.getCount() == 0 && contentLength > 0) {
+                        verified = true;
+                        mismatch = new BodyHashMismatchException("The request body was consumed before it could be verified");
+                        throw mismatch;
+                    }
+                    verify();
+                    return;
+                }
+                hash.write(buffer, 0, read);
+                if (hash.getCount() == contentLength) {
+                    verify();
+                }
+            }
+        }
+
+        private void verify() throws BodyHashMismatchException {
+            if (!verified) {
+                verified = true;
+                OAuthVerifier.Result bodyResult = result.verifyBodyHash(hash.getBodyHash());
+                if (!bodyResult.isValid()) {
+                    mismatch = new BodyHashMismatchException(bodyResult);
+                }
+            }
+            if (mismatch != null) {
+                // Also thrown by the subsequent reads, so that the body never looks complete
+                throw mismatch;
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            in.setReadListener(readListener);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.mastercard.developer.filters;
+
+import com.mastercard.developer.oauth.BodyHashOutputStream;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.OAuthVerifier;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Spring webflux filter verifying the OAuth1.0a signature of inbound requests.
+ * The signature is checked on a separate scheduler (the event loop isn't blocked, and the body keeps arriving in
+ * the meantime), then the body hash is computed on the data buffers as the application consumes the body: when
+ * the body ends and the hash doesn't match the signed one, the body fails with a 401
+ * {@link ResponseStatusException} instead of completing.
+ * When the application doesn't consume the body at all, the body is read and verified before the response is
+ * committed (or once the filter chain completes when the application writes nothing), and the response is replaced
+ * with a 401 when it doesn't match. A body the application cancels partway can't be read any further and isn't
+ * verified: applications acting on partial bodies must not rely on this filter for their integrity.
+ */
+public class SpringWebfluxOAuth1VerificationFilter implements WebFilter {
+
+    /**
+     * Name of the exchange attribute holding the {@link OAuthVerifier.Result} of authenticated requests.
+     */
+    public static final String RESULT_ATTRIBUTE = OAuthVerifier.Result.class.getName();
+
+    private final OAuthVerifier verifier;
+    private final Charset charset;
+    private final Scheduler scheduler;
+
+    public SpringWebfluxOAuth1VerificationFilter(OAuthVerifier verifier) {
+        this(verifier, StandardCharsets.UTF_8, Schedulers.parallel());
+    }
+
+    /**
+     * @param charset Charset used for decoding the query parameters
+     * @param scheduler Scheduler the signatures are verified on
+     */
+    public SpringWebfluxOAuth1VerificationFilter(OAuthVerifier verifier, Charset charset, Scheduler scheduler) {
+        this.verifier = verifier;
+        this.charset = charset;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = request.getURI();
+        String authorizationHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return Mono.fromCallable(() -> verifier.verifyHeader(request.getMethod().name(), OAuth.getBaseUriString(uri),
+                        OAuth.extractQueryParams(uri, charset), authorizationHeader))
+                .subscribeOn(scheduler)
+                .flatMap(result -> {
+                    if (!result.isValid()) {
+                        return reject(exchange.getResponse());
+                    }
+                    exchange.getAttributes().put(RESULT_ATTRIBUTE, result);
+                    AtomicBoolean bodySubscribed = new AtomicBoolean();
+                    ServerHttpRequest verifyingRequest = new ServerHttpRequestDecorator(request) {
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            return verifyBody(super.getBody(), result).doOnSubscribe(subscription -> bodySubscribed.set(true));
+                        }
+                    };
+                    Mono<Boolean> unreadBodyVerified = Mono.defer(() -> bodySubscribed.get()
+                            ? Mono.just(true)
+                            : verifyingRequest.getBody().doOnNext(DataBufferUtils::release).then(Mono.just(true))
+                            .onErrorResume(ResponseStatusException.class, e -> Mono.just(false)));
+                    ServerHttpResponse verifyingResponse = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return unreadBodyVerified.flatMap(verified -> verified ? super.writeWith(body) : reject(getDelegate()));
+                        }
+
+                        @Override
+                        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                            return unreadBodyVerified.flatMap(verified -> verified ? super.writeAndFlushWith(body) : reject(getDelegate()));
+                        }
+
+                        @Override
+                        public Mono<Void> setComplete() {
+                            return unreadBodyVerified.flatMap(verified -> verified ? super.setComplete() : reject(getDelegate()));
+                        }
+                    };
+                    return chain.filter(exchange.mutate().request(verifyingRequest).response(verifyingResponse).build())
+                            .then(Mono.defer(() -> exchange.getResponse().isCommitted()
+                                    ? Mono.<Void>empty()
+                                    : unreadBodyVerified.flatMap(verified -> verified ? Mono.<Void>empty() : reject(exchange.getResponse()))));
+                });
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "OAuth");
+        return response.setComplete();
+    }
+
+    private static Flux<DataBuffer> verifyBody(Flux<DataBuffer> body, OAuthVerifier.Result result) {
+        return Flux.defer(() -> {
+            BodyHashOutputStream hash = new BodyHashOutputStream();
+            return body
+                    .doOnNext(buffer -> update(hash, buffer))
+                    .concatWith(Mono.defer(() -> {
+                        OAuthVerifier.Result bodyResult = result.verifyBodyHash(hash.getBodyHash());
+                        return bodyResult.isValid()
+                                ? Mono.<DataBuffer>empty()
+                                : Mono.<DataBuffer>error(new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                                "The request body doesn't match the oauth_body_hash (" + bodyResult + ")"));
+                    }));
+        });
+    }
+
+    private static void update(BodyHashOutputStream hash, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                if (byteBuffer.hasArray()) {
+                    hash.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+                } else {
+                    byte[] bytes = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(bytes);
+                    hash.write(bytes, 0, bytes.length);
+                }
+            }
+        } catch (IOException e) {
+            // Not thrown by BodyHashOutputStream when discarding
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,13 +4,18 @@ import com.google.api.client.http.HttpExecuteInterceptor;
 import com.google.api.client.http.HttpRequest;
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
 import com.mastercard.developer.signers.GoogleApiClientSigner;
+import com.mastercard.developer.signers.SigningKeyHolder;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 /**
  * A Google Client API interceptor for computing and adding an OAuth1 authorization header to HTTP requests.
+ * The request content is serialized only once, see {@link GoogleApiClientSigner}.
  * See also: https://developers.google.com/api-client-library/java/google-http-java-client/reference/1.20.0/com/google/api/client/http/HttpExecuteInterceptor.
  */
 public class HttpExecuteOAuth1Interceptor implements HttpExecuteInterceptor {
@@ -25,6 +30,34 @@ public class HttpExecuteOAuth1Interceptor implements HttpExecuteInterceptor {
         this.signer = new GoogleApiClientSigner(consumerKey, signingKey, signatureMethod);
     }
 
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the interceptor
+     */
+    public HttpExecuteOAuth1Interceptor(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        this.signer = new GoogleApiClientSigner(Charset.defaultCharset(), consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return signer.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return signer.isWarmedUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        signer.setSigningMetrics(signingMetrics);
+    }
+
     public void intercept(HttpRequest request) throws IOException {
         signer.sign(request);
     }
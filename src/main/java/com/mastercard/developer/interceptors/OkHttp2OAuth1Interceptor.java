@@ -2,10 +2,14 @@ package com.mastercard.developer.interceptors;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
 import com.mastercard.developer.signers.OkHttp2Signer;
+import com.mastercard.developer.signers.SigningKeyHolder;
 import com.squareup.okhttp.*;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 
 /**
@@ -23,6 +27,34 @@ public class OkHttp2OAuth1Interceptor implements Interceptor {
         this.signer = new OkHttp2Signer(consumerKey, signingKey, signatureMethod);
     }
 
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the interceptor
+     */
+    public OkHttp2OAuth1Interceptor(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        this.signer = new OkHttp2Signer(StandardCharsets.UTF_8, consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return signer.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return signer.isWarmedUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        signer.setSigningMetrics(signingMetrics);
+    }
+
     @Override
     public Response intercept(Chain chain) throws IOException {
         Request.Builder builder = chain.request().newBuilder();
@@ -2,11 +2,18 @@ package com.mastercard.developer.interceptors;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
 import com.mastercard.developer.signers.OkHttpSigner;
+import com.mastercard.developer.signers.PreSignedHeaderPool;
+import com.mastercard.developer.signers.SigningKeyHolder;
+import com.mastercard.developer.signers.SignerRegistry;
 import okhttp3.*;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An OkHttp3 interceptor for computing and adding an OAuth1 authorization header to HTTP requests.
@@ -14,6 +21,7 @@ import java.security.PrivateKey;
 public class OkHttpOAuth1Interceptor implements Interceptor {
 
     private final OkHttpSigner signer;
+    private final SignerRegistry<OkHttpSigner> registry;
 
     public OkHttpOAuth1Interceptor(String consumerKey, PrivateKey signingKey) {
         this(consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
@@ -21,12 +29,93 @@ public class OkHttpOAuth1Interceptor implements Interceptor {
 
     public OkHttpOAuth1Interceptor(String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
         this.signer = new OkHttpSigner(consumerKey, signingKey, signatureMethod);
+        this.registry = null;
+    }
+
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the interceptor
+     */
+    public OkHttpOAuth1Interceptor(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        this.signer = new OkHttpSigner(StandardCharsets.UTF_8, consumerKey, signingKeyHolder, signatureMethod);
+        this.registry = null;
+    }
+
+    /**
+     * Creates an interceptor serving all the tenants of a registry. The signer of each request is resolved
+     * from its {@link SignerRegistry.TenantTag} tag when present, otherwise from its host and path.
+     */
+    public OkHttpOAuth1Interceptor(SignerRegistry<OkHttpSigner> registry) {
+        this.signer = null;
+        this.registry = registry;
+    }
+
+    /**
+     * With a registry, this also loads and validates the signing key of every tenant.
+     *
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return registry == null ? signer.warmUp() : registry.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return registry == null ? signer.isWarmedUp() : registry.isWarmedUp();
+    }
+
+    /**
+     * With a registry, this applies to the signers of all the tenants.
+     *
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        if (registry == null) {
+            signer.setSigningMetrics(signingMetrics);
+        } else {
+            registry.setSigningMetrics(signingMetrics);
+        }
+    }
+
+    /**
+     * Creates a pool signing the headers of bodiless polling requests ahead of time, and takes the headers of the
+     * requests registered in it from now on. Close the pool to stop its threads.
+     *
+     * @throws IllegalStateException When the interceptor serves the tenants of a registry
+     * @see PreSignedHeaderPool#PreSignedHeaderPool(com.mastercard.developer.signers.AbstractSigner, int, long, TimeUnit)
+     */
+    public PreSignedHeaderPool createPreSignedHeaderPool(int capacity, long maxAge, TimeUnit unit) {
+        if (registry != null) {
+            throw new IllegalStateException("Headers can't be signed ahead of time for the tenants of a registry");
+        }
+        PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, capacity, maxAge, unit);
+        signer.setPreSignedHeaderPool(pool);
+        return pool;
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        Request.Builder builder = chain.request().newBuilder();
-        signer.sign(builder);
+        Request request = chain.request();
+        Request.Builder builder = request.newBuilder();
+        resolveSigner(request).sign(builder);
         return chain.proceed(builder.build());
     }
+
+    /**
+     * @throws IOException When no tenant matches the request or its credentials can't be loaded: OkHttp only expects
+     *                     I/O exceptions from interceptors, and a runtime exception never reaches asynchronous callbacks
+     */
+    private OkHttpSigner resolveSigner(Request request) throws IOException {
+        if (registry == null) {
+            return signer;
+        }
+        SignerRegistry.TenantTag tag = request.tag(SignerRegistry.TenantTag.class);
+        HttpUrl url = request.url();
+        try {
+            return registry.resolve(tag == null ? null : tag.getTenantId(), url.host(), url.encodedPath());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Unable to sign the request: " + e.getMessage(), e);
+        }
+    }
 }
@@ -2,14 +2,19 @@ package com.mastercard.developer.interceptors;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
 import com.mastercard.developer.signers.OpenFeignSigner;
+import com.mastercard.developer.signers.SigningKeyHolder;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 
+import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 /**
  * An OpenFeign request interceptor for computing and adding an OAuth1 authorization header to HTTP requests.
+ * The interceptor can be registered on both Feign and AsyncFeign builders.
  * See also: https://github.com/OpenFeign/feign
  */
 public class OpenFeignOAuth1Interceptor implements RequestInterceptor {
@@ -24,6 +29,34 @@ public class OpenFeignOAuth1Interceptor implements RequestInterceptor {
         this.signer = new OpenFeignSigner(consumerKey, signingKey, baseUri, signatureMethod);
     }
 
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the interceptor
+     */
+    public OpenFeignOAuth1Interceptor(String consumerKey, SigningKeyHolder signingKeyHolder, String baseUri, SignatureMethod signatureMethod) {
+        this.signer = new OpenFeignSigner(Charset.defaultCharset(), consumerKey, signingKeyHolder, baseUri, signatureMethod);
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return signer.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return signer.isWarmedUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        signer.setSigningMetrics(signingMetrics);
+    }
+
     @Override
     public void apply(RequestTemplate requestTemplate) {
         signer.sign(requestTemplate);
@@ -0,0 +1,66 @@
+package com.mastercard.developer.interceptors;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
+import com.mastercard.developer.signers.SpringHttpRequestSigner;
+import com.mastercard.developer.signers.SigningKeyHolder;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.security.PrivateKey;
+
+/**
+ * A Spring RestTemplate and RestClient interceptor for computing and adding an OAuth1 authorization header to HTTP requests.
+ * The body hash is computed out of the buffered body bytes. To avoid buffering, see {@link SpringOAuth1ClientHttpRequestFactory}.
+ */
+public class SpringHttpRequestOAuth1Interceptor implements ClientHttpRequestInterceptor {
+
+    private final SpringHttpRequestSigner signer;
+
+    public SpringHttpRequestOAuth1Interceptor(String consumerKey, PrivateKey signingKey) {
+        this(consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
+    }
+
+    public SpringHttpRequestOAuth1Interceptor(String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
+        this.signer = new SpringHttpRequestSigner(consumerKey, signingKey, signatureMethod);
+    }
+
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the interceptor
+     */
+    public SpringHttpRequestOAuth1Interceptor(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        this.signer = new SpringHttpRequestSigner(consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return signer.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return signer.isWarmedUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        signer.setSigningMetrics(signingMetrics);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        signer.sign(request, body);
+        return execution.execute(request, body);
+    }
+}
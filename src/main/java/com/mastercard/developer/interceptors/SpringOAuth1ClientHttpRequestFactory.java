@@ -0,0 +1,166 @@
+package com.mastercard.developer.interceptors;
+
+import com.mastercard.developer.oauth.BodyHashOutputStream;
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
+import com.mastercard.developer.signers.SigningKeyHolder;
+import com.mastercard.developer.signers.SpringHttpRequestSigner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.PrivateKey;
+import java.util.Map;
+
+/**
+ * A Spring request factory decorator for computing and adding an OAuth1 authorization header to HTTP requests.
+ * Unlike {@link SpringHttpRequestOAuth1Interceptor}, streamed bodies (see {@link StreamingHttpOutputMessage}) are hashed
+ * while being written: repeatable bodies are hashed in a first pass and never buffered, other bodies are buffered once.
+ * Usage: {@code RestClient.builder().requestFactory(new SpringOAuth1ClientHttpRequestFactory(requestFactory, consumerKey, signingKey))}.
+ * Note: registering any {@link org.springframework.http.client.ClientHttpRequestInterceptor} makes Spring buffer the body anyway.
+ */
+public class SpringOAuth1ClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final SpringHttpRequestSigner signer;
+
+    public SpringOAuth1ClientHttpRequestFactory(ClientHttpRequestFactory delegate, String consumerKey, PrivateKey signingKey) {
+        this(delegate, consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
+    }
+
+    public SpringOAuth1ClientHttpRequestFactory(ClientHttpRequestFactory delegate, String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
+        this.delegate = delegate;
+        this.signer = new SpringHttpRequestSigner(consumerKey, signingKey, signatureMethod);
+    }
+
+    /**
+     * @param signingKeyHolder Holder of the signing key, for rotating the key without rebuilding the factory
+     */
+    public SpringOAuth1ClientHttpRequestFactory(ClientHttpRequestFactory delegate, String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        this.delegate = delegate;
+        this.signer = new SpringHttpRequestSigner(consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#warmUp()
+     */
+    public WarmUpReport warmUp() {
+        return signer.warmUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#isWarmedUp()
+     */
+    public boolean isWarmedUp() {
+        return signer.isWarmedUp();
+    }
+
+    /**
+     * @see com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)
+     */
+    public void setSigningMetrics(SigningMetrics signingMetrics) {
+        signer.setSigningMetrics(signingMetrics);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new SigningClientHttpRequest(delegate.createRequest(uri, httpMethod), signer);
+    }
+
+    private static final class SigningClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+        private final SpringHttpRequestSigner signer;
+        private Body streamingBody;
+        private ByteArrayOutputStream bufferedBody;
+        private BodyHashOutputStream bufferedBodyHash;
+
+        SigningClientHttpRequest(ClientHttpRequest request, SpringHttpRequestSigner signer) {
+            this.request = request;
+            this.signer = signer;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            // Headers can't be sent before the whole body has been hashed
+            if (bufferedBodyHash == null) {
+                bufferedBody = new ByteArrayOutputStream(1024);
+                bufferedBodyHash = new BodyHashOutputStream(bufferedBody);
+            }
+            return bufferedBodyHash;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.streamingBody = body;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            if (streamingBody != null && streamingBody.repeatable()) {
+                BodyHashOutputStream hashingStream = new BodyHashOutputStream();
+                streamingBody.writeTo(hashingStream);
+                signer.signWithBodyHash(request, hashingStream.getBodyHash());
+                writeBody(streamingBody);
+            } else {
+                if (streamingBody != null) {
+                    streamingBody.writeTo(getBody());
+                }
+                if (bufferedBodyHash == null) {
+                    signer.sign(request, null);
+                } else {
+                    signer.signWithBodyHash(request, bufferedBodyHash.getBodyHash());
+                    writeBody(new Body() {
+                        @Override
+                        public void writeTo(OutputStream outputStream) throws IOException {
+                            bufferedBody.writeTo(outputStream);
+                        }
+
+                        @Override
+                        public boolean repeatable() {
+                            return true;
+                        }
+                    });
+                }
+            }
+            return request.execute();
+        }
+
+        private void writeBody(Body body) throws IOException {
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(body);
+            } else {
+                body.writeTo(request.getBody());
+            }
+        }
+    }
+}
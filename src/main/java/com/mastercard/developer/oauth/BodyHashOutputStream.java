@@ -0,0 +1,77 @@
+package com.mastercard.developer.oauth;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+/**
+ * An output stream computing the OAuth body hash of the bytes written through it, so that a request body
+ * can be hashed while being serialized instead of being decoded and hashed afterwards.
+ * See also: https://tools.ietf.org/id/draft-eaton-oauth-bodyhash-00.html
+ */
+public class BodyHashOutputStream extends FilterOutputStream {
+
+  private static final OutputStream DISCARD = new OutputStream() {
+    @Override
+    public void write(int b) {
+      // Discard
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      // Discard
+    }
+  };
+
+  private final MessageDigest digest = OAuth.getBodyHashDigest();
+  private long count;
+  private String bodyHash;
+
+  /**
+   * Creates a stream that only hashes, the bytes written are discarded.
+   */
+  public BodyHashOutputStream() {
+    this(DISCARD);
+  }
+
+  /**
+   * Creates a stream that hashes the bytes written and forwards them to the given stream.
+   */
+  public BodyHashOutputStream(OutputStream out) {
+    super(out);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    out.write(b);
+    digest.update((byte) b);
+    count++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    digest.update(b, off, len);
+    count += len;
+  }
+
+  /**
+   * @return The number of bytes written so far
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Completes the hash computation. No more bytes should be written once this method has been called.
+   *
+   * @return Base64 encoded cryptographic hash of the bytes written
+   */
+  public String getBodyHash() {
+    if (bodyHash == null) {
+      bodyHash = Util.b64Encode(digest.digest());
+    }
+    return bodyHash;
+  }
+}
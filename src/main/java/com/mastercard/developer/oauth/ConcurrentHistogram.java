@@ -0,0 +1,118 @@
+package com.mastercard.developer.oauth;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values (nanoseconds, bytes) that threads record into without locking.
+ * <ul>
+ *   <li>Buckets are log-linear: every power of 2 is split into 32 buckets, so that percentiles are reported with a
+ *   relative error under 1/32 (about 3%). Values under 64 are exact.</li>
+ *   <li>Recording is one atomic increment of a bucket counter, plus two striped adders; the whole histogram takes
+ *   about 8 KB.</li>
+ *   <li>Values above {@link #MAX_VALUE} (about 68 seconds in nanoseconds) are recorded as {@link #MAX_VALUE}.</li>
+ * </ul>
+ * Reads are not atomic snapshots: values recorded while reading may or may not be counted.
+ */
+public final class ConcurrentHistogram {
+
+  public static final long MAX_VALUE = (1L << 36) - 1;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * @throws IllegalArgumentException When the value is negative
+   */
+  public void record(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Negative value: " + value);
+    }
+    long clamped = Math.min(value, MAX_VALUE);
+    counts.incrementAndGet(bucketIndex(clamped));
+    sum.add(clamped);
+    max.accumulate(clamped);
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * @return The highest recorded value, 0 when empty
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @return The average of the recorded values, 0 when empty
+   */
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : (double) sum.sum() / count;
+  }
+
+  /**
+   * @param percentile Percentile, between 0 and 100 (for instance 99 for p99)
+   * @return The value under which the given percentage of the recorded values are (rounded up to the end of the
+   * bucket, and never higher than {@link #getMax()}), 0 when empty
+   * @throws IllegalArgumentException When the percentile is out of range
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long[] snapshot = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(bucketLowerBound(i + 1) - 1, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKET_COUNT;
+    return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  @Override
+  public String toString() {
+    return "count=" + getCount() + ", p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ", max=" + getMax();
+  }
+}
@@ -0,0 +1,61 @@
+package com.mastercard.developer.oauth;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A secret key for the HMAC-SHA256 signature method (see {@link OAuth#getHmacKey(String, String)}).
+ * The HMAC key schedule (the inner and outer padded key blocks run through SHA-256) is computed once: every
+ * signature starts from a clone of a {@link Mac} initialized with the key. When the provider's {@link Mac} can't
+ * be cloned, one initialized {@link Mac} per thread is reused instead.
+ */
+public final class HmacSigningKey {
+
+  private final Mac prototype;
+  private final ThreadLocal<Mac> perThreadMacs;
+
+  /**
+   * @throws IllegalArgumentException When the key can't be used with HMAC-SHA256
+   */
+  public HmacSigningKey(SecretKey secretKey) {
+    this.prototype = newMac(secretKey);
+    this.perThreadMacs = isCloneable(prototype) ? null : ThreadLocal.withInitial(() -> newMac(secretKey));
+  }
+
+  /**
+   * @return The HMAC-SHA256 of the data
+   */
+  byte[] sign(byte[] data) {
+    if (perThreadMacs != null) {
+      return perThreadMacs.get().doFinal(data);
+    }
+    try {
+      return ((Mac) prototype.clone()).doFinal(data);
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Mac newMac(SecretKey secretKey) {
+    try {
+      Mac mac = Mac.getInstance(SignatureMethod.HMAC_SHA256.getJcaName());
+      mac.init(secretKey);
+      return mac;
+    } catch (InvalidKeyException e) {
+      throw new IllegalArgumentException("Unable to use the provided key with method " + SignatureMethod.HMAC_SHA256.getOauthName(), e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Unable to obtain " + SignatureMethod.HMAC_SHA256.getJcaName() + " MAC", e);
+    }
+  }
+
+  private static boolean isCloneable(Mac mac) {
+    try {
+      mac.clone();
+      return true;
+    } catch (CloneNotSupportedException e) {
+      return false;
+    }
+  }
+}
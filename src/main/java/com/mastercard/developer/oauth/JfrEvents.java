@@ -0,0 +1,128 @@
+package com.mastercard.developer.oauth;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR events of the library. Only loaded by {@link SigningEvents} once the jdk.jfr module is known to be present.
+ */
+final class JfrEvents {
+
+  private static final EventType SIGN = EventType.getEventType(SignEvent.class);
+  private static final EventType SIGN_REQUEST = EventType.getEventType(SignRequestEvent.class);
+  private static final EventType BODY_HASH = EventType.getEventType(BodyHashEvent.class);
+
+  private JfrEvents() {
+  }
+
+  static Object beginSign() {
+    return SIGN.isEnabled() ? begin(new SignEvent()) : null;
+  }
+
+  static void commitSign(Object handle, String httpMethod, SignatureMethod signatureMethod, String consumerKey) {
+    SignEvent event = (SignEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.httpMethod = httpMethod;
+      event.signatureMethod = signatureMethod.getOauthName();
+      event.consumerKey = consumerKey;
+      event.commit();
+    }
+  }
+
+  static boolean isSignRequestEnabled() {
+    return SIGN_REQUEST.isEnabled();
+  }
+
+  static Object beginSignRequest() {
+    return SIGN_REQUEST.isEnabled() ? begin(new SignRequestEvent()) : null;
+  }
+
+  static void commitSignRequest(Object handle, String signer, SigningSample sample) {
+    SignRequestEvent event = (SignRequestEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.signer = signer;
+      event.httpMethod = sample.getMethod();
+      event.signatureMethod = sample.getSignatureMethod() == null ? null : sample.getSignatureMethod().getOauthName();
+      event.bodyBytes = sample.getBodySize();
+      event.failed = sample.getOutcome() == SigningSample.Outcome.FAILED;
+      event.commit();
+    }
+  }
+
+  static Object beginBodyHash() {
+    return BODY_HASH.isEnabled() ? begin(new BodyHashEvent()) : null;
+  }
+
+  static void commitBodyHash(Object handle, long bodyBytes, String algorithm) {
+    BodyHashEvent event = (BodyHashEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.bodyBytes = bodyBytes;
+      event.algorithm = algorithm;
+      event.commit();
+    }
+  }
+
+  private static Event begin(Event event) {
+    event.begin();
+    return event;
+  }
+
+  @Name("oauth.Sign")
+  @Label("OAuth Signature")
+  @Description("Creation of an OAuth Authorization header: signature base string, signature and header formatting")
+  @Category({ "Mastercard", "OAuth1 Signer" })
+  @Enabled(false)
+  @StackTrace(false)
+  static final class SignEvent extends Event {
+    @Label("HTTP Method")
+    String httpMethod;
+    @Label("Signature Method")
+    String signatureMethod;
+    @Label("Consumer Key")
+    String consumerKey;
+  }
+
+  @Name("oauth.SignRequest")
+  @Label("OAuth Request Signing")
+  @Description("Signing of an HTTP client request by a signer or an interceptor, from body capture to header")
+  @Category({ "Mastercard", "OAuth1 Signer" })
+  @Enabled(false)
+  @StackTrace(false)
+  static final class SignRequestEvent extends Event {
+    @Label("Signer")
+    String signer;
+    @Label("HTTP Method")
+    String httpMethod;
+    @Label("Signature Method")
+    String signatureMethod;
+    @Label("Body Size")
+    @Description("-1 when the signer only got the body hash")
+    @DataAmount
+    long bodyBytes;
+    @Label("Failed")
+    boolean failed;
+  }
+
+  @Name("oauth.BodyHash")
+  @Label("OAuth Body Hash")
+  @Category({ "Mastercard", "OAuth1 Signer" })
+  @Enabled(false)
+  @StackTrace(false)
+  static final class BodyHashEvent extends Event {
+    @Label("Body Size")
+    @DataAmount
+    long bodyBytes;
+    @Label("Algorithm")
+    String algorithm;
+  }
+}
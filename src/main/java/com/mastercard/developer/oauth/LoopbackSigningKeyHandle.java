@@ -0,0 +1,225 @@
+package com.mastercard.developer.oauth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SigningKeyHandle} sending the signatures to a signing process over one loopback TCP connection.
+ * Signatures are batched without waiting: a writer thread sends all the signatures queued since its previous write
+ * (up to the maximum batch size) in one batch, while a reader thread completes the signatures as the answers come.
+ * The more concurrent requests, the larger the batches. With a maximum batch size of 1, each signature is a round trip
+ * of its own.
+ * <p>
+ * Protocol (big-endian, see {@link DataInputStream}): the client opens with one byte, 0 when it sends signature
+ * base strings or 1 when it sends SHA-256 digests, and the server answers with the OAuth name of its signature method
+ * (modified UTF-8). Then the client sends batches, each an int count followed by count (long id, int length, bytes)
+ * entries, and the server answers each batch with an int count followed by count (long id, boolean signed, int
+ * length, bytes) entries, the bytes being the signature or a UTF-8 error message.
+ * The connection isn't authenticated: the signing process must only listen on a loopback address.
+ */
+public final class LoopbackSigningKeyHandle implements SigningKeyHandle, Closeable {
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+  public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+  static final int SIGNATURE_BASE_STRING_INPUT = 0;
+  static final int SHA256_DIGEST_INPUT = 1;
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final SignatureMethod signatureMethod;
+  private final Input input;
+  private final int maxBatchSize;
+  private final long timeoutMillis;
+  private final LinkedBlockingQueue<PendingSignature> queue = new LinkedBlockingQueue<>();
+  private final ConcurrentHashMap<Long, PendingSignature> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder signatures = new LongAdder();
+  private final Thread writer;
+  private volatile IOException failure;
+
+  public LoopbackSigningKeyHandle(InetSocketAddress address) throws IOException {
+    this(address, Input.SIGNATURE_BASE_STRING, DEFAULT_MAX_BATCH_SIZE, DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Connects to a signing process, which gives the signature method.
+   *
+   * @param input Whether to send the signature base strings or their digests
+   * @param maxBatchSize Maximum number of signatures per batch
+   * @param timeout Time after which a signature not received fails
+   */
+  public LoopbackSigningKeyHandle(InetSocketAddress address, Input input, int maxBatchSize, long timeout, TimeUnit unit) throws IOException {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Maximum batch size must be positive, was " + maxBatchSize);
+    }
+    this.input = input;
+    this.maxBatchSize = maxBatchSize;
+    this.timeoutMillis = unit.toMillis(timeout);
+    this.socket = new Socket();
+    try {
+      socket.setTcpNoDelay(true);
+      socket.connect(address, (int) Math.min(timeoutMillis, Integer.MAX_VALUE));
+      this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      out.writeByte(input == Input.SHA256_DIGEST ? SHA256_DIGEST_INPUT : SIGNATURE_BASE_STRING_INPUT);
+      out.flush();
+      this.signatureMethod = SignatureMethod.fromOauthName(in.readUTF());
+    } catch (IOException | RuntimeException e) {
+      socket.close();
+      throw e;
+    }
+    this.writer = startDaemon(this::writeBatches, "oauth1-loopback-signer-writer");
+    startDaemon(this::readResults, "oauth1-loopback-signer-reader");
+  }
+
+  @Override
+  public SignatureMethod getSignatureMethod() {
+    return signatureMethod;
+  }
+
+  @Override
+  public Input getInput() {
+    return input;
+  }
+
+  @Override
+  public CompletionStage<byte[]> sign(byte[] data) {
+    PendingSignature pending = new PendingSignature(nextId.getAndIncrement(), data);
+    IOException connectionFailure = failure;
+    if (connectionFailure != null) {
+      pending.completeExceptionally(new IllegalStateException("The connection to the signer is closed", connectionFailure));
+      return pending;
+    }
+    inFlight.put(pending.id, pending);
+    pending.whenComplete((signature, e) -> inFlight.remove(pending.id));
+    queue.add(pending);
+    if (failure != null) {
+      // Closed meanwhile, the writer may be gone
+      fail(failure);
+    }
+    return pending.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return Number of batches sent
+   */
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+  /**
+   * @return Number of signatures sent
+   */
+  public long getSignatureCount() {
+    return signatures.sum();
+  }
+
+  /**
+   * Closes the connection. Pending signatures fail.
+   */
+  @Override
+  public void close() throws IOException {
+    fail(new IOException("Closed"));
+    writer.interrupt();
+    socket.close();
+  }
+
+  private void writeBatches() {
+    List<PendingSignature> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (failure == null) {
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatchSize - 1);
+        out.writeInt(batch.size());
+        for (PendingSignature pending : batch) {
+          out.writeLong(pending.id);
+          out.writeInt(pending.data.length);
+          out.write(pending.data);
+        }
+        out.flush();
+        batches.increment();
+        signatures.add(batch.size());
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  private void readResults() {
+    try {
+      while (true) {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+          long id = in.readLong();
+          boolean signed = in.readBoolean();
+          byte[] result = new byte[in.readInt()];
+          in.readFully(result);
+          PendingSignature pending = inFlight.get(id);
+          if (pending == null) {
+            continue;
+          }
+          if (signed) {
+            pending.complete(result);
+          } else {
+            pending.completeExceptionally(new IllegalStateException("The signer failed: " + new String(result, StandardCharsets.UTF_8)));
+          }
+        }
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  private void fail(IOException e) {
+    if (failure == null) {
+      failure = e;
+    }
+    IllegalStateException closed = new IllegalStateException("The connection to the signer is closed", failure);
+    PendingSignature pending;
+    while ((pending = queue.poll()) != null) {
+      pending.completeExceptionally(closed);
+    }
+    for (PendingSignature inFlightSignature : inFlight.values()) {
+      inFlightSignature.completeExceptionally(closed);
+    }
+  }
+
+  private static Thread startDaemon(Runnable task, String name) {
+    Thread thread = new Thread(task, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static final class PendingSignature extends CompletableFuture<byte[]> {
+    final long id;
+    final byte[] data;
+
+    PendingSignature(long id, byte[] data) {
+      this.id = id;
+      this.data = data;
+    }
+  }
+}
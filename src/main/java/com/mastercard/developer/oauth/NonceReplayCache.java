@@ -0,0 +1,232 @@
+package com.mastercard.developer.oauth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Remembers the (consumer key, nonce) pairs seen within the accepted clock window, for rejecting replayed requests.
+ * <ul>
+ *   <li>Entries are kept in a ring of time buckets selected by request timestamp: when time moves past a bucket,
+ *   the whole bucket is dropped at once (no per-entry expiry).</li>
+ *   <li>Each bucket is split into independently locked stripes, so that concurrent inserts rarely contend.</li>
+ *   <li>Entries are two longs in open-addressing tables. The 16 alphanumeric characters of the nonces created by
+ *   {@link OAuth} are packed into 96 bits, other nonces are stored as a 128 bit hash.</li>
+ * </ul>
+ * Memory is bounded by the request rate times the window: requests with a timestamp outside of the window are
+ * rejected, so that they can't make the ring rotate early.
+ * This class is thread-safe.
+ */
+public final class NonceReplayCache {
+
+  public static final int DEFAULT_BUCKET_COUNT = 8;
+  public static final int DEFAULT_STRIPE_COUNT = 64;
+
+  private static final int NONCE_LENGTH = 16;
+  private static final int INITIAL_STRIPE_CAPACITY = 64;
+  private static final long OCCUPIED = 1L << 62;
+  private static final long HASHED = 1L << 63;
+  private static final long CONSUMER_KEY_HASH_MASK = (1L << 26) - 1;
+
+  private final long windowSeconds;
+  private final long bucketSeconds;
+  private final int stripeCount;
+  private final Clock clock;
+  private final AtomicReferenceArray<Bucket> buckets;
+
+  /**
+   * @param window Maximum difference between the timestamp of a request and the current time, usually the maximum clock skew of the verifier
+   */
+  public NonceReplayCache(long window, TimeUnit unit) {
+    this(window, unit, DEFAULT_BUCKET_COUNT, DEFAULT_STRIPE_COUNT, Clock.systemUTC());
+  }
+
+  /**
+   * @param window Maximum difference between the timestamp of a request and the current time, usually the maximum clock skew of the verifier
+   * @param bucketCount Number of time buckets (at least 2): the more buckets, the sooner entries get dropped after leaving the window
+   * @param stripeCount Number of independently locked stripes per bucket (a power of 2)
+   * @param clock Source of the current time
+   */
+  public NonceReplayCache(long window, TimeUnit unit, int bucketCount, int stripeCount, Clock clock) {
+    if (bucketCount < 2) {
+      throw new IllegalArgumentException("At least 2 buckets are needed");
+    }
+    if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1) {
+      throw new IllegalArgumentException("The stripe count must be a power of 2");
+    }
+    this.windowSeconds = unit.toSeconds(window);
+    // Buckets must span both sides of the window plus one bucket, so that a bucket is only reused once all its
+    // timestamps are out of the window
+    this.bucketSeconds = Math.max(1, (2 * windowSeconds + bucketCount - 2) / (bucketCount - 1));
+    this.stripeCount = stripeCount;
+    this.clock = clock;
+    this.buckets = new AtomicReferenceArray<>(bucketCount);
+  }
+
+  /**
+   * Records a nonce.
+   *
+   * @param timestamp Timestamp of the request (seconds since the epoch)
+   * @return True when the nonce wasn't seen for the consumer key within the window; false when the request is a
+   * replay, or when its timestamp is outside of the window
+   */
+  public boolean tryRecord(String consumerKey, String nonce, long timestamp) {
+    long now = clock.millis() / 1000L;
+    if (timestamp < now - windowSeconds || timestamp > now + windowSeconds) {
+      return false;
+    }
+    long epoch = timestamp / bucketSeconds;
+    int bucketIndex = (int) (epoch % buckets.length());
+    Bucket bucket = buckets.get(bucketIndex);
+    while (bucket == null || bucket.epoch < epoch) {
+      Bucket newBucket = new Bucket(epoch, stripeCount);
+      if (buckets.compareAndSet(bucketIndex, bucket, newBucket)) {
+        bucket = newBucket;
+      } else {
+        bucket = buckets.get(bucketIndex);
+      }
+    }
+    if (bucket.epoch > epoch) {
+      // Only possible when the clock moved while recording
+      return false;
+    }
+
+    long key1;
+    long key2;
+    int consumerKeyHash = consumerKey.hashCode();
+    if (isOAuthNonce(nonce)) {
+      key1 = 0;
+      for (int i = 0; i < 10; i++) {
+        key1 = key1 << 6 | toSixBits(nonce.charAt(i));
+      }
+      key2 = 0;
+      for (int i = 10; i < NONCE_LENGTH; i++) {
+        key2 = key2 << 6 | toSixBits(nonce.charAt(i));
+      }
+      key2 |= (consumerKeyHash & CONSUMER_KEY_HASH_MASK) << 36 | OCCUPIED;
+    } else {
+      byte[] bytes = nonce.getBytes(StandardCharsets.UTF_8);
+      key1 = hash(bytes, 0x9E3779B97F4A7C15L ^ consumerKeyHash);
+      key2 = hash(bytes, 0xC2B2AE3D27D4EB4FL + consumerKeyHash) | OCCUPIED | HASHED;
+    }
+    long mixed = mix(key1 ^ Long.rotateLeft(key2, 32));
+    return bucket.stripes[(int) (mixed >>> 40) & (stripeCount - 1)].add(key1, key2, mixed);
+  }
+
+  /**
+   * @return The number of recorded nonces, including the ones that are out of the window but not dropped yet
+   */
+  public long size() {
+    long size = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket != null) {
+        for (Stripe stripe : bucket.stripes) {
+          size += stripe.size();
+        }
+      }
+    }
+    return size;
+  }
+
+  private static boolean isOAuthNonce(String nonce) {
+    if (nonce.length() != NONCE_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < NONCE_LENGTH; i++) {
+      if (toSixBits(nonce.charAt(i)) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int toSixBits(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A' + 10;
+    }
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a' + 36;
+    }
+    return -1;
+  }
+
+  private static long hash(byte[] bytes, long seed) {
+    long h = seed;
+    for (byte b : bytes) {
+      h = mix(h ^ b);
+    }
+    return mix(h ^ bytes.length);
+  }
+
+  /** The finalizer of SplitMix64. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static final class Bucket {
+    final long epoch;
+    final Stripe[] stripes;
+
+    Bucket(long epoch, int stripeCount) {
+      this.epoch = epoch;
+      this.stripes = new Stripe[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+        stripes[i] = new Stripe();
+      }
+    }
+  }
+
+  /**
+   * An open-addressing set of (key1, key2) pairs, with linear probing. Empty slots have key2 = 0.
+   */
+  private static final class Stripe {
+    private long[] table = new long[2 * INITIAL_STRIPE_CAPACITY];
+    private int size;
+
+    synchronized boolean add(long key1, long key2, long hash) {
+      int mask = table.length / 2 - 1;
+      int slot = (int) hash & mask;
+      while (table[2 * slot + 1] != 0) {
+        if (table[2 * slot] == key1 && table[2 * slot + 1] == key2) {
+          return false;
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[2 * slot] = key1;
+      table[2 * slot + 1] = key2;
+      if (++size > (mask + 1) / 2) {
+        resize();
+      }
+      return true;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    private void resize() {
+      long[] oldTable = table;
+      table = new long[oldTable.length * 2];
+      int mask = table.length / 2 - 1;
+      for (int i = 0; i < oldTable.length; i += 2) {
+        long key2 = oldTable[i + 1];
+        if (key2 != 0) {
+          long key1 = oldTable[i];
+          int slot = (int) mix(key1 ^ Long.rotateLeft(key2, 32)) & mask;
+          while (table[2 * slot + 1] != 0) {
+            slot = (slot + 1) & mask;
+          }
+          table[2 * slot] = key1;
+          table[2 * slot + 1] = key2;
+        }
+      }
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package com.mastercard.developer.oauth;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -11,6 +15,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +38,13 @@ public class OAuth {
   private static final String BODY_HASH_ALGORITHM = "SHA-256";
   private static final int NONCE_LENGTH = 16;
   private static final String ALPHA_NUMERIC_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+  /** Seeded once per thread instead of once per nonce, and per thread so that signing threads don't contend on it. */
+  private static final ThreadLocal<SecureRandom> NONCE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+  /** Keeps the warm-up results alive, so that the JIT doesn't optimize the warm-up code away. */
+  private static volatile int warmUpSink;
+
+  private static volatile SigningJournal signingJournal;
 
   /**
    * Creates a Mastercard API compliant OAuth Authorization header, using RSA-SHA256 as the signature method
@@ -60,30 +75,356 @@ public class OAuth {
    * @return Valid OAuth1.0a signature with a body hash when payload is present
    */
   public static String getAuthorizationHeader(URI uri, String method, String payload, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod) {
+    return getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signMethod, null);
+  }
+
+  /**
+   * Creates a Mastercard API compliant OAuth Authorization header, signing with a specific JCA provider
+   *
+   * @param uri Target URI for this request
+   * @param method HTTP method of the request
+   * @param payload Payload (nullable)
+   * @param charset Charset encoding of the request
+   * @param consumerKey Consumer key set up in a Mastercard Developer Portal project
+   * @param signingKey The private key that will be used for signing the request that corresponds to the consumerKey
+   * @param signMethod The signature method to use when signing the request
+   * @param provider The JCA provider to sign with, or null for the first provider supporting the signature method
+   * @return Valid OAuth1.0a signature with a body hash when payload is present
+   */
+  public static String getAuthorizationHeader(URI uri, String method, String payload, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod, Provider provider) {
     TreeMap<String, List<String>> queryParams = extractQueryParams(uri, charset);
 
+    // Normalized URI without query params and fragment
+    String baseUri = getBaseUriString(uri);
+
+    String bodyHash = getBodyHash(payload, charset, BODY_HASH_ALGORITHM);
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, signMethod, provider);
+  }
+
+  /**
+   * Creates a Mastercard API compliant OAuth Authorization header out of already normalized request components.
+   * This is meant for callers that know the request URL parts and body bytes upfront and want to skip {@link URI} parsing.
+   *
+   * @param baseUri Base URI that conforms with https://tools.ietf.org/html/rfc5849#section-3.4.1.2
+   * @param queryParams Sorted map of query parameter key/value pairs, see {@link #extractQueryParams(String, Charset)}
+   * @param method HTTP method of the request
+   * @param bodyHash Base64 encoded hash of the request payload, see {@link #getBodyHash(byte[])}
+   * @param charset Charset encoding of the request
+   * @param consumerKey Consumer key set up in a Mastercard Developer Portal project
+   * @param signingKey The private key that will be used for signing the request that corresponds to the consumerKey
+   * @param signMethod The signature method to use when signing the request
+   * @return Valid OAuth1.0a signature with a body hash
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod) {
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, signMethod, null);
+  }
+
+  /**
+   * Creates a Mastercard API compliant OAuth Authorization header out of already normalized request components,
+   * signing with a specific JCA provider.
+   *
+   * @param provider The JCA provider to sign with, or null for the first provider supporting the signature method
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, PrivateKey, SignatureMethod)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod, Provider provider) {
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, signMethod, provider, null);
+  }
+
+  /**
+   * Creates a Mastercard API compliant OAuth Authorization header out of already normalized request components,
+   * timing the signing phases.
+   *
+   * @param provider The JCA provider to sign with, or null for the first provider supporting the signature method
+   * @param sample Sample the signature base string, signature and header formatting phases are added to (nullable)
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, PrivateKey, SignatureMethod)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod, Provider provider, SigningSample sample) {
+    checkPrivateKeyMethod(signMethod);
+    Object event = SigningEvents.beginSign();
+    String header = sign(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, signMethod, provider, sample, signingJournal);
+    SigningEvents.commitSign(event, method, signMethod, consumerKey);
+    return header;
+  }
+
+  /**
+   * Signs without emitting an oauth.Sign event, recording to the given journal (nullable).
+   */
+  private static String sign(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signMethod, Provider provider, SigningSample sample, SigningJournal journal) {
+    if (sample != null) {
+      sample.setRequest(method, baseUri);
+    }
+    HashMap<String, String> oauthParams = getOauthParams(consumerKey, bodyHash, signMethod);
+
+    // Combine query and oauth_ parameters into lexicographically sorted string
+    String paramString = toOauthParamString(queryParams, oauthParams);
+
+    // Signature base string
+    String sbs = getSignatureBaseString(method, baseUri, paramString, charset);
+    endPhase(sample, SigningSample.Phase.SIGNATURE_BASE_STRING);
+
+    // Signature
+    String signature = signSignatureBaseString(sbs, signingKey, charset, signMethod, provider);
+    endPhase(sample, SigningSample.Phase.SIGNATURE);
+
+    String header = toAuthorizationHeader(oauthParams, signature, method, sbs, charset, journal);
+    endPhase(sample, SigningSample.Phase.HEADER_FORMATTING);
+    return header;
+  }
+
+  /**
+   * Creates an OAuth Authorization header signed with the HMAC-SHA256 signature method, out of already
+   * normalized request components.
+   *
+   * @param signingKey The secret shared with the service provider
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, PrivateKey, SignatureMethod)
+   * @see #getHmacKey(String, String)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, HmacSigningKey signingKey) {
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, null);
+  }
+
+  /**
+   * Creates an OAuth Authorization header signed with the HMAC-SHA256 signature method, timing the signing phases.
+   *
+   * @param sample Sample the signature base string, signature and header formatting phases are added to (nullable)
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, HmacSigningKey)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, HmacSigningKey signingKey, SigningSample sample) {
+    Object event = SigningEvents.beginSign();
+    String header = sign(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, sample, signingJournal);
+    SigningEvents.commitSign(event, method, SignatureMethod.HMAC_SHA256, consumerKey);
+    return header;
+  }
+
+  private static String sign(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, HmacSigningKey signingKey, SigningSample sample, SigningJournal journal) {
+    if (sample != null) {
+      sample.setRequest(method, baseUri);
+    }
+    HashMap<String, String> oauthParams = getOauthParams(consumerKey, bodyHash, SignatureMethod.HMAC_SHA256);
+    String paramString = toOauthParamString(queryParams, oauthParams);
+    String sbs = getSignatureBaseString(method, baseUri, paramString, charset);
+    endPhase(sample, SigningSample.Phase.SIGNATURE_BASE_STRING);
+    String signature = Util.b64Encode(signingKey.sign(sbs.getBytes(charset)));
+    endPhase(sample, SigningSample.Phase.SIGNATURE);
+    String header = toAuthorizationHeader(oauthParams, signature, method, sbs, charset, journal);
+    endPhase(sample, SigningSample.Phase.HEADER_FORMATTING);
+    return header;
+  }
+
+  /**
+   * Creates an OAuth Authorization header signed by a key held outside of the application, out of already
+   * normalized request components. Blocks until the signature is received.
+   *
+   * @param signingKey Handle to the signing key, which also gives the signature method
+   * @throws IllegalStateException When the handle failed to sign, or the thread was interrupted while waiting
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, PrivateKey, SignatureMethod)
+   * @see #getAuthorizationHeaderAsync(String, SortedMap, String, String, Charset, String, SigningKeyHandle)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, SigningKeyHandle signingKey) {
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, null);
+  }
+
+  /**
+   * Creates an OAuth Authorization header signed by a key held outside of the application, timing the signing
+   * phases. The signature phase includes the round trip to the signer.
+   *
+   * @param sample Sample the signature base string, signature and header formatting phases are added to (nullable)
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, SigningKeyHandle)
+   */
+  public static String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, SigningKeyHandle signingKey, SigningSample sample) {
+    Object event = SigningEvents.beginSign();
+    String header = sign(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKey, sample, signingJournal);
+    SigningEvents.commitSign(event, method, signingKey.getSignatureMethod(), consumerKey);
+    return header;
+  }
+
+  private static String sign(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, SigningKeyHandle signingKey, SigningSample sample, SigningJournal journal) {
+    if (sample != null) {
+      sample.setRequest(method, baseUri);
+    }
+    SignatureMethod signMethod = signingKey.getSignatureMethod();
+    HashMap<String, String> oauthParams = getOauthParams(consumerKey, bodyHash, signMethod);
+    String sbs = getSignatureBaseString(method, baseUri, toOauthParamString(queryParams, oauthParams), charset);
+    endPhase(sample, SigningSample.Phase.SIGNATURE_BASE_STRING);
+    CompletableFuture<byte[]> signatureBytes = signingKey.sign(toSigningInput(signingKey, sbs, charset)).toCompletableFuture();
+    String signature;
+    try {
+      signature = Util.b64Encode(signatureBytes.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a signature with method " + signMethod.getOauthName(), e);
+    } catch (ExecutionException e) {
+      throw signingFailure(signMethod, e.getCause());
+    }
+    endPhase(sample, SigningSample.Phase.SIGNATURE);
+    String header = toAuthorizationHeader(oauthParams, signature, method, sbs, charset, journal);
+    endPhase(sample, SigningSample.Phase.HEADER_FORMATTING);
+    return header;
+  }
+
+  /**
+   * Creates an OAuth Authorization header signed by a key held outside of the application, without blocking: for
+   * reactive clients, or for letting the handle batch the signatures of many requests.
+   *
+   * @return A future completed with the header, or exceptionally with an {@link IllegalStateException} when the handle failed to sign
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset, String, SigningKeyHandle)
+   */
+  public static CompletableFuture<String> getAuthorizationHeaderAsync(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, String consumerKey, SigningKeyHandle signingKey) {
+    SignatureMethod signMethod = signingKey.getSignatureMethod();
+    HashMap<String, String> oauthParams = getOauthParams(consumerKey, bodyHash, signMethod);
+    String sbs = getSignatureBaseString(method, baseUri, toOauthParamString(queryParams, oauthParams), charset);
+    return signingKey.sign(toSigningInput(signingKey, sbs, charset)).toCompletableFuture().handle((signatureBytes, failure) -> {
+      if (failure != null) {
+        throw signingFailure(signMethod, failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+      }
+      return toAuthorizationHeader(oauthParams, Util.b64Encode(signatureBytes), method, sbs, charset, signingJournal);
+    });
+  }
+
+  private static byte[] toSigningInput(SigningKeyHandle signingKey, String sbs, Charset charset) {
+    byte[] sbsBytes = sbs.getBytes(charset);
+    if (signingKey.getInput() == SigningKeyHandle.Input.SIGNATURE_BASE_STRING) {
+      return sbsBytes;
+    }
+    SignatureMethod signMethod = signingKey.getSignatureMethod();
+    if (signMethod != SignatureMethod.RSA_SHA256 && signMethod != SignatureMethod.ECDSA_SHA256) {
+      throw new IllegalArgumentException("Digest signing isn't supported with method " + signMethod.getOauthName());
+    }
+    return getBodyHashDigest().digest(sbsBytes);
+  }
+
+  private static IllegalStateException signingFailure(SignatureMethod signMethod, Throwable cause) {
+    if (cause instanceof IllegalStateException) {
+      return (IllegalStateException) cause;
+    }
+    return new IllegalStateException("Unable to sign with method " + signMethod.getOauthName() + " using the provided key handle", cause);
+  }
+
+  /**
+   * @param journal Journal to record the header to, null for none
+   */
+  private static String toAuthorizationHeader(HashMap<String, String> oauthParams, String signature, String method, String sbs, Charset charset, SigningJournal journal) {
+    oauthParams.put("oauth_signature", Util.percentEncode(signature, charset));
+    String header = getAuthorizationString(oauthParams);
+    if (journal != null) {
+      journal.record(oauthParams, method, sbs, header);
+    }
+    return header;
+  }
+
+  /**
+   * Keeps the signature base string, body hash, nonce and timestamp of the headers created from now on in a
+   * journal, for looking up what was signed when a request is rejected. Journaling is off by default.
+   *
+   * @param journal The journal to record to, or null to stop journaling
+   */
+  public static void setSigningJournal(SigningJournal journal) {
+    signingJournal = journal;
+  }
+
+  /**
+   * @return The journal headers are recorded to, null when journaling is off
+   */
+  public static SigningJournal getSigningJournal() {
+    return signingJournal;
+  }
+
+  private static void endPhase(SigningSample sample, SigningSample.Phase phase) {
+    if (sample != null) {
+      sample.endPhase(phase);
+    }
+  }
+
+  /**
+   * Forms the HMAC-SHA256 key as per https://tools.ietf.org/html/rfc5849#section-3.4.2: the percent-encoded
+   * consumer secret and token secret, separated by "&amp;".
+   *
+   * @param consumerSecret Secret shared with the service provider for the consumer key
+   * @param tokenSecret Token secret, null or empty for requests without token (which is the case of the requests signed by this library)
+   */
+  public static SecretKey getHmacKey(String consumerSecret, String tokenSecret) {
+    String key = Util.percentEncode(consumerSecret, StandardCharsets.UTF_8) + "&"
+        + (tokenSecret == null ? "" : Util.percentEncode(tokenSecret, StandardCharsets.UTF_8));
+    return new SecretKeySpec(key.getBytes(StandardCharsets.US_ASCII), SignatureMethod.HMAC_SHA256.getJcaName());
+  }
+
+  private static HashMap<String, String> getOauthParams(String consumerKey, String bodyHash, SignatureMethod signMethod) {
     HashMap<String, String> oauthParams = new HashMap<>();
     oauthParams.put("oauth_consumer_key", consumerKey);
     oauthParams.put("oauth_nonce", getNonce());
     oauthParams.put("oauth_signature_method", signMethod.getOauthName());
     oauthParams.put("oauth_timestamp", getTimestamp());
     oauthParams.put("oauth_version", "1.0");
-    oauthParams.put("oauth_body_hash", getBodyHash(payload, charset, BODY_HASH_ALGORITHM));
+    oauthParams.put("oauth_body_hash", bodyHash);
+    return oauthParams;
+  }
 
-    // Combine query and oauth_ parameters into lexicographically sorted string
-    String paramString = toOauthParamString(queryParams, oauthParams);
+  /**
+   * Runs synthetic requests through the signing code, so that the first real requests don't pay for JCA provider
+   * lookup, the seeding of the calling thread's nonce {@link SecureRandom}, {@link Signature} initialization and the
+   * JIT compilation of the hot methods.
+   * The signing key is only used for a few full signatures: canonicalization (signature base string, body hash,
+   * nonce) is what needs many iterations to get compiled, while RSA is already mostly native code.
+   * Synthetic requests aren't recorded to the {@link SigningJournal} nor reported as JFR events.
+   *
+   * @param charset Charset encoding of the requests
+   * @param signingKey The private key to warm up
+   * @param signMethod The signature method to warm up
+   * @param canonicalizations Number of requests to canonicalize without signing them
+   * @param signatures Number of requests to fully sign
+   * @return What was done and how long it took
+   */
+  public static WarmUpReport warmUp(Charset charset, PrivateKey signingKey, SignatureMethod signMethod, int canonicalizations, int signatures) {
+    return warmUp(charset, signingKey, signMethod, null, canonicalizations, signatures);
+  }
 
-    // Normalized URI without query params and fragment
-    String baseUri = getBaseUriString(uri);
+  /**
+   * @param provider The JCA provider to warm up, or null for the first provider supporting the signature method
+   * @see #warmUp(Charset, PrivateKey, SignatureMethod, int, int)
+   */
+  public static WarmUpReport warmUp(Charset charset, PrivateKey signingKey, SignatureMethod signMethod, Provider provider, int canonicalizations, int signatures) {
+    checkPrivateKeyMethod(signMethod);
+    return warmUp(charset, signMethod, canonicalizations, signatures,
+        uri -> sign(getBaseUriString(uri), extractQueryParams(uri, charset), "POST", hashBody("{}".getBytes(charset), BODY_HASH_ALGORITHM), charset, "warm-up", signingKey, signMethod, provider, null, null));
+  }
 
-    // Signature base string
-    String sbs = getSignatureBaseString(method, baseUri, paramString, charset);
+  /**
+   * @param signingKey The HMAC-SHA256 key to warm up
+   * @see #warmUp(Charset, PrivateKey, SignatureMethod, int, int)
+   */
+  public static WarmUpReport warmUp(Charset charset, HmacSigningKey signingKey, int canonicalizations, int signatures) {
+    return warmUp(charset, SignatureMethod.HMAC_SHA256, canonicalizations, signatures,
+        uri -> sign(getBaseUriString(uri), extractQueryParams(uri, charset), "POST", hashBody("{}".getBytes(charset), BODY_HASH_ALGORITHM), charset, "warm-up", signingKey, null, null));
+  }
 
-    // Signature
-    String signature = signSignatureBaseString(sbs, signingKey, charset, signMethod);
-    oauthParams.put("oauth_signature", Util.percentEncode(signature, charset));
+  /**
+   * @param signingKey Handle to the signing key to warm up, for instance to open its connections
+   * @see #warmUp(Charset, PrivateKey, SignatureMethod, int, int)
+   */
+  public static WarmUpReport warmUp(Charset charset, SigningKeyHandle signingKey, int canonicalizations, int signatures) {
+    return warmUp(charset, signingKey.getSignatureMethod(), canonicalizations, signatures,
+        uri -> sign(getBaseUriString(uri), extractQueryParams(uri, charset), "POST", hashBody("{}".getBytes(charset), BODY_HASH_ALGORITHM), charset, "warm-up", signingKey, null, null));
+  }
 
-    return getAuthorizationString(oauthParams);
+  private static WarmUpReport warmUp(Charset charset, SignatureMethod signMethod, int canonicalizations, int signatures, Function<URI, String> signer) {
+    long start = System.nanoTime();
+    URI uri = URI.create("https://api.mastercard.com/warm-up/resource?param1=value1&param2=value%202&param2=value%3A3");
+    byte[] body = new byte[1024];
+    int sink = 0;
+    for (int i = 0; i < canonicalizations; i++) {
+      String bodyHash = hashBody(body, BODY_HASH_ALGORITHM);
+      HashMap<String, String> oauthParams = getOauthParams("warm-up", bodyHash, signMethod);
+      String paramString = toOauthParamString(extractQueryParams(uri, charset), oauthParams);
+      sink += getSignatureBaseString("POST", getBaseUriString(uri), paramString, charset).length();
+      sink += Util.percentEncode(paramString, charset).length();
+    }
+    for (int i = 0; i < signatures; i++) {
+      sink += signer.apply(uri).length();
+    }
+    WarmUpReport report = new WarmUpReport(System.nanoTime() - start, canonicalizations, signatures);
+    warmUpSink = sink;
+    LOG.log(Level.FINE, "{0} ({1})", new Object[] { report, signMethod.getOauthName() });
+    return report;
   }
 
   /**
@@ -117,10 +458,24 @@ public class OAuth {
    * @param charset Charset encoding of the request
    * @return Sorted map of query parameter key/value pairs. Values for parameters with the same name are added into a list.
    */
-  static TreeMap<String, List<String>> extractQueryParams(URI uri, Charset charset) {
+  public static TreeMap<String, List<String>> extractQueryParams(URI uri, Charset charset) {
+    return extractQueryParams(uri.getRawQuery(), uri.getQuery(), charset);
+  }
+
+  /**
+   * Parse query parameters out of a raw (URL encoded) query string, for instance the one held by an HTTP client
+   * request template. This gives the same result as {@link #extractQueryParams(URI, Charset)} without parsing a whole URI.
+   * https://tools.ietf.org/html/rfc5849#section-3.4.1.3
+   *
+   * @param rawQueryString Raw query string, without the leading "?" (nullable)
+   * @param charset Charset encoding of the request
+   * @return Sorted map of query parameter key/value pairs. Values for parameters with the same name are added into a list.
+   */
+  public static TreeMap<String, List<String>> extractQueryParams(String rawQueryString, Charset charset) {
+    return extractQueryParams(rawQueryString, Util.percentDecode(rawQueryString, charset), charset);
+  }
 
-    final String decodedQueryString = uri.getQuery();
-    final String rawQueryString =  uri.getRawQuery();
+  private static TreeMap<String, List<String>> extractQueryParams(String rawQueryString, String decodedQueryString, Charset charset) {
     if (decodedQueryString == null || decodedQueryString.isEmpty()
             || rawQueryString == null || rawQueryString.isEmpty()) {
       // No query params
@@ -198,7 +553,7 @@ public class OAuth {
    * @return random string of 16 characters.
    */
   static String getNonce() {
-    SecureRandom rnd = new SecureRandom();
+    SecureRandom rnd = NONCE_RANDOM.get();
     StringBuilder sb = new StringBuilder(NONCE_LENGTH);
     for (int i = 0; i < NONCE_LENGTH; i++) {
       sb.append(ALPHA_NUMERIC_CHARS.charAt(rnd.nextInt(ALPHA_NUMERIC_CHARS.length())));
@@ -223,7 +578,7 @@ public class OAuth {
    * @param uri URL that will be called as part of this request
    * @return Normalized URL
    */
-  static String getBaseUriString(URI uri) {
+  public static String getBaseUriString(URI uri) {
     // Lowercase scheme and authority
     String scheme = uri.getScheme().toLowerCase();
     String authority = uri.getAuthority().toLowerCase();
@@ -254,20 +609,46 @@ public class OAuth {
    * @return Base64 encoded cryptographic hash of the given payload
    */
   static String getBodyHash(String payload, Charset charset, String hashAlg) {
-    MessageDigest digest;
+    // "If the request does not have an entity body, the hash should be taken over the empty string"
+    byte[] byteArray = null == payload ? "".getBytes() : payload.getBytes(charset);
+    return getBodyHash(byteArray, hashAlg);
+  }
 
+  /**
+   * Generates a SHA-256 hash based on the raw request payload bytes as per
+   * https://tools.ietf.org/id/draft-eaton-oauth-bodyhash-00.html
+   *
+   * @param payload Request payload bytes (nullable)
+   * @return Base64 encoded cryptographic hash of the given payload
+   */
+  public static String getBodyHash(byte[] payload) {
+    return getBodyHash(payload, BODY_HASH_ALGORITHM);
+  }
+
+  static String getBodyHash(byte[] payload, String hashAlg) {
+    Object event = SigningEvents.beginBodyHash();
+    String bodyHash = hashBody(payload, hashAlg);
+    SigningEvents.commitBodyHash(event, null == payload ? 0 : payload.length, hashAlg);
+    return bodyHash;
+  }
+
+  private static String hashBody(byte[] payload, String hashAlg) {
+    MessageDigest digest = getBodyHashDigest(hashAlg);
+    // "If the request does not have an entity body, the hash should be taken over the empty string"
+    byte[] hash = digest.digest(null == payload ? new byte[0] : payload);
+    return Util.b64Encode(hash);
+  }
+
+  static MessageDigest getBodyHashDigest() {
+    return getBodyHashDigest(BODY_HASH_ALGORITHM);
+  }
+
+  private static MessageDigest getBodyHashDigest(String hashAlg) {
     try {
-      digest = MessageDigest.getInstance(hashAlg);
+      return MessageDigest.getInstance(hashAlg);
     } catch (NoSuchAlgorithmException e) {
       throw new IllegalStateException("Unable to obtain " + hashAlg + " message digest", e);
     }
-
-    digest.reset();
-    // "If the request does not have an entity body, the hash should be taken over the empty string"
-    byte[] byteArray = null == payload ? "".getBytes() : payload.getBytes(charset);
-    byte[] hash = digest.digest(byteArray);
-
-    return Util.b64Encode(hash);
   }
 
   /**
@@ -295,21 +676,82 @@ public class OAuth {
    * @return RSA signature matching the contents of signature base string
    */
   static String signSignatureBaseString(String sbs, PrivateKey signingKey, Charset charset, SignatureMethod signMethod) {
+    return signSignatureBaseString(sbs, signingKey, charset, signMethod, null);
+  }
+
+  /**
+   * @param provider The JCA provider to sign with, or null for the first provider supporting the signature method
+   * @see #signSignatureBaseString(String, PrivateKey, Charset, SignatureMethod)
+   */
+  static String signSignatureBaseString(String sbs, PrivateKey signingKey, Charset charset, SignatureMethod signMethod, Provider provider) {
     try {
-      Signature signer = Signature.getInstance(signMethod.getJcaName());
-      if(signMethod.getAlgorithmParams() != null) {
-        signer.setParameter(signMethod.getAlgorithmParams());
-      }
-      signer.initSign(signingKey);
-      byte[] sbsBytes = sbs.getBytes(charset);
-      signer.update(sbsBytes);
-      byte[] signatureBytes = signer.sign();
+      byte[] signatureBytes = sign(sbs.getBytes(charset), signingKey, signMethod, provider);
       return Util.b64Encode(signatureBytes);
     } catch (GeneralSecurityException e) {
       throw new IllegalStateException("Unable to sign with method " + signMethod.getOauthName() + " using the provided key", e);
     }
   }
 
+  static byte[] sign(byte[] data, PrivateKey signingKey, SignatureMethod signMethod, Provider provider) throws GeneralSecurityException {
+    Signature signer = provider == null ? Signature.getInstance(signMethod.getJcaName()) : Signature.getInstance(signMethod.getJcaName(), provider);
+    if(signMethod.getAlgorithmParams() != null) {
+      signer.setParameter(signMethod.getAlgorithmParams());
+    }
+    signer.initSign(signingKey);
+    signer.update(data);
+    return signer.sign();
+  }
+
+  /**
+   * Verifies a HMAC-SHA256 signature of a signature base string (in constant time), as a service provider would.
+   *
+   * @param verificationKey The secret shared with the consumer
+   * @see #verifySignature(String, String, PublicKey, Charset, SignatureMethod)
+   */
+  public static boolean verifySignature(String sbs, String signature, HmacSigningKey verificationKey, Charset charset) {
+    byte[] signatureBytes;
+    try {
+      signatureBytes = Base64.getDecoder().decode(signature);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    return MessageDigest.isEqual(verificationKey.sign(sbs.getBytes(charset)), signatureBytes);
+  }
+
+  /**
+   * Verifies the signature of a signature base string, as a service provider would.
+   *
+   * @param sbs Signature base string formatted as per https://tools.ietf.org/html/rfc5849#section-3.4.1
+   * @param signature Base64 encoded signature (the percent-decoded value of the oauth_signature parameter)
+   * @param verificationKey Public key of the key pair used for signing
+   * @param charset Charset encoding of the request
+   * @param signMethod The signature method used for signing
+   * @return Whether the signature is valid
+   * @throws IllegalStateException When the key can't be used with the signature method
+   */
+  public static boolean verifySignature(String sbs, String signature, PublicKey verificationKey, Charset charset, SignatureMethod signMethod) {
+    byte[] signatureBytes;
+    try {
+      signatureBytes = Base64.getDecoder().decode(signature);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    try {
+      Signature verifier = Signature.getInstance(signMethod.getJcaName());
+      if (signMethod.getAlgorithmParams() != null) {
+        verifier.setParameter(signMethod.getAlgorithmParams());
+      }
+      verifier.initVerify(verificationKey);
+      verifier.update(sbs.getBytes(charset));
+      return verifier.verify(signatureBytes);
+    } catch (SignatureException e) {
+      // Malformed signature
+      return false;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to verify with method " + signMethod.getOauthName() + " using the provided key", e);
+    }
+  }
+
   /**
    * Constructs a valid Authorization header as per
    * https://tools.ietf.org/html/rfc5849#section-3.5.1
@@ -327,4 +769,13 @@ public class OAuth {
     header.deleteCharAt(header.length() - 1);
     return header.toString();
   }
+
+  /**
+   * @throws IllegalArgumentException When the method doesn't sign with a private key
+   */
+  static void checkPrivateKeyMethod(SignatureMethod signMethod) {
+    if (signMethod == SignatureMethod.HMAC_SHA256) {
+      throw new IllegalArgumentException("HMAC-SHA256 signs with a HmacSigningKey, not with a private key");
+    }
+  }
 }
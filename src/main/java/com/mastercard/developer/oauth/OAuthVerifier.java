@@ -0,0 +1,392 @@
+package com.mastercard.developer.oauth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Verifies OAuth Authorization headers created by {@link OAuth}, as a service provider would: the signature base
+ * string is rebuilt with the same canonicalization, the body hash is recomputed, and the signature is checked with
+ * the key of the consumer.
+ * Keys are resolved once per consumer key and cached, {@link Signature} instances are reused per thread, and the
+ * header is parsed without regular expressions.
+ * This class is thread-safe.
+ */
+public final class OAuthVerifier {
+
+  public static final long DEFAULT_MAX_CLOCK_SKEW_SECONDS = 300;
+
+  private static final String OAUTH_SCHEME = "OAuth";
+  private static final int BODY_BUFFER_SIZE = 8192;
+
+  private final Function<String, PublicKey> publicKeyResolver;
+  private final Function<String, HmacSigningKey> hmacKeyResolver;
+  private final long maxClockSkewSeconds;
+  private final Clock clock;
+  private final Charset charset;
+  private final NonceReplayCache replayCache;
+  private final ConcurrentHashMap<String, PublicKey> publicKeys = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, HmacSigningKey> hmacKeys = new ConcurrentHashMap<>();
+  private final ThreadLocal<Map<SignatureMethod, Signature>> signatures = ThreadLocal.withInitial(() -> new EnumMap<>(SignatureMethod.class));
+
+  /**
+   * @param publicKeyResolver Returns the public key of a consumer key, or null when the consumer key is unknown
+   */
+  public OAuthVerifier(Function<String, PublicKey> publicKeyResolver) {
+    this(publicKeyResolver, DEFAULT_MAX_CLOCK_SKEW_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * @param publicKeyResolver Returns the public key of a consumer key, or null when the consumer key is unknown
+   * @param maxClockSkew Maximum difference between the oauth_timestamp of a request and the current time
+   */
+  public OAuthVerifier(Function<String, PublicKey> publicKeyResolver, long maxClockSkew, TimeUnit unit) {
+    this(publicKeyResolver, consumerKey -> null, maxClockSkew, unit, Clock.systemUTC(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param publicKeyResolver Returns the public key of a consumer key, or null when the consumer key is unknown
+   * @param hmacKeyResolver Returns the HMAC-SHA256 key of a consumer key, or null when the consumer key doesn't use HMAC-SHA256
+   * @param maxClockSkew Maximum difference between the oauth_timestamp of a request and the current time
+   * @param clock Source of the current time
+   * @param charset Charset encoding of the requests
+   */
+  public OAuthVerifier(Function<String, PublicKey> publicKeyResolver, Function<String, HmacSigningKey> hmacKeyResolver,
+                       long maxClockSkew, TimeUnit unit, Clock clock, Charset charset) {
+    this(publicKeyResolver, hmacKeyResolver, maxClockSkew, unit, clock, charset, null);
+  }
+
+  /**
+   * @param publicKeyResolver Returns the public key of a consumer key, or null when the consumer key is unknown
+   * @param hmacKeyResolver Returns the HMAC-SHA256 key of a consumer key, or null when the consumer key doesn't use HMAC-SHA256
+   * @param maxClockSkew Maximum difference between the oauth_timestamp of a request and the current time
+   * @param clock Source of the current time
+   * @param charset Charset encoding of the requests
+   * @param replayCache Records the nonces of the valid requests for rejecting replays, null to accept replays
+   */
+  public OAuthVerifier(Function<String, PublicKey> publicKeyResolver, Function<String, HmacSigningKey> hmacKeyResolver,
+                       long maxClockSkew, TimeUnit unit, Clock clock, Charset charset, NonceReplayCache replayCache) {
+    this.publicKeyResolver = publicKeyResolver;
+    this.hmacKeyResolver = hmacKeyResolver;
+    this.maxClockSkewSeconds = unit.toSeconds(maxClockSkew);
+    this.clock = clock;
+    this.charset = charset;
+    this.replayCache = replayCache;
+  }
+
+  /**
+   * Verifies a request whose body is fully available.
+   *
+   * @param body Request body, null when there is none
+   */
+  public Result verify(String method, URI uri, String authorizationHeader, byte[] body) {
+    return verify(method, OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, charset), authorizationHeader, OAuth.getBodyHash(body));
+  }
+
+  /**
+   * Verifies a request whose body is read from a stream (and consumed), without buffering it.
+   *
+   * @param body Request body, null when there is none
+   */
+  public Result verify(String method, URI uri, String authorizationHeader, InputStream body) throws IOException {
+    String bodyHash;
+    if (body == null) {
+      bodyHash = OAuth.getBodyHash((byte[]) null);
+    } else {
+      BodyHashOutputStream hashingStream = new BodyHashOutputStream();
+      byte[] buffer = new byte[BODY_BUFFER_SIZE];
+      int read;
+      while ((read = body.read(buffer)) != -1) {
+        hashingStream.write(buffer, 0, read);
+      }
+      bodyHash = hashingStream.getBodyHash();
+    }
+    return verify(method, OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, charset), authorizationHeader, bodyHash);
+  }
+
+  /**
+   * Verifies a request out of already normalized components.
+   *
+   * @param baseUri Base URI, see {@link OAuth#getBaseUriString(URI)}
+   * @param queryParams Query parameters, see {@link OAuth#extractQueryParams(URI, Charset)}
+   * @param bodyHash Base64 encoded hash of the request body, see {@link OAuth#getBodyHash(byte[])}
+   */
+  public Result verify(String method, String baseUri, SortedMap<String, List<String>> queryParams, String authorizationHeader, String bodyHash) {
+    return verify(method, baseUri, queryParams, authorizationHeader, bodyHash, true);
+  }
+
+  /**
+   * Verifies everything but the body: the body hash claimed by the request is covered by the signature, so the
+   * signature can be checked before (or while) the body is read. The body hash must then be checked with
+   * {@link Result#verifyBodyHash(String)}.
+   *
+   * @param baseUri Base URI, see {@link OAuth#getBaseUriString(URI)}
+   * @param queryParams Query parameters, see {@link OAuth#extractQueryParams(URI, Charset)}
+   */
+  public Result verifyHeader(String method, String baseUri, SortedMap<String, List<String>> queryParams, String authorizationHeader) {
+    return verify(method, baseUri, queryParams, authorizationHeader, null, false);
+  }
+
+  private Result verify(String method, String baseUri, SortedMap<String, List<String>> queryParams, String authorizationHeader, String bodyHash, boolean checkBodyHash) {
+    Map<String, String> oauthParams = parseAuthorizationHeader(authorizationHeader);
+    if (oauthParams == null) {
+      return Result.failure(Failure.MALFORMED_HEADER, null, null, 0);
+    }
+    String consumerKey = oauthParams.get("oauth_consumer_key");
+    String nonce = oauthParams.get("oauth_nonce");
+    String signature = oauthParams.remove("oauth_signature");
+    String signatureMethodName = oauthParams.get("oauth_signature_method");
+    long timestamp = parseTimestamp(oauthParams.get("oauth_timestamp"));
+    oauthParams.remove("realm");
+    if (consumerKey == null || nonce == null || signature == null || signatureMethodName == null || timestamp < 0) {
+      return Result.failure(Failure.MALFORMED_HEADER, consumerKey, nonce, timestamp);
+    }
+
+    SignatureMethod signatureMethod;
+    try {
+      signatureMethod = SignatureMethod.fromOauthName(signatureMethodName);
+    } catch (IllegalArgumentException e) {
+      return Result.failure(Failure.UNSUPPORTED_SIGNATURE_METHOD, consumerKey, nonce, timestamp);
+    }
+    if (Math.abs(clock.millis() / 1000L - timestamp) > maxClockSkewSeconds) {
+      return Result.failure(Failure.TIMESTAMP_OUT_OF_WINDOW, consumerKey, nonce, timestamp);
+    }
+    String expectedBodyHash = oauthParams.get("oauth_body_hash");
+    if (expectedBodyHash == null || checkBodyHash && !isEqual(bodyHash, expectedBodyHash)) {
+      return Result.failure(Failure.BODY_HASH_MISMATCH, consumerKey, nonce, timestamp);
+    }
+
+    byte[] signatureBytes;
+    try {
+      signatureBytes = Base64.getDecoder().decode(Util.percentDecode(signature, charset));
+    } catch (IllegalArgumentException e) {
+      return Result.failure(Failure.INVALID_SIGNATURE, consumerKey, nonce, timestamp);
+    }
+    String paramString = OAuth.toOauthParamString(queryParams, oauthParams);
+    byte[] sbs = OAuth.getSignatureBaseString(method, baseUri, paramString, charset).getBytes(charset);
+
+    Failure failure = signatureMethod == SignatureMethod.HMAC_SHA256
+        ? verifyHmac(consumerKey, sbs, signatureBytes)
+        : verifySignature(consumerKey, signatureMethod, sbs, signatureBytes);
+    if (failure == null && replayCache != null && !replayCache.tryRecord(consumerKey, nonce, timestamp)) {
+      // Only recorded once authenticated, so that forged requests can't fill the cache
+      failure = Failure.REPLAYED_NONCE;
+    }
+    return failure == null ? Result.success(consumerKey, nonce, timestamp, expectedBodyHash) : Result.failure(failure, consumerKey, nonce, timestamp);
+  }
+
+  /**
+   * Removes the cached keys of a consumer key, for instance after a key rotation.
+   */
+  public void evictKeys(String consumerKey) {
+    publicKeys.remove(consumerKey);
+    hmacKeys.remove(consumerKey);
+  }
+
+  private Failure verifySignature(String consumerKey, SignatureMethod signatureMethod, byte[] sbs, byte[] signatureBytes) {
+    PublicKey publicKey = resolve(publicKeys, publicKeyResolver, consumerKey);
+    if (publicKey == null) {
+      return Failure.UNKNOWN_CONSUMER_KEY;
+    }
+    try {
+      Signature verifier = signatures.get().get(signatureMethod);
+      if (verifier == null) {
+        verifier = Signature.getInstance(signatureMethod.getJcaName());
+        signatures.get().put(signatureMethod, verifier);
+      }
+      if (signatureMethod.getAlgorithmParams() != null) {
+        verifier.setParameter(signatureMethod.getAlgorithmParams());
+      }
+      verifier.initVerify(publicKey);
+      verifier.update(sbs);
+      return verifier.verify(signatureBytes) ? null : Failure.INVALID_SIGNATURE;
+    } catch (SignatureException e) {
+      // Malformed signature
+      return Failure.INVALID_SIGNATURE;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to verify with method " + signatureMethod.getOauthName() + " using the key of " + consumerKey, e);
+    }
+  }
+
+  private Failure verifyHmac(String consumerKey, byte[] sbs, byte[] signatureBytes) {
+    HmacSigningKey hmacKey = resolve(hmacKeys, hmacKeyResolver, consumerKey);
+    if (hmacKey == null) {
+      return Failure.UNKNOWN_CONSUMER_KEY;
+    }
+    return MessageDigest.isEqual(hmacKey.sign(sbs), signatureBytes) ? null : Failure.INVALID_SIGNATURE;
+  }
+
+  private static boolean isEqual(String bodyHash, String expectedBodyHash) {
+    return MessageDigest.isEqual(bodyHash.getBytes(StandardCharsets.US_ASCII), expectedBodyHash.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static <K> K resolve(ConcurrentHashMap<String, K> cache, Function<String, K> resolver, String consumerKey) {
+    K key = cache.get(consumerKey);
+    return key != null ? key : cache.computeIfAbsent(consumerKey, resolver);
+  }
+
+  private static long parseTimestamp(String timestamp) {
+    if (timestamp == null || timestamp.isEmpty() || timestamp.length() > 18) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < timestamp.length(); i++) {
+      char c = timestamp.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  /**
+   * Parses an Authorization header as per https://tools.ietf.org/html/rfc5849#section-3.5.1, keeping the
+   * parameter values as they appear in the header.
+   *
+   * @return The parameters, or null when the header is malformed
+   */
+  static Map<String, String> parseAuthorizationHeader(String header) {
+    if (header == null || !header.regionMatches(true, 0, OAUTH_SCHEME, 0, OAUTH_SCHEME.length())
+        || header.length() == OAUTH_SCHEME.length() || header.charAt(OAUTH_SCHEME.length()) != ' ') {
+      return null;
+    }
+    Map<String, String> params = new HashMap<>(16);
+    int length = header.length();
+    int i = OAUTH_SCHEME.length();
+    while (true) {
+      while (i < length && (header.charAt(i) == ' ' || header.charAt(i) == ',')) {
+        i++;
+      }
+      if (i == length) {
+        return params.isEmpty() ? null : params;
+      }
+      int equalsIndex = header.indexOf('=', i);
+      if (equalsIndex < 0 || equalsIndex + 1 == length || header.charAt(equalsIndex + 1) != '"') {
+        return null;
+      }
+      int closingQuoteIndex = header.indexOf('"', equalsIndex + 2);
+      if (closingQuoteIndex < 0) {
+        return null;
+      }
+      String name = header.substring(i, equalsIndex).trim();
+      if (name.isEmpty() || params.put(name, header.substring(equalsIndex + 2, closingQuoteIndex)) != null) {
+        // Duplicated parameter
+        return null;
+      }
+      i = closingQuoteIndex + 1;
+      if (i < length && header.charAt(i) != ',' && header.charAt(i) != ' ') {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Why a verification failed.
+   */
+  public enum Failure {
+    MALFORMED_HEADER,
+    UNSUPPORTED_SIGNATURE_METHOD,
+    TIMESTAMP_OUT_OF_WINDOW,
+    BODY_HASH_MISMATCH,
+    UNKNOWN_CONSUMER_KEY,
+    INVALID_SIGNATURE,
+    REPLAYED_NONCE
+  }
+
+  /**
+   * The outcome of a verification, with the authenticated consumer key when successful.
+   */
+  public static final class Result {
+
+    private final Failure failure;
+    private final String consumerKey;
+    private final String nonce;
+    private final long timestamp;
+    private final String bodyHash;
+
+    private Result(Failure failure, String consumerKey, String nonce, long timestamp, String bodyHash) {
+      this.failure = failure;
+      this.consumerKey = consumerKey;
+      this.nonce = nonce;
+      this.timestamp = timestamp;
+      this.bodyHash = bodyHash;
+    }
+
+    static Result success(String consumerKey, String nonce, long timestamp, String bodyHash) {
+      return new Result(null, consumerKey, nonce, timestamp, bodyHash);
+    }
+
+    static Result failure(Failure failure, String consumerKey, String nonce, long timestamp) {
+      return new Result(failure, consumerKey, nonce, timestamp, null);
+    }
+
+    /**
+     * Completes a verification started with {@link OAuthVerifier#verifyHeader(String, String, SortedMap, String)}.
+     *
+     * @param bodyHash Base64 encoded hash of the request body, see {@link OAuth#getBodyHash(byte[])}
+     * @return This result when the body hash matches the signed one or when this result is already a failure,
+     * a {@link Failure#BODY_HASH_MISMATCH} failure otherwise
+     */
+    public Result verifyBodyHash(String bodyHash) {
+      if (!isValid() || isEqual(bodyHash, this.bodyHash)) {
+        return this;
+      }
+      return failure(Failure.BODY_HASH_MISMATCH, consumerKey, nonce, timestamp);
+    }
+
+    public boolean isValid() {
+      return failure == null;
+    }
+
+    /**
+     * @return Why the verification failed, null when successful
+     */
+    public Failure getFailure() {
+      return failure;
+    }
+
+    /**
+     * @return The consumer key of the request (not authenticated unless {@link #isValid()}), null when missing
+     */
+    public String getConsumerKey() {
+      return consumerKey;
+    }
+
+    /**
+     * @return The nonce of the request, null when missing
+     */
+    public String getNonce() {
+      return nonce;
+    }
+
+    /**
+     * @return The timestamp of the request (seconds since the epoch), negative when missing or malformed
+     */
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    @Override
+    public String toString() {
+      return isValid() ? "Valid (consumer key: " + consumerKey + ")" : "Invalid: " + failure + " (consumer key: " + consumerKey + ")";
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.mastercard.developer.oauth;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Micro-benchmarks the installed JCA providers supporting a signature method, and selects the fastest one
+ * producing valid signatures with the given key.
+ * A signature is valid when it verifies against the public key (given, or derived from RSA CRT keys). Without
+ * public key, the default provider is trusted and other providers must produce identical signatures, which only
+ * works for deterministic methods (RSA-SHA256, Ed25519).
+ */
+public final class ProviderCalibration {
+
+  private static final Logger LOG = Logger.getLogger(ProviderCalibration.class.getName());
+  public static final int DEFAULT_ITERATIONS = 200;
+  private static final int WARM_UP_ITERATIONS = 20;
+
+  private final SignatureMethod signatureMethod;
+  private final Provider selectedProvider;
+  private final Map<String, Long> nanosPerSignature;
+  private final Map<String, String> rejectedProviders;
+
+  private ProviderCalibration(SignatureMethod signatureMethod, Provider selectedProvider, Map<String, Long> nanosPerSignature, Map<String, String> rejectedProviders) {
+    this.signatureMethod = signatureMethod;
+    this.selectedProvider = selectedProvider;
+    this.nanosPerSignature = Collections.unmodifiableMap(nanosPerSignature);
+    this.rejectedProviders = Collections.unmodifiableMap(rejectedProviders);
+  }
+
+  /**
+   * @see #calibrate(PrivateKey, SignatureMethod, int)
+   */
+  public static ProviderCalibration calibrate(PrivateKey signingKey, SignatureMethod signMethod) {
+    return calibrate(signingKey, signMethod, DEFAULT_ITERATIONS);
+  }
+
+  /**
+   * Benchmarks the installed providers and logs the results.
+   *
+   * @param signingKey The key the selected provider will sign with
+   * @param signMethod The signature method the selected provider will sign with
+   * @param iterations Number of timed signatures per provider
+   * @return The selected provider and the benchmark results
+   * @throws IllegalStateException When no installed provider produces valid signatures
+   */
+  public static ProviderCalibration calibrate(PrivateKey signingKey, SignatureMethod signMethod, int iterations) {
+    return calibrate(signingKey, null, signMethod, iterations);
+  }
+
+  /**
+   * Benchmarks the installed providers and logs the results.
+   *
+   * @param signingKey The key the selected provider will sign with
+   * @param verificationKey The public key matching the signing key, null to derive it when possible
+   * @param signMethod The signature method the selected provider will sign with
+   * @param iterations Number of timed signatures per provider
+   * @return The selected provider and the benchmark results
+   * @throws IllegalStateException When no installed provider produces valid signatures
+   */
+  public static ProviderCalibration calibrate(PrivateKey signingKey, PublicKey verificationKey, SignatureMethod signMethod, int iterations) {
+    OAuth.checkPrivateKeyMethod(signMethod);
+    Provider[] candidates = Security.getProviders("Signature." + signMethod.getJcaName());
+    List<Provider> providers = candidates == null ? Collections.<Provider>emptyList() : Arrays.asList(candidates);
+    byte[] data = new byte[256];
+    new SecureRandom().nextBytes(data);
+    PublicKey publicKey = verificationKey != null ? verificationKey : derivePublicKey(signingKey);
+    Provider defaultProvider = getDefaultProvider(signMethod);
+
+    byte[] referenceSignature = null;
+    Map<String, Long> results = new LinkedHashMap<>();
+    Map<String, String> rejected = new LinkedHashMap<>();
+    List<Provider> valid = new ArrayList<>();
+    for (Provider provider : providers) {
+      try {
+        byte[] signature = OAuth.sign(data, signingKey, signMethod, provider);
+        if (referenceSignature == null) {
+          referenceSignature = OAuth.sign(data, signingKey, signMethod, null);
+        }
+        boolean trusted = publicKey == null && provider.equals(defaultProvider);
+        if (!trusted && !isValid(data, signature, referenceSignature, publicKey, signMethod)) {
+          rejected.put(provider.getName(), "Invalid signature");
+          continue;
+        }
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+          OAuth.sign(data, signingKey, signMethod, provider);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+          OAuth.sign(data, signingKey, signMethod, provider);
+        }
+        results.put(provider.getName(), (System.nanoTime() - start) / Math.max(1, iterations));
+        valid.add(provider);
+      } catch (GeneralSecurityException | RuntimeException e) {
+        rejected.put(provider.getName(), e.toString());
+      }
+    }
+    if (valid.isEmpty()) {
+      throw new IllegalStateException("No installed provider can sign with method " + signMethod.getOauthName() + " using the provided key (rejected: " + rejected + ")");
+    }
+    Provider fastest = valid.get(0);
+    for (Provider provider : valid) {
+      if (results.get(provider.getName()) < results.get(fastest.getName())) {
+        fastest = provider;
+      }
+    }
+    ProviderCalibration calibration = new ProviderCalibration(signMethod, fastest, results, rejected);
+    LOG.log(Level.INFO, "{0}", calibration);
+    return calibration;
+  }
+
+  private static boolean isValid(byte[] data, byte[] signature, byte[] referenceSignature, PublicKey publicKey, SignatureMethod signMethod) throws GeneralSecurityException {
+    if (publicKey == null) {
+      return Arrays.equals(signature, referenceSignature);
+    }
+    Signature verifier = Signature.getInstance(signMethod.getJcaName());
+    if (signMethod.getAlgorithmParams() != null) {
+      verifier.setParameter(signMethod.getAlgorithmParams());
+    }
+    verifier.initVerify(publicKey);
+    verifier.update(data);
+    return verifier.verify(signature);
+  }
+
+  private static Provider getDefaultProvider(SignatureMethod signMethod) {
+    try {
+      return Signature.getInstance(signMethod.getJcaName()).getProvider();
+    } catch (GeneralSecurityException e) {
+      return null;
+    }
+  }
+
+  private static PublicKey derivePublicKey(PrivateKey signingKey) {
+    if (!(signingKey instanceof RSAPrivateCrtKey)) {
+      return null;
+    }
+    RSAPrivateCrtKey rsaKey = (RSAPrivateCrtKey) signingKey;
+    try {
+      return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(rsaKey.getModulus(), rsaKey.getPublicExponent()));
+    } catch (GeneralSecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return The fastest provider producing valid signatures
+   */
+  public Provider getSelectedProvider() {
+    return selectedProvider;
+  }
+
+  /**
+   * @return The average signing time (in nanoseconds) of every valid provider, by provider name
+   */
+  public Map<String, Long> getNanosPerSignature() {
+    return nanosPerSignature;
+  }
+
+  /**
+   * @return The providers that failed signing or produced invalid signatures, with the reason, by provider name
+   */
+  public Map<String, String> getRejectedProviders() {
+    return rejectedProviders;
+  }
+
+  @Override
+  public String toString() {
+    return "Selected provider " + selectedProvider.getName() + " for " + signatureMethod.getOauthName()
+        + " (ns per signature: " + nanosPerSignature + ", rejected: " + rejectedProviders + ")";
+  }
+}
@@ -10,7 +10,16 @@ import java.security.spec.PSSParameterSpec;
 public enum SignatureMethod {
 
     RSA_SHA256("SHA256withRSA", "RSA-SHA256", null),
-    RSA_PSS_SHA256("RSASSA-PSS", "RSA-PSS", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
+    RSA_PSS_SHA256("RSASSA-PSS", "RSA-PSS", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1)),
+    /** ECDSA on a P-256 key, DER encoded signature. Signs much faster than RSA, for service providers accepting it. */
+    ECDSA_SHA256("SHA256withECDSA", "ECDSA-SHA256", null),
+    /** EdDSA on an Ed25519 key (Java 15+). Signs much faster than RSA, for service providers accepting it. */
+    ED25519("Ed25519", "Ed25519", null),
+    /**
+     * HMAC-SHA256 with a secret shared with the service provider (see {@link OAuth#getHmacKey(String, String)}),
+     * for internal gateways accepting it. Signs with a {@link HmacSigningKey} instead of a private key.
+     */
+    HMAC_SHA256("HmacSHA256", "HMAC-SHA256", null);
 
     /** JCA signature algorithm name. */
     private final String jcaName;
@@ -36,4 +45,17 @@ public enum SignatureMethod {
     AlgorithmParameterSpec getAlgorithmParams() {
         return algorithmParams;
     }
+
+    /**
+     * @param oauthName The value of an oauth_signature_method parameter
+     * @throws IllegalArgumentException When the method isn't supported
+     */
+    public static SignatureMethod fromOauthName(String oauthName) {
+        for (SignatureMethod method : values()) {
+            if (method.oAuthName.equals(oauthName)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported signature method: " + oauthName);
+    }
 }
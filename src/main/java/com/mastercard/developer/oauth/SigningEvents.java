@@ -0,0 +1,67 @@
+package com.mastercard.developer.oauth;
+
+/**
+ * Emits the JDK Flight Recorder events of the library, for correlating signing latency with GC pauses or thread
+ * stalls in continuous recordings:
+ * <ul>
+ *   <li>oauth.Sign: creation of an Authorization header by {@link OAuth} (signature base string, signature, header)</li>
+ *   <li>oauth.SignRequest: signing of an HTTP client request by a signer or an interceptor, including body capture</li>
+ *   <li>oauth.BodyHash: hashing of a request body by {@link OAuth#getBodyHash(byte[])}</li>
+ * </ul>
+ * The oauth.KeyLoad events of AuthenticationUtils and SigningKeyCache are emitted the same way from the utils package.
+ * The events are disabled by default, they are enabled like JDK events, for instance with a .jfc file or
+ * {@code jdk.jfr.Recording#enable("oauth.Sign")}. Disabled events cost a boolean read, and nothing is loaded from
+ * the jdk.jfr module when the runtime doesn't have it.
+ * Events are begun and committed in pairs: begin methods return null when the event is disabled, commit methods
+ * accept that null.
+ */
+final class SigningEvents {
+
+  private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+  private SigningEvents() {
+  }
+
+  static Object beginSign() {
+    return JFR_AVAILABLE ? JfrEvents.beginSign() : null;
+  }
+
+  static void commitSign(Object event, String httpMethod, SignatureMethod signatureMethod, String consumerKey) {
+    if (event != null) {
+      JfrEvents.commitSign(event, httpMethod, signatureMethod, consumerKey);
+    }
+  }
+
+  static Object beginBodyHash() {
+    return JFR_AVAILABLE ? JfrEvents.beginBodyHash() : null;
+  }
+
+  static void commitBodyHash(Object event, long bodyBytes, String algorithm) {
+    if (event != null) {
+      JfrEvents.commitBodyHash(event, bodyBytes, algorithm);
+    }
+  }
+
+  static boolean isSignRequestEnabled() {
+    return JFR_AVAILABLE && JfrEvents.isSignRequestEnabled();
+  }
+
+  static Object beginSignRequest() {
+    return JFR_AVAILABLE ? JfrEvents.beginSignRequest() : null;
+  }
+
+  static void commitSignRequest(Object event, String signer, SigningSample sample) {
+    if (event != null) {
+      JfrEvents.commitSignRequest(event, signer, sample);
+    }
+  }
+
+  private static boolean isJfrAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, SigningEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
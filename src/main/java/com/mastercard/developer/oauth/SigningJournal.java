@@ -0,0 +1,195 @@
+package com.mastercard.developer.oauth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size journal of the most recent Authorization headers, for finding out why a request was rejected (for
+ * instance a 401 "signature invalid") without logging every signature base string.
+ * Install it with {@link OAuth#setSigningJournal(SigningJournal)}, then look entries up by nonce or by the
+ * Authorization header of the rejected request:
+ * <pre>
+ * SigningJournal.Entry entry = journal.findByAuthorizationHeader(request.getHeader("Authorization"));
+ * </pre>
+ * Recording doesn't lock nor copy: it creates one entry referencing the strings already built for the header, and
+ * stores it in the next slot of a ring buffer. Older entries are overwritten once the ring buffer is full.
+ * Entries hold the signature base string, which includes the query parameters of the requests.
+ */
+public final class SigningJournal {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final String NONCE_PARAM = "oauth_nonce=\"";
+
+  private final AtomicReferenceArray<Entry> entries;
+  private final int mask;
+  private final AtomicLong sequence = new AtomicLong();
+
+  public SigningJournal() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity Number of entries kept, rounded up to a power of 2
+   */
+  public SigningJournal(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30, was " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.entries = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  void record(Map<String, String> oauthParams, String method, String signatureBaseString, String authorizationHeader) {
+    Entry entry = new Entry(oauthParams.get("oauth_nonce"), oauthParams.get("oauth_timestamp"), oauthParams.get("oauth_consumer_key"),
+        oauthParams.get("oauth_signature_method"), method, oauthParams.get("oauth_body_hash"), signatureBaseString, authorizationHeader);
+    entries.set((int) (sequence.getAndIncrement() & mask), entry);
+  }
+
+  /**
+   * @return The most recent entry with the given nonce, null when none was recorded or it was overwritten
+   */
+  public Entry findByNonce(String nonce) {
+    if (nonce == null) {
+      return null;
+    }
+    long last = sequence.get();
+    for (long i = last - 1; i >= 0 && i >= last - entries.length(); i--) {
+      Entry entry = entries.get((int) (i & mask));
+      if (entry != null && nonce.equals(entry.nonce)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param authorizationHeader An Authorization header created by the library
+   * @return The entry recorded for that header, null when none was recorded or it was overwritten
+   */
+  public Entry findByAuthorizationHeader(String authorizationHeader) {
+    if (authorizationHeader == null) {
+      return null;
+    }
+    int start = authorizationHeader.indexOf(NONCE_PARAM);
+    if (start < 0) {
+      return null;
+    }
+    start += NONCE_PARAM.length();
+    int end = authorizationHeader.indexOf('"', start);
+    return end < 0 ? null : findByNonce(authorizationHeader.substring(start, end));
+  }
+
+  /**
+   * @return The entries currently in the journal, most recent first
+   */
+  public List<Entry> getEntries() {
+    long last = sequence.get();
+    List<Entry> snapshot = new ArrayList<>();
+    for (long i = last - 1; i >= 0 && i >= last - entries.length(); i--) {
+      Entry entry = entries.get((int) (i & mask));
+      if (entry != null) {
+        snapshot.add(entry);
+      }
+    }
+    return Collections.unmodifiableList(snapshot);
+  }
+
+  /**
+   * @return The number of entries kept
+   */
+  public int getCapacity() {
+    return entries.length();
+  }
+
+  /**
+   * Drops all the entries. Entries recorded while clearing may be kept.
+   */
+  public void clear() {
+    for (int i = 0; i < entries.length(); i++) {
+      entries.set(i, null);
+    }
+  }
+
+  /**
+   * What was signed for one Authorization header.
+   */
+  public static final class Entry {
+
+    private final String nonce;
+    private final String timestamp;
+    private final String consumerKey;
+    private final String signatureMethod;
+    private final String method;
+    private final String bodyHash;
+    private final String signatureBaseString;
+    private final String authorizationHeader;
+
+    Entry(String nonce, String timestamp, String consumerKey, String signatureMethod, String method, String bodyHash,
+          String signatureBaseString, String authorizationHeader) {
+      this.nonce = nonce;
+      this.timestamp = timestamp;
+      this.consumerKey = consumerKey;
+      this.signatureMethod = signatureMethod;
+      this.method = method;
+      this.bodyHash = bodyHash;
+      this.signatureBaseString = signatureBaseString;
+      this.authorizationHeader = authorizationHeader;
+    }
+
+    public String getNonce() {
+      return nonce;
+    }
+
+    /**
+     * @return The oauth_timestamp of the header, a UNIX timestamp in seconds
+     */
+    public String getTimestamp() {
+      return timestamp;
+    }
+
+    public String getConsumerKey() {
+      return consumerKey;
+    }
+
+    /**
+     * @return The oauth_signature_method of the header, for instance "RSA-SHA256"
+     */
+    public String getSignatureMethod() {
+      return signatureMethod;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    /**
+     * @return The Base64 encoded body hash, as in the oauth_body_hash parameter
+     */
+    public String getBodyHash() {
+      return bodyHash;
+    }
+
+    public String getSignatureBaseString() {
+      return signatureBaseString;
+    }
+
+    public String getAuthorizationHeader() {
+      return authorizationHeader;
+    }
+
+    @Override
+    public String toString() {
+      return "SigningJournal.Entry{nonce=" + nonce + ", timestamp=" + timestamp + ", consumerKey=" + consumerKey
+          + ", signatureMethod=" + signatureMethod + ", bodyHash=" + bodyHash + ", sbs=" + signatureBaseString + "}";
+    }
+  }
+}
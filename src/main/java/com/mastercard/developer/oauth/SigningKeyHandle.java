@@ -0,0 +1,39 @@
+package com.mastercard.developer.oauth;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A signing key held outside of the application, for instance by a separate signing process or an HSM, so that
+ * the private key doesn't have to be loaded in every JVM. The library calls it with the signature base string
+ * bytes, or with their SHA-256 digest (see {@link #getInput()}), and expects the raw signature bytes back.
+ * Signing is asynchronous: implementations can queue the inputs of concurrent requests and send them to the signer
+ * in one round trip, completing each stage once the batch answer is received. {@link LoopbackSigningKeyHandle} is a
+ * reference implementation.
+ * Implementations must be thread-safe, and the returned stages must complete: exceptionally when signing fails or
+ * times out, since synchronous signers block until the signature is received.
+ */
+public interface SigningKeyHandle {
+
+  enum Input {
+    /** The signature base string, encoded with the charset of the request. Works with all the signature methods. */
+    SIGNATURE_BASE_STRING,
+    /**
+     * The SHA-256 digest of the signature base string, which keeps the signing requests small whatever the query
+     * string. Only for {@link SignatureMethod#RSA_SHA256} (the signer signs the DER encoded DigestInfo with
+     * "NONEwithRSA") and {@link SignatureMethod#ECDSA_SHA256} ("NONEwithECDSA").
+     */
+    SHA256_DIGEST
+  }
+
+  SignatureMethod getSignatureMethod();
+
+  default Input getInput() {
+    return Input.SIGNATURE_BASE_STRING;
+  }
+
+  /**
+   * @param input The signature base string bytes or their digest, depending on {@link #getInput()}
+   * @return A stage completed with the raw signature, as returned by {@link java.security.Signature#sign()}
+   */
+  CompletionStage<byte[]> sign(byte[] input);
+}
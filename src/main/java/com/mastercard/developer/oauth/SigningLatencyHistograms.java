@@ -0,0 +1,131 @@
+package com.mastercard.developer.oauth;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A {@link SigningMetrics} aggregating the signing samples per endpoint into {@link ConcurrentHistogram}s, for
+ * exporting percentiles (for instance the p99 signing latency per endpoint) to a monitoring system.
+ * Recording doesn't lock once the endpoint is known. Endpoints are the HTTP method and base URI of the requests by
+ * default: since the base URI includes the path, the number of endpoints is capped (each takes about 64 KB) and the
+ * samples of the endpoints above the cap are aggregated under {@link #OTHER_ENDPOINTS}.
+ */
+public final class SigningLatencyHistograms implements SigningMetrics {
+
+  public static final int DEFAULT_MAX_ENDPOINTS = 100;
+  public static final String OTHER_ENDPOINTS = "other";
+
+  private final Function<SigningSample, String> endpointKey;
+  private final int maxEndpoints;
+  private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  public SigningLatencyHistograms() {
+    this(SigningLatencyHistograms::methodAndBaseUri, DEFAULT_MAX_ENDPOINTS);
+  }
+
+  /**
+   * @param endpointKey Names the endpoint of a sample, for instance {@code s -> s.getConsumerKey() + " " + s.getMethod()} or a function mapping paths to route templates
+   * @param maxEndpoints Number of endpoints above which samples are aggregated under {@link #OTHER_ENDPOINTS}
+   */
+  public SigningLatencyHistograms(Function<SigningSample, String> endpointKey, int maxEndpoints) {
+    this.endpointKey = endpointKey;
+    this.maxEndpoints = maxEndpoints;
+  }
+
+  @Override
+  public void record(SigningSample sample) {
+    getOrCreateEndpoint(endpointKey.apply(sample)).record(sample);
+  }
+
+  /**
+   * @return The aggregated endpoints, by endpoint key
+   */
+  public Map<String, Endpoint> getEndpoints() {
+    return Collections.unmodifiableMap(endpoints);
+  }
+
+  /**
+   * Drops all the endpoints, for instance after each export. Samples recorded while resetting may be lost.
+   */
+  public void reset() {
+    endpoints.clear();
+  }
+
+  private Endpoint getOrCreateEndpoint(String key) {
+    Endpoint endpoint = endpoints.get(key);
+    if (endpoint != null) {
+      return endpoint;
+    }
+    // The size check races with other inserts, the cap can be exceeded by the number of concurrent threads
+    return endpoints.computeIfAbsent(endpoints.size() < maxEndpoints ? key : OTHER_ENDPOINTS, k -> new Endpoint());
+  }
+
+  private static String methodAndBaseUri(SigningSample sample) {
+    return sample.getBaseUri() == null ? OTHER_ENDPOINTS : sample.getMethod() + " " + sample.getBaseUri();
+  }
+
+  /**
+   * The histograms of one endpoint. Latencies are in nanoseconds and only include the signed requests.
+   */
+  public static final class Endpoint {
+
+    private final ConcurrentHistogram latency = new ConcurrentHistogram();
+    private final Map<SigningSample.Phase, ConcurrentHistogram> phaseLatencies = new EnumMap<>(SigningSample.Phase.class);
+    private final ConcurrentHistogram bodySizes = new ConcurrentHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    Endpoint() {
+      for (SigningSample.Phase phase : SigningSample.Phase.values()) {
+        phaseLatencies.put(phase, new ConcurrentHistogram());
+      }
+    }
+
+    void record(SigningSample sample) {
+      if (sample.getOutcome() == SigningSample.Outcome.FAILED) {
+        failures.increment();
+        return;
+      }
+      latency.record(sample.getTotalNanos());
+      for (Map.Entry<SigningSample.Phase, ConcurrentHistogram> phaseLatency : phaseLatencies.entrySet()) {
+        phaseLatency.getValue().record(sample.getPhaseNanos(phaseLatency.getKey()));
+      }
+      if (sample.getBodySize() >= 0) {
+        bodySizes.record(sample.getBodySize());
+      }
+    }
+
+    /**
+     * @return The total signing latency
+     */
+    public ConcurrentHistogram getLatency() {
+      return latency;
+    }
+
+    public ConcurrentHistogram getPhaseLatency(SigningSample.Phase phase) {
+      return phaseLatencies.get(phase);
+    }
+
+    /**
+     * @return The sizes of the signed bodies, in bytes (when known to the signer)
+     */
+    public ConcurrentHistogram getBodySizes() {
+      return bodySizes;
+    }
+
+    /**
+     * @return The number of requests that failed to be signed
+     */
+    public long getFailureCount() {
+      return failures.sum();
+    }
+
+    @Override
+    public String toString() {
+      return "latency{" + latency + "}, failures=" + getFailureCount();
+    }
+  }
+}
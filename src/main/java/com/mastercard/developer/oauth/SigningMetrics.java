@@ -0,0 +1,19 @@
+package com.mastercard.developer.oauth;
+
+/**
+ * Receives the timings of the requests signed by a signer or an interceptor, see
+ * {@link com.mastercard.developer.signers.AbstractSigner#setSigningMetrics(SigningMetrics)}. The library comes with
+ * {@link SigningLatencyHistograms}, which aggregates latency percentiles per endpoint.
+ * Samples are recorded on the signing thread, once the Authorization header was created or signing failed:
+ * implementations must be thread-safe, fast, and must not throw.
+ */
+@FunctionalInterface
+public interface SigningMetrics {
+
+  /**
+   * Records nothing. Signers using it don't read the clock nor create samples.
+   */
+  SigningMetrics NONE = sample -> { };
+
+  void record(SigningSample sample);
+}
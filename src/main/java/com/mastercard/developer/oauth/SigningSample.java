@@ -0,0 +1,166 @@
+package com.mastercard.developer.oauth;
+
+import java.util.Arrays;
+
+/**
+ * The timings and attributes of one request signing, passed to {@link SigningMetrics}.
+ * Phases are timed back to back with {@link System#nanoTime()}: each phase starts where the previous one ended, so
+ * that the phase timings add up to the total. A phase that didn't happen for a request reads 0, for instance
+ * {@link Phase#BODY_HASHING} when the body was hashed while being captured or streamed.
+ * A sample is filled by the thread signing the request, and isn't modified once recorded.
+ */
+public final class SigningSample {
+
+  public enum Phase {
+    /** Reading or serializing the request body, and hashing it when both happen at once. */
+    BODY_CAPTURE,
+    /** Normalizing the base URI and extracting the query parameters. */
+    QUERY_PARSING,
+    /** Hashing the request body. */
+    BODY_HASHING,
+    /** Generating the nonce and building the signature base string. */
+    SIGNATURE_BASE_STRING,
+    /** Signing the signature base string (the RSA, ECDSA, Ed25519 or HMAC step) and Base64 encoding the signature. */
+    SIGNATURE,
+    /** Percent-encoding the signature and formatting the Authorization header. */
+    HEADER_FORMATTING
+  }
+
+  public enum Outcome {
+    SIGNED,
+    FAILED
+  }
+
+  private static final Phase[] PHASES = Phase.values();
+
+  private final String consumerKey;
+  private final SignatureMethod signatureMethod;
+  private final Object event;
+  private final long startNanos;
+  private final long[] phaseNanos = new long[PHASES.length];
+  private long lastPhaseEndNanos;
+  private String method;
+  private String baseUri;
+  private long bodySize = -1;
+  private Throwable failure;
+
+  /**
+   * Starts timing a request signing, and begins an oauth.SignRequest JFR event when enabled.
+   */
+  public SigningSample(String consumerKey, SignatureMethod signatureMethod) {
+    this.consumerKey = consumerKey;
+    this.signatureMethod = signatureMethod;
+    this.event = SigningEvents.beginSignRequest();
+    this.startNanos = System.nanoTime();
+    this.lastPhaseEndNanos = startNanos;
+  }
+
+  /**
+   * Ends a phase: the time elapsed since the previous phase ended (or since the sample was created) is added to it.
+   */
+  public void endPhase(Phase phase) {
+    long now = System.nanoTime();
+    phaseNanos[phase.ordinal()] += now - lastPhaseEndNanos;
+    lastPhaseEndNanos = now;
+  }
+
+  /**
+   * @param bodySize Size of the signed body, in bytes
+   */
+  public void setBodySize(long bodySize) {
+    this.bodySize = bodySize;
+  }
+
+  /**
+   * Marks the signing as failed.
+   */
+  public void setFailure(Throwable failure) {
+    this.failure = failure;
+  }
+
+  /**
+   * @return Whether oauth.SignRequest JFR events are recorded, in which case signers time requests with a sample
+   */
+  public static boolean isEventEnabled() {
+    return SigningEvents.isSignRequestEnabled();
+  }
+
+  /**
+   * Commits the oauth.SignRequest JFR event begun with the sample, if any.
+   *
+   * @param signer Name of the signer
+   */
+  public void commitEvent(String signer) {
+    SigningEvents.commitSignRequest(event, signer, this);
+  }
+
+  Object getEvent() {
+    return event;
+  }
+
+  void setRequest(String method, String baseUri) {
+    this.method = method;
+    this.baseUri = baseUri;
+  }
+
+  public String getConsumerKey() {
+    return consumerKey;
+  }
+
+  public SignatureMethod getSignatureMethod() {
+    return signatureMethod;
+  }
+
+  /**
+   * @return The HTTP method of the request, null when signing failed before the request was canonicalized
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * @return The normalized URI of the request (without query string), null when signing failed before the request was canonicalized
+   */
+  public String getBaseUri() {
+    return baseUri;
+  }
+
+  /**
+   * @return The size of the signed body in bytes, -1 when the signer only got the body hash
+   */
+  public long getBodySize() {
+    return bodySize;
+  }
+
+  public Outcome getOutcome() {
+    return failure == null ? Outcome.SIGNED : Outcome.FAILED;
+  }
+
+  /**
+   * @return Why signing failed, null when the request was signed
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * @return The time spent in the given phase, in nanoseconds
+   */
+  public long getPhaseNanos(Phase phase) {
+    return phaseNanos[phase.ordinal()];
+  }
+
+  /**
+   * @return The time from the creation of the sample to the end of the last phase, in nanoseconds
+   */
+  public long getTotalNanos() {
+    return lastPhaseEndNanos - startNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "SigningSample{" + method + " " + baseUri + ", consumerKey=" + consumerKey + ", signatureMethod=" + signatureMethod
+        + ", bodySize=" + bodySize + ", outcome=" + getOutcome() + ", totalNanos=" + getTotalNanos()
+        + ", phaseNanos=" + Arrays.toString(phaseNanos) + "}";
+  }
+}
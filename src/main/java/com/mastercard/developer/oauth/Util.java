@@ -1,6 +1,7 @@
 package com.mastercard.developer.oauth;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 
@@ -37,6 +38,25 @@ public final class Util {
     }
   }
 
+  /**
+   * Decodes percent encoded entities as per https://tools.ietf.org/html/rfc3986. Unlike form decoding, "+" is kept as-is.
+   *
+   * @param str - string to decode
+   * @param charset - charset used for encoding the string
+   * @return The decoded string
+   */
+  public static String percentDecode(String str, Charset charset) {
+    if (str == null || str.indexOf('%') < 0) {
+      return str;
+    }
+
+    try {
+      return URLDecoder.decode(str.replace("+", "%2B"), charset.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalArgumentException("Unable to decode URL using " + charset.displayName() + " encoding", e);
+    }
+  }
+
   // Base 64 encoder to maintain compatibility with Java 1.6
   public static String b64Encode(final byte[] data) {
     StringBuilder buffer = new StringBuilder();
@@ -0,0 +1,52 @@
+package com.mastercard.developer.oauth;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a warm-up did and how long it took, see {@link OAuth#warmUp(java.nio.charset.Charset, java.security.PrivateKey, SignatureMethod, int, int)}.
+ */
+public final class WarmUpReport {
+
+  private final long durationNanos;
+  private final int canonicalizations;
+  private final int signatures;
+
+  public WarmUpReport(long durationNanos, int canonicalizations, int signatures) {
+    this.durationNanos = durationNanos;
+    this.canonicalizations = canonicalizations;
+    this.signatures = signatures;
+  }
+
+  /**
+   * @return The time spent warming up
+   */
+  public long getDuration(TimeUnit unit) {
+    return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return The number of synthetic requests canonicalized (signature base string, body hash, nonce) without being signed
+   */
+  public int getCanonicalizations() {
+    return canonicalizations;
+  }
+
+  /**
+   * @return The number of synthetic requests fully signed
+   */
+  public int getSignatures() {
+    return signatures;
+  }
+
+  /**
+   * @return A report covering this warm-up and the given one
+   */
+  public WarmUpReport plus(WarmUpReport other) {
+    return new WarmUpReport(durationNanos + other.durationNanos, canonicalizations + other.canonicalizations, signatures + other.signatures);
+  }
+
+  @Override
+  public String toString() {
+    return "Warm-up: " + signatures + " signatures and " + canonicalizations + " canonicalizations in " + getDuration(TimeUnit.MILLISECONDS) + " ms";
+  }
+}
@@ -1,17 +1,45 @@
 package com.mastercard.developer.signers;
 
+import com.mastercard.developer.oauth.HmacSigningKey;
 import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.ProviderCalibration;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningLatencyHistograms;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.SigningSample;
+import com.mastercard.developer.oauth.WarmUpReport;
 
+import javax.crypto.SecretKey;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
+import java.security.Provider;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 public abstract class AbstractSigner {
 
+  /** Enough iterations for the canonicalization methods to get compiled by C2. */
+  public static final int DEFAULT_WARM_UP_CANONICALIZATIONS = 20000;
+  public static final int DEFAULT_WARM_UP_SIGNATURES = 50;
+
   protected final String consumerKey;
+  /**
+   * @deprecated The key the signer was created with, which doesn't follow rotations of {@link #signingKeyHolder}.
+   * Use {@link #getSigningKey()} instead.
+   */
+  @Deprecated
   protected final PrivateKey signingKey;
+  protected final SigningKeyHolder signingKeyHolder;
   protected final Charset charset;
   protected final SignatureMethod signatureMethod;
+  private final HmacSigningKey hmacSigningKey;
+  private final SigningKeyHandle signingKeyHandle;
+  private volatile boolean warmedUp;
+  private volatile SigningMetrics signingMetrics = SigningMetrics.NONE;
+  private volatile PreSignedHeaderPool preSignedHeaderPool;
 
   protected AbstractSigner(String consumerKey, PrivateKey signingKey) {
     this(Charset.defaultCharset(), consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
@@ -22,9 +50,338 @@ public abstract class AbstractSigner {
   }
 
   protected AbstractSigner(Charset charset, String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
+    this(charset, consumerKey, new SigningKeyHolder(signingKey, signatureMethod), signatureMethod);
+  }
+
+  /**
+   * @param signingKeyHolder Holder of the signing key, which can be shared by several signers and rotated at runtime
+   * @throws IllegalArgumentException When the signature method is HMAC-SHA256, which doesn't sign with a private key
+   */
+  protected AbstractSigner(Charset charset, String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+    SigningKeyHolder.checkPrivateKeyMethod(signatureMethod);
     this.consumerKey = consumerKey;
-    this.signingKey = signingKey;
+    this.signingKey = signingKeyHolder.get();
+    this.signingKeyHolder = signingKeyHolder;
     this.charset = charset;
     this.signatureMethod = signatureMethod;
+    this.hmacSigningKey = null;
+    this.signingKeyHandle = null;
+  }
+
+  /**
+   * Signs with the HMAC-SHA256 signature method instead of a private key.
+   *
+   * @param hmacKey Secret shared with the service provider, see {@link OAuth#getHmacKey(String, String)}
+   */
+  protected AbstractSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+    this.consumerKey = consumerKey;
+    this.signingKey = null;
+    this.signingKeyHolder = null;
+    this.charset = charset;
+    this.signatureMethod = SignatureMethod.HMAC_SHA256;
+    this.hmacSigningKey = new HmacSigningKey(hmacKey);
+    this.signingKeyHandle = null;
+  }
+
+  /**
+   * Signs with a key held outside of the application, for instance by a separate signing process.
+   *
+   * @param signingKeyHandle Handle to the signing key, which also gives the signature method
+   */
+  protected AbstractSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+    this.consumerKey = consumerKey;
+    this.signingKey = null;
+    this.signingKeyHolder = null;
+    this.charset = charset;
+    this.signatureMethod = signingKeyHandle.getSignatureMethod();
+    this.hmacSigningKey = null;
+    this.signingKeyHandle = signingKeyHandle;
+  }
+
+  /**
+   * Warms up the signing code with synthetic requests, for instance before a pod receives traffic.
+   *
+   * @see #warmUp(int, int)
+   */
+  public WarmUpReport warmUp() {
+    return warmUp(DEFAULT_WARM_UP_CANONICALIZATIONS, DEFAULT_WARM_UP_SIGNATURES);
+  }
+
+  /**
+   * Warms up the signing code with synthetic requests, for instance before a pod receives traffic.
+   * Once done, {@link #isWarmedUp()} returns true, which can back a readiness probe.
+   *
+   * @param canonicalizations Number of synthetic requests to canonicalize without signing them
+   * @param signatures Number of synthetic requests to fully sign with the signing key
+   * @return What was done and how long it took
+   * @see OAuth#warmUp(Charset, PrivateKey, SignatureMethod, Provider, int, int)
+   */
+  public WarmUpReport warmUp(int canonicalizations, int signatures) {
+    WarmUpReport report;
+    if (hmacSigningKey != null) {
+      report = OAuth.warmUp(charset, hmacSigningKey, canonicalizations, signatures);
+    } else if (signingKeyHandle != null) {
+      report = OAuth.warmUp(charset, signingKeyHandle, canonicalizations, signatures);
+    } else {
+      SigningKeyHolder.Entry key = signingKeyHolder.current();
+      report = OAuth.warmUp(charset, key.signingKey, signatureMethod, key.provider, canonicalizations, signatures);
+    }
+    warmedUp = true;
+    return report;
+  }
+
+  /**
+   * @return Whether {@link #warmUp()} completed, for instance for a readiness probe
+   */
+  public boolean isWarmedUp() {
+    return warmedUp;
+  }
+
+  /**
+   * @return The provider signing requests, null for the default provider
+   */
+  public Provider getProvider() {
+    return signingKeyHolder == null ? null : signingKeyHolder.getProvider();
+  }
+
+  /**
+   * Signs with the given provider, for instance a hardware-backed or FIPS provider. The provider is first
+   * used once with the current key, and is kept by the key holder, so that it applies to all the signers
+   * sharing it.
+   *
+   * @param provider Provider to sign with, null for the default provider
+   * @throws IllegalStateException When the provider can't sign with the current key, in which case the current provider is kept
+   */
+  public void setProvider(Provider provider) {
+    checkPrivateKeySigner();
+    signingKeyHolder.rotateProvider(provider);
+  }
+
+  /**
+   * Benchmarks the installed providers supporting the signature method of this signer, then signs with the
+   * fastest one producing valid signatures. Results are logged and returned.
+   *
+   * @throws IllegalStateException When no installed provider produces valid signatures
+   * @see ProviderCalibration
+   */
+  public ProviderCalibration calibrateProvider() {
+    checkPrivateKeySigner();
+    ProviderCalibration calibration = ProviderCalibration.calibrate(getSigningKey(), signatureMethod);
+    signingKeyHolder.rotateProvider(calibration.getSelectedProvider());
+    return calibration;
+  }
+
+  /**
+   * @return The current signing key, to read once per request, null for HMAC-SHA256 signers and signers using a {@link SigningKeyHandle}
+   */
+  protected PrivateKey getSigningKey() {
+    return signingKeyHolder == null ? null : signingKeyHolder.get();
+  }
+
+  /**
+   * Reports the timings of the requests signed from now on, for instance to a {@link SigningLatencyHistograms}.
+   *
+   * @param signingMetrics Receives one sample per request, null or {@link SigningMetrics#NONE} to stop timing requests
+   */
+  public void setSigningMetrics(SigningMetrics signingMetrics) {
+    this.signingMetrics = signingMetrics == null ? SigningMetrics.NONE : signingMetrics;
+  }
+
+  public SigningMetrics getSigningMetrics() {
+    return signingMetrics;
+  }
+
+  /**
+   * Takes the Authorization headers of the bodiless requests registered in the pool from it, instead of signing
+   * them inline.
+   *
+   * @param preSignedHeaderPool A pool created for this signer, null to sign all the requests inline
+   * @throws IllegalArgumentException When the pool was created for another signer
+   */
+  public void setPreSignedHeaderPool(PreSignedHeaderPool preSignedHeaderPool) {
+    if (preSignedHeaderPool != null && !preSignedHeaderPool.belongsTo(this)) {
+      throw new IllegalArgumentException("The pool signs for another signer");
+    }
+    this.preSignedHeaderPool = preSignedHeaderPool;
+  }
+
+  public PreSignedHeaderPool getPreSignedHeaderPool() {
+    return preSignedHeaderPool;
+  }
+
+  /**
+   * Starts timing a request, to call before capturing its body.
+   *
+   * @return A new sample, null when no metrics are registered and the oauth.SignRequest JFR event is disabled
+   */
+  protected SigningSample startSample() {
+    if (signingMetrics == SigningMetrics.NONE && !SigningSample.isEventEnabled()) {
+      return null;
+    }
+    return new SigningSample(consumerKey, signatureMethod);
+  }
+
+  /**
+   * Ends a phase of a sample started with {@link #startSample()}, when not null.
+   */
+  protected static void endPhase(SigningSample sample, SigningSample.Phase phase) {
+    if (sample != null) {
+      sample.endPhase(phase);
+    }
+  }
+
+  /**
+   * Creates the OAuth Authorization header for a request whose body hash was already computed, for instance
+   * from the raw body bytes (see {@link OAuth#getBodyHash(byte[])}) or while streaming the body.
+   */
+  protected String getAuthorizationHeader(URI uri, String method, String bodyHash, Charset charset) {
+    return getAuthorizationHeader(uri, method, bodyHash, charset, startSample());
+  }
+
+  /**
+   * @param sample Sample started with {@link #startSample()}, recorded once signed
+   * @see #getAuthorizationHeader(URI, String, String, Charset)
+   */
+  protected String getAuthorizationHeader(URI uri, String method, String bodyHash, Charset charset, SigningSample sample) {
+    String preSigned = takePreSigned(uri, method, bodyHash);
+    if (preSigned != null) {
+      return preSigned;
+    }
+    if (sample == null) {
+      return getAuthorizationHeader(OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, charset), method, bodyHash, charset, null);
+    }
+    String authHeader;
+    try {
+      String baseUri = OAuth.getBaseUriString(uri);
+      TreeMap<String, List<String>> queryParams = OAuth.extractQueryParams(uri, charset);
+      sample.endPhase(SigningSample.Phase.QUERY_PARSING);
+      authHeader = sign(baseUri, queryParams, method, bodyHash, charset, sample);
+    } catch (RuntimeException e) {
+      throw recordFailure(sample, e);
+    }
+    record(sample);
+    return authHeader;
+  }
+
+  /**
+   * Creates the OAuth Authorization header for a request whose base URI and query parameters were already extracted.
+   */
+  protected String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset) {
+    return getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, startSample());
+  }
+
+  /**
+   * @param sample Sample started with {@link #startSample()}, recorded once signed
+   * @see #getAuthorizationHeader(String, SortedMap, String, String, Charset)
+   */
+  protected String getAuthorizationHeader(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, SigningSample sample) {
+    if (sample == null) {
+      return sign(baseUri, queryParams, method, bodyHash, charset, null);
+    }
+    String authHeader;
+    try {
+      authHeader = sign(baseUri, queryParams, method, bodyHash, charset, sample);
+    } catch (RuntimeException e) {
+      throw recordFailure(sample, e);
+    }
+    record(sample);
+    return authHeader;
+  }
+
+  /**
+   * Creates the OAuth Authorization header for a request, hashing the given payload.
+   */
+  protected String getAuthorizationHeaderForPayload(URI uri, String method, String payload) {
+    return getAuthorizationHeaderForPayload(uri, method, payload, startSample());
+  }
+
+  /**
+   * @param sample Sample started with {@link #startSample()}, recorded once signed
+   * @see #getAuthorizationHeaderForPayload(URI, String, String)
+   */
+  protected String getAuthorizationHeaderForPayload(URI uri, String method, String payload, SigningSample sample) {
+    return getAuthorizationHeaderForPayload(uri, method, payload, charset, sample);
+  }
+
+  /**
+   * @param charset Charset of the payload, for instance the one of the request Content-Type, instead of the signer's
+   * @see #getAuthorizationHeaderForPayload(URI, String, String, SigningSample)
+   */
+  protected String getAuthorizationHeaderForPayload(URI uri, String method, String payload, Charset charset, SigningSample sample) {
+    if (payload == null || payload.isEmpty()) {
+      String preSigned = takePreSigned(uri, method, null);
+      if (preSigned != null) {
+        return preSigned;
+      }
+    }
+    if (sample == null) {
+      if (signingKeyHolder == null) {
+        return getAuthorizationHeader(uri, method, OAuth.getBodyHash(payload == null ? null : payload.getBytes(charset)), charset, null);
+      }
+      SigningKeyHolder.Entry key = signingKeyHolder.current();
+      return OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, key.signingKey, signatureMethod, key.provider);
+    }
+    String authHeader;
+    try {
+      String baseUri = OAuth.getBaseUriString(uri);
+      TreeMap<String, List<String>> queryParams = OAuth.extractQueryParams(uri, charset);
+      sample.endPhase(SigningSample.Phase.QUERY_PARSING);
+      byte[] body = payload == null ? null : payload.getBytes(charset);
+      sample.setBodySize(body == null ? 0 : body.length);
+      String bodyHash = OAuth.getBodyHash(body);
+      sample.endPhase(SigningSample.Phase.BODY_HASHING);
+      authHeader = sign(baseUri, queryParams, method, bodyHash, charset, sample);
+    } catch (RuntimeException e) {
+      throw recordFailure(sample, e);
+    }
+    record(sample);
+    return authHeader;
+  }
+
+  private String sign(String baseUri, SortedMap<String, List<String>> queryParams, String method, String bodyHash, Charset charset, SigningSample sample) {
+    if (hmacSigningKey != null) {
+      return sample == null
+          ? OAuth.getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, hmacSigningKey)
+          : OAuth.getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, hmacSigningKey, sample);
+    }
+    if (signingKeyHandle != null) {
+      return OAuth.getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, signingKeyHandle, sample);
+    }
+    SigningKeyHolder.Entry key = signingKeyHolder.current();
+    return sample == null
+        ? OAuth.getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, key.signingKey, signatureMethod, key.provider)
+        : OAuth.getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, consumerKey, key.signingKey, signatureMethod, key.provider, sample);
+  }
+
+  private String takePreSigned(URI uri, String method, String bodyHash) {
+    PreSignedHeaderPool pool = preSignedHeaderPool;
+    return pool == null ? null : pool.take(method, uri, bodyHash);
+  }
+
+  /**
+   * Signs a request of a {@link PreSignedHeaderPool}, without going through the pool nor the metrics.
+   */
+  String signAhead(URI uri, String method, String bodyHash) {
+    return sign(OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, charset), method, bodyHash, charset, null);
+  }
+
+  private void record(SigningSample sample) {
+    sample.commitEvent(getClass().getSimpleName());
+    signingMetrics.record(sample);
+  }
+
+  private RuntimeException recordFailure(SigningSample sample, RuntimeException e) {
+    sample.setFailure(e);
+    record(sample);
+    return e;
+  }
+
+  private void checkPrivateKeySigner() {
+    if (hmacSigningKey != null) {
+      throw new IllegalStateException("Not supported by " + SignatureMethod.HMAC_SHA256 + " signers");
+    }
+    if (signingKeyHandle != null) {
+      throw new IllegalStateException("Not supported by signers using a " + SigningKeyHandle.class.getSimpleName());
+    }
   }
 }
@@ -1,11 +1,14 @@
 package com.mastercard.developer.signers;
 
 import com.mastercard.developer.oauth.OAuth;
+import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -25,9 +28,28 @@ public class ApacheHttpClient4Signer extends AbstractSigner {
     super(consumerKey, signingKey, signatureMethod);
   }
 
+  public ApacheHttpClient4Signer(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+    super(Charset.defaultCharset(), consumerKey, signingKeyHolder, signatureMethod);
+  }
+
+  /**
+   * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+   */
+  public ApacheHttpClient4Signer(Charset charset, String consumerKey, SecretKey hmacKey) {
+    super(charset, consumerKey, hmacKey);
+  }
+
+  /**
+   * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+   */
+  public ApacheHttpClient4Signer(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+    super(charset, consumerKey, signingKeyHandle);
+  }
+
   public void sign(HttpRequestBase req) throws IOException {
+    SigningSample sample = startSample();
     String payload = null;
-    Charset charset = Charset.defaultCharset();
+    Charset payloadCharset = charset;
     if (HttpEntityEnclosingRequestBase.class.isAssignableFrom(req.getClass())) {
       HttpEntityEnclosingRequestBase requestBase = (HttpEntityEnclosingRequestBase) req;
       HttpEntity entity = requestBase.getEntity();
@@ -37,12 +59,15 @@ public class ApacheHttpClient4Signer extends AbstractSigner {
               "The signer needs to read the request payload but the input stream of this request cannot be read multiple times. Please provide the payload using a separate argument or ensure that the entity is repeatable.");
         }
         ContentType contentType = ContentType.get(entity);
-        charset = contentType.getCharset();
-        payload = EntityUtils.toString(entity, contentType.getCharset());
+        if (contentType != null && contentType.getCharset() != null) {
+          payloadCharset = contentType.getCharset();
+        }
+        payload = EntityUtils.toString(entity, payloadCharset);
       }
     }
 
-    String authHeader = OAuth.getAuthorizationHeader(req.getURI(), req.getMethod(), payload, charset, consumerKey, signingKey, signatureMethod);
+    endPhase(sample, SigningSample.Phase.BODY_CAPTURE);
+    String authHeader = getAuthorizationHeaderForPayload(req.getURI(), req.getMethod(), payload, payloadCharset, sample);
     req.setHeader(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
   }
 }
@@ -2,17 +2,24 @@ package com.mastercard.developer.signers;
 
 import com.google.api.client.http.HttpContent;
 import com.google.api.client.http.HttpRequest;
+import com.mastercard.developer.oauth.BodyHashOutputStream;
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 
+import javax.crypto.SecretKey;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 /**
  * Utility class for signing Google HTTP Client requests.
+ * The request content is serialized once: it gets hashed while being written into a buffer, then the
+ * request content is swapped for a wrapper replaying the buffered bytes to the transport.
  * See also: https://github.com/googleapis/google-http-java-client
  */
 public class GoogleApiClientSigner extends AbstractSigner {
@@ -33,19 +40,85 @@ public class GoogleApiClientSigner extends AbstractSigner {
         super(charset, consumerKey, signingKey, signatureMethod);
     }
 
+    public GoogleApiClientSigner(Charset charset, String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        super(charset, consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+     */
+    public GoogleApiClientSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+        super(charset, consumerKey, hmacKey);
+    }
+
+    /**
+     * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+     */
+    public GoogleApiClientSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+        super(charset, consumerKey, signingKeyHandle);
+    }
+
     public void sign(HttpRequest request) throws IOException {
+        SigningSample sample = startSample();
         URI uri = request.getUrl().toURI();
         String method = request.getRequestMethod();
-        String payload = null;
+        String bodyHash;
 
         HttpContent content = request.getContent();
-        if (null != content && content.getLength() > 0) {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            content.writeTo(outputStream);
-            payload = outputStream.toString(charset.name());
+        if (null == content) {
+            bodyHash = OAuth.getBodyHash((byte[]) null);
+            if (sample != null) {
+                sample.setBodySize(0);
+            }
+        } else {
+            SignedContent signedContent = content instanceof SignedContent ? (SignedContent) content : new SignedContent(content);
+            bodyHash = signedContent.bodyHash;
+            request.setContent(signedContent);
+            if (sample != null) {
+                sample.setBodySize(signedContent.getLength());
+            }
         }
+        endPhase(sample, SigningSample.Phase.BODY_CAPTURE);
 
-        String authorizationHeader = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
+        String authorizationHeader = getAuthorizationHeader(uri, method, bodyHash, charset, sample);
         request.getHeaders().setAuthorization(authorizationHeader);
     }
+
+    /**
+     * Request content serialized and hashed once, then replayed to the transport (including on retries).
+     */
+    static final class SignedContent implements HttpContent {
+
+        private final String type;
+        private final ByteArrayOutputStream buffer;
+        private final String bodyHash;
+
+        SignedContent(HttpContent content) throws IOException {
+            this.type = content.getType();
+            this.buffer = new ByteArrayOutputStream(1024);
+            BodyHashOutputStream hashingStream = new BodyHashOutputStream(buffer);
+            content.writeTo(hashingStream);
+            this.bodyHash = hashingStream.getBodyHash();
+        }
+
+        @Override
+        public long getLength() {
+            return buffer.size();
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public boolean retrySupported() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            buffer.writeTo(out);
+        }
+    }
 }
@@ -1,11 +1,21 @@
 package com.mastercard.developer.signers;
 
+import com.mastercard.developer.oauth.BodyHashOutputStream;
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 
+import javax.crypto.SecretKey;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.PrivateKey;
 import javax.net.ssl.HttpsURLConnection;
 
@@ -14,6 +24,9 @@ import javax.net.ssl.HttpsURLConnection;
  */
 public class HttpsUrlConnectionSigner extends AbstractSigner {
 
+  /** Body size above which {@link #signingOutputStream(HttpsURLConnection)} buffers to a temporary file. */
+  public static final int DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+
   public HttpsUrlConnectionSigner(Charset charset, String consumerKey, PrivateKey signingKey) {
     super(charset, consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
   }
@@ -22,15 +35,131 @@ public class HttpsUrlConnectionSigner extends AbstractSigner {
     super(charset, consumerKey, signingKey, signatureMethod);
   }
 
+  public HttpsUrlConnectionSigner(Charset charset, String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+    super(charset, consumerKey, signingKeyHolder, signatureMethod);
+  }
+
+  /**
+   * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+   */
+  public HttpsUrlConnectionSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+    super(charset, consumerKey, hmacKey);
+  }
+
+  /**
+   * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+   */
+  public HttpsUrlConnectionSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+    super(charset, consumerKey, signingKeyHandle);
+  }
+
   public void sign(HttpsURLConnection req, String payload) {
-    URI uri;
+    URI uri = getUri(req);
+    String method = req.getRequestMethod();
+    String authHeader = getAuthorizationHeaderForPayload(uri, method, payload);
+    req.setRequestProperty(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
+  }
+
+  /**
+   * Returns a stream to write the request body into, as an alternative to {@link #sign(HttpsURLConnection, String)}.
+   * The body is hashed and buffered while being written (in memory, then in a temporary file above
+   * {@link #DEFAULT_SPILL_THRESHOLD} bytes). Closing the stream adds the Authorization header, then
+   * sends the buffered bytes to the connection output stream.
+   */
+  public OutputStream signingOutputStream(HttpsURLConnection req) {
+    return signingOutputStream(req, DEFAULT_SPILL_THRESHOLD);
+  }
+
+  /**
+   * @see #signingOutputStream(HttpsURLConnection)
+   * @param spillThreshold Body size above which the body is buffered to a temporary file
+   */
+  public OutputStream signingOutputStream(HttpsURLConnection req, int spillThreshold) {
+    req.setDoOutput(true);
+    return new SigningOutputStream(req, spillThreshold);
+  }
+
+  private static URI getUri(HttpsURLConnection req) {
     try {
-      uri = req.getURL().toURI();
+      return req.getURL().toURI();
     } catch (URISyntaxException e) {
       throw new IllegalArgumentException("The provided URL could not be converted to an URI representation", e);
     }
-    String method = req.getRequestMethod();
-    String authHeader = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
-    req.setRequestProperty(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
+  }
+
+  private final class SigningOutputStream extends OutputStream {
+
+    private final HttpsURLConnection req;
+    private final int spillThreshold;
+    private final ByteArrayOutputStream memoryBuffer = new ByteArrayOutputStream();
+    private final BodyHashOutputStream hashingStream = new BodyHashOutputStream();
+    private OutputStream target = memoryBuffer;
+    private Path spillFile;
+    private boolean closed;
+
+    SigningOutputStream(HttpsURLConnection req, int spillThreshold) {
+      this.req = req;
+      this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      prepareWrite(1);
+      hashingStream.write(b);
+      target.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      prepareWrite(len);
+      hashingStream.write(b, off, len);
+      target.write(b, off, len);
+    }
+
+    private void prepareWrite(int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (spillFile == null && hashingStream.getCount() + len > spillThreshold) {
+        spillFile = Files.createTempFile("oauth1-signer", ".body");
+        target = new BufferedOutputStream(Files.newOutputStream(spillFile));
+        memoryBuffer.writeTo(target);
+        memoryBuffer.reset();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        target.close();
+        SigningSample sample = startSample();
+        if (sample != null) {
+          sample.setBodySize(hashingStream.getCount());
+        }
+        String authHeader = getAuthorizationHeader(getUri(req), req.getRequestMethod(), hashingStream.getBodyHash(), charset, sample);
+        req.setRequestProperty(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
+        try {
+          // Stops the connection from buffering the whole body again to compute the Content-Length
+          req.setFixedLengthStreamingMode(hashingStream.getCount());
+        } catch (IllegalStateException e) {
+          // A streaming mode was already chosen by the caller
+        }
+        try (OutputStream out = req.getOutputStream()) {
+          if (spillFile != null) {
+            Files.copy(spillFile, out);
+          } else {
+            memoryBuffer.writeTo(out);
+          }
+        }
+      } finally {
+        if (spillFile != null) {
+          Files.deleteIfExists(spillFile);
+        }
+      }
+    }
   }
 }
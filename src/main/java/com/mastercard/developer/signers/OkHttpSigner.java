@@ -1,6 +1,7 @@
 package com.mastercard.developer.signers;
 
 import com.mastercard.developer.oauth.OAuth;
+import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
@@ -8,6 +9,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okio.Buffer;
@@ -33,7 +36,26 @@ public class OkHttpSigner extends AbstractSigner {
     super(charset, consumerKey, signingKey, signatureMethod);
   }
 
+  public OkHttpSigner(Charset charset, String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+    super(charset, consumerKey, signingKeyHolder, signatureMethod);
+  }
+
+  /**
+   * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+   */
+  public OkHttpSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+    super(charset, consumerKey, hmacKey);
+  }
+
+  /**
+   * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+   */
+  public OkHttpSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+    super(charset, consumerKey, signingKeyHandle);
+  }
+
   public void sign(Request.Builder req) throws IOException {
+    SigningSample sample = startSample();
     Request builtRequest = req.build();
 
     URI uri = builtRequest.url().uri();
@@ -47,7 +69,8 @@ public class OkHttpSigner extends AbstractSigner {
       payload = buffer.readUtf8();
     }
 
-    String authHeader = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
+    endPhase(sample, SigningSample.Phase.BODY_CAPTURE);
+    String authHeader = getAuthorizationHeaderForPayload(uri, method, payload, sample);
     req.addHeader(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
   }
 }
@@ -2,42 +2,100 @@ package com.mastercard.developer.signers;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 import feign.RequestTemplate;
 
+import javax.crypto.SecretKey;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
+import java.util.List;
+import java.util.TreeMap;
 
+/**
+ * Utility class for signing OpenFeign request templates.
+ */
 public class OpenFeignSigner extends AbstractSigner {
 
+    /** Normalized base URI (lowercase scheme and authority, no default port, no trailing slash), computed once. */
     private final String baseUri;
+    /** Path to use when the request template has an empty URL. */
+    private final String emptyPath;
 
     public OpenFeignSigner(String consumerKey, PrivateKey signingKey, String baseUri) {
-        super(consumerKey, signingKey);
-        this.baseUri = baseUri;
+        this(Charset.defaultCharset(), consumerKey, signingKey, baseUri, OAuth.DEFAULT_SIGNATURE_METHOD);
     }
 
     public OpenFeignSigner(String consumerKey, PrivateKey signingKey, String baseUri, SignatureMethod signatureMethod) {
-        super(consumerKey, signingKey, signatureMethod);
-        this.baseUri = baseUri;
+        this(Charset.defaultCharset(), consumerKey, signingKey, baseUri, signatureMethod);
     }
 
     public OpenFeignSigner(Charset charset, String consumerKey, PrivateKey signingKey, String baseUri) {
-        super(charset, consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
-        this.baseUri = baseUri;
+        this(charset, consumerKey, signingKey, baseUri, OAuth.DEFAULT_SIGNATURE_METHOD);
     }
 
     public OpenFeignSigner(Charset charset, String consumerKey, PrivateKey signingKey, String baseUri, SignatureMethod signatureMethod) {
-        super(charset, consumerKey, signingKey, signatureMethod);
-        this.baseUri = baseUri;
+        this(charset, consumerKey, new SigningKeyHolder(signingKey, signatureMethod), baseUri, signatureMethod);
+    }
+
+    public OpenFeignSigner(Charset charset, String consumerKey, SigningKeyHolder signingKeyHolder, String baseUri, SignatureMethod signatureMethod) {
+        super(charset, consumerKey, signingKeyHolder, signatureMethod);
+        String normalized = OAuth.getBaseUriString(URI.create(baseUri));
+        this.baseUri = trimTrailingSlash(normalized);
+        this.emptyPath = getEmptyPath(normalized);
+    }
+
+    /**
+     * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+     */
+    public OpenFeignSigner(Charset charset, String consumerKey, SecretKey hmacKey, String baseUri) {
+        super(charset, consumerKey, hmacKey);
+        String normalized = OAuth.getBaseUriString(URI.create(baseUri));
+        this.baseUri = trimTrailingSlash(normalized);
+        this.emptyPath = getEmptyPath(normalized);
+    }
+
+    /**
+     * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+     */
+    public OpenFeignSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle, String baseUri) {
+        super(charset, consumerKey, signingKeyHandle);
+        String normalized = OAuth.getBaseUriString(URI.create(baseUri));
+        this.baseUri = trimTrailingSlash(normalized);
+        this.emptyPath = getEmptyPath(normalized);
     }
 
     public void sign(RequestTemplate requestTemplate) {
-        URI uri = URI.create(baseUri.replaceAll("/$", "") + requestTemplate.request().url());
+        SigningSample sample = startSample();
         String method = requestTemplate.method();
-        byte[] bodyBytes = requestTemplate.body();
-        String payload = bodyBytes != null ? new String(bodyBytes, charset) : null;
-        String authHeader = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
+        String url = requestTemplate.url();
+        String queryLine = requestTemplate.queryLine();
+        TreeMap<String, List<String>> queryParams = OAuth.extractQueryParams(queryLine.isEmpty() ? null : queryLine.substring(1), charset);
+        String baseUri = getBaseUriString(url);
+        endPhase(sample, SigningSample.Phase.QUERY_PARSING);
+        byte[] body = requestTemplate.body();
+        String bodyHash = OAuth.getBodyHash(body);
+        if (sample != null) {
+            sample.setBodySize(body == null ? 0 : body.length);
+            sample.endPhase(SigningSample.Phase.BODY_HASHING);
+        }
+        String authHeader = getAuthorizationHeader(baseUri, queryParams, method, bodyHash, charset, sample);
         requestTemplate.header(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
     }
+
+    private static String trimTrailingSlash(String normalizedBaseUri) {
+        return normalizedBaseUri.endsWith("/") ? normalizedBaseUri.substring(0, normalizedBaseUri.length() - 1) : normalizedBaseUri;
+    }
+
+    private static String getEmptyPath(String normalizedBaseUri) {
+        return normalizedBaseUri.indexOf('/', normalizedBaseUri.indexOf("://") + 3) == normalizedBaseUri.length() - 1 ? "/" : "";
+    }
+
+    private String getBaseUriString(String url) {
+        // Recent Feign versions return the query string as part of the URL, query params are read from the query line instead
+        int queryIndex = url.indexOf('?');
+        String path = queryIndex < 0 ? url : url.substring(0, queryIndex);
+        return baseUri + (path.isEmpty() ? emptyPath : path);
+    }
 }
@@ -0,0 +1,234 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.OAuth;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Signs the Authorization headers of registered bodiless requests ahead of time, for endpoints polled so often
+ * that signing inline (an RSA signature per request) shows in their latency.
+ * Background threads keep a bounded queue of headers per endpoint, each with its own nonce and timestamp. A signer
+ * using the pool (see {@link AbstractSigner#setPreSignedHeaderPool(PreSignedHeaderPool)}) takes a header from the
+ * queue for a registered request without a body, and signs inline when the queue is empty. Headers older than the
+ * maximum age are discarded, so that their timestamps stay within what the service provider accepts.
+ * Requests match an endpoint when they have the same method and the same URI string, query included. Requests
+ * signed from their base URI and query parameters (OpenFeign) always sign inline.
+ * Headers taken from the pool aren't reported to {@link com.mastercard.developer.oauth.SigningMetrics}, see
+ * {@link #getHits()} instead.
+ */
+public final class PreSignedHeaderPool implements Closeable {
+
+  private static final Logger LOG = Logger.getLogger(PreSignedHeaderPool.class.getName());
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private final AbstractSigner signer;
+  private final int capacity;
+  private final long maxAgeNanos;
+  private final String emptyBodyHash = OAuth.getBodyHash((byte[]) null);
+  private final ScheduledExecutorService executor;
+  private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+
+  /**
+   * Creates a pool with a single signing thread.
+   *
+   * @see #PreSignedHeaderPool(AbstractSigner, int, long, TimeUnit, int)
+   */
+  public PreSignedHeaderPool(AbstractSigner signer, int capacity, long maxAge, TimeUnit unit) {
+    this(signer, capacity, maxAge, unit, 1);
+  }
+
+  /**
+   * @param signer The signer the headers are signed with, which must then be given the pool
+   * @param capacity Number of headers kept ready per endpoint, for instance the polls expected within half the maximum age
+   * @param maxAge Age after which a header is discarded, below the timestamp tolerance of the service provider
+   * @param threads Number of background signing threads
+   */
+  public PreSignedHeaderPool(AbstractSigner signer, int capacity, long maxAge, TimeUnit unit, int threads) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+    }
+    if (maxAge <= 0) {
+      throw new IllegalArgumentException("Maximum age must be positive, was " + maxAge);
+    }
+    this.signer = signer;
+    this.capacity = capacity;
+    this.maxAgeNanos = unit.toNanos(maxAge);
+    this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "oauth1-pre-signer-" + THREAD_COUNT.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts keeping signed headers ready for a request without body. Headers are then replenished as they are
+   * taken, and renewed every half maximum age.
+   *
+   * @param method HTTP method of the request, for instance "GET"
+   * @param uri URI of the request, as the HTTP client will pass it to the signer
+   */
+  public void register(String method, URI uri) {
+    Endpoint endpoint = new Endpoint(method, uri);
+    if (endpoints.putIfAbsent(key(method, uri), endpoint) == null) {
+      long period = Math.max(maxAgeNanos / 2, 1);
+      executor.scheduleWithFixedDelay(endpoint::renew, 0, period, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * @param bodyHash Body hash of the request, null when not computed because the request has no body
+   * @return A header signed ahead of time for the request, null when the request has a body, isn't registered or no header is ready
+   */
+  String take(String method, URI uri, String bodyHash) {
+    if (bodyHash != null && !bodyHash.equals(emptyBodyHash)) {
+      return null;
+    }
+    Endpoint endpoint = endpoints.get(key(method, uri));
+    if (endpoint == null) {
+      return null;
+    }
+    String header = endpoint.take();
+    if (header == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return header;
+  }
+
+  /**
+   * @return Number of requests served a header signed ahead of time
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return Number of registered requests signed inline because no header was ready
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return Number of headers discarded for being older than the maximum age
+   */
+  public long getExpired() {
+    return expired.sum();
+  }
+
+  /**
+   * @return Number of headers ready for a registered request, 0 when the request isn't registered
+   */
+  public int getReadyCount(String method, URI uri) {
+    Endpoint endpoint = endpoints.get(key(method, uri));
+    return endpoint == null ? 0 : endpoint.headers.size();
+  }
+
+  boolean belongsTo(AbstractSigner signer) {
+    return this.signer == signer;
+  }
+
+  /**
+   * Stops the background threads. Signers using the pool then sign inline.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    endpoints.clear();
+  }
+
+  private static String key(String method, URI uri) {
+    return method + " " + uri;
+  }
+
+  private static final class PreSignedHeader {
+    final String header;
+    final long signedNanos;
+
+    PreSignedHeader(String header, long signedNanos) {
+      this.header = header;
+      this.signedNanos = signedNanos;
+    }
+  }
+
+  private final class Endpoint {
+    private final String method;
+    private final URI uri;
+    private final ArrayBlockingQueue<PreSignedHeader> headers = new ArrayBlockingQueue<>(capacity);
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    Endpoint(String method, URI uri) {
+      this.method = method;
+      this.uri = uri;
+    }
+
+    String take() {
+      String header = null;
+      long now = System.nanoTime();
+      PreSignedHeader preSigned;
+      while (header == null && (preSigned = headers.poll()) != null) {
+        if (now - preSigned.signedNanos < maxAgeNanos) {
+          header = preSigned.header;
+        } else {
+          expired.increment();
+        }
+      }
+      if (headers.size() <= capacity / 2 && refilling.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+          // Closed
+          refilling.set(false);
+        }
+      }
+      return header;
+    }
+
+    /**
+     * Drops the headers older than half the maximum age, then refills, so that headers are taken well before expiring.
+     */
+    void renew() {
+      long now = System.nanoTime();
+      PreSignedHeader oldest;
+      while ((oldest = headers.peek()) != null && now - oldest.signedNanos >= maxAgeNanos / 2) {
+        if (headers.remove(oldest)) {
+          expired.increment();
+        }
+      }
+      if (refilling.compareAndSet(false, true)) {
+        refill();
+      }
+    }
+
+    private void refill() {
+      try {
+        while (headers.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+          String header = signer.signAhead(uri, method, emptyBodyHash);
+          if (!headers.offer(new PreSignedHeader(header, System.nanoTime()))) {
+            break;
+          }
+        }
+      } catch (RuntimeException e) {
+        LOG.log(Level.WARNING, "Unable to sign " + method + " " + uri + " ahead of time, will retry", e);
+      } finally {
+        refilling.set(false);
+      }
+    }
+  }
+}
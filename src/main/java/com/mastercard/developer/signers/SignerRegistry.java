@@ -0,0 +1,353 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Holds one signer per tenant and resolves the signer to use for a request, so that a single
+ * HTTP client and interceptor can serve many consumer keys.
+ * A request is routed using (by order of precedence): an explicit tenant id, the request host, then the longest
+ * matching path prefix. Tenant signing credentials are loaded on first use, and tenants idle for longer than the
+ * configured timeout can be evicted (see {@link #evictIdleTenants()}), in which case they get loaded again on next use.
+ * Resolving a signer doesn't lock: routes are copied on write and loaded signers are read from volatile fields.
+ *
+ * @param <S> The type of signer used by the HTTP client, for instance {@link OkHttpSigner}
+ */
+public class SignerRegistry<S extends AbstractSigner> {
+
+  private final Function<SigningCredentials, S> signerFactory;
+  private final long idleTimeoutNanos;
+  private final ConcurrentHashMap<String, Tenant<S>> tenants = new ConcurrentHashMap<>();
+  private volatile Map<String, String> hostRoutes = Collections.emptyMap();
+  private volatile Map<String, String> pathPrefixRoutes = Collections.emptyMap();
+  private volatile PathPrefixTable pathPrefixTable = new PathPrefixTable(Collections.emptyMap());
+  private volatile boolean warmedUp;
+  private volatile SigningMetrics signingMetrics = SigningMetrics.NONE;
+
+  /**
+   * @param signerFactory Creates the signer of a tenant out of its credentials, for instance {@code c -> new OkHttpSigner(c.getConsumerKey(), c.getSigningKey(), c.getSignatureMethod())}
+   * @param idleTimeout Time after which an unused tenant can be evicted
+   * @param unit Unit of the idle timeout
+   */
+  public SignerRegistry(Function<SigningCredentials, S> signerFactory, long idleTimeout, TimeUnit unit) {
+    this.signerFactory = credentials -> {
+      S signer = signerFactory.apply(credentials);
+      signer.setSigningMetrics(signingMetrics);
+      return signer;
+    };
+    this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+  }
+
+  /**
+   * Registers a tenant. The credentials loader is called on first use and again after eviction.
+   */
+  public SignerRegistry<S> register(String tenantId, Callable<SigningCredentials> credentialsLoader) {
+    tenants.put(tenantId, new Tenant<S>(tenantId, credentialsLoader));
+    return this;
+  }
+
+  /**
+   * Registers a tenant whose credentials are already loaded. Such a tenant is never evicted.
+   */
+  public SignerRegistry<S> register(String tenantId, final SigningCredentials credentials) {
+    Tenant<S> tenant = new Tenant<>(tenantId, null);
+    tenant.signer = signerFactory.apply(credentials);
+    tenants.put(tenantId, tenant);
+    return this;
+  }
+
+  public synchronized void unregister(String tenantId) {
+    tenants.remove(tenantId);
+    Map<String, String> routes = new HashMap<>(hostRoutes);
+    routes.values().removeAll(Collections.singleton(tenantId));
+    hostRoutes = Collections.unmodifiableMap(routes);
+    routes = new HashMap<>(pathPrefixRoutes);
+    routes.values().removeAll(Collections.singleton(tenantId));
+    setPathPrefixRoutes(routes);
+  }
+
+  /**
+   * Routes the requests sent to the given host to a tenant.
+   */
+  public synchronized SignerRegistry<S> routeHost(String host, String tenantId) {
+    Map<String, String> routes = new HashMap<>(hostRoutes);
+    routes.put(host.toLowerCase(Locale.ROOT), tenantId);
+    hostRoutes = Collections.unmodifiableMap(routes);
+    return this;
+  }
+
+  /**
+   * Routes the requests whose path starts with the given prefix to a tenant. Prefixes match whole path segments:
+   * "/v1" (or "/v1/") matches "/v1" and "/v1/payments" but not "/v1beta", and "/" matches every path.
+   * The longest matching prefix wins.
+   */
+  public synchronized SignerRegistry<S> routePathPrefix(String pathPrefix, String tenantId) {
+    Map<String, String> routes = new HashMap<>(pathPrefixRoutes);
+    routes.put(PathPrefixTable.normalize(pathPrefix), tenantId);
+    setPathPrefixRoutes(routes);
+    return this;
+  }
+
+  private void setPathPrefixRoutes(Map<String, String> routes) {
+    pathPrefixRoutes = Collections.unmodifiableMap(routes);
+    pathPrefixTable = new PathPrefixTable(routes);
+  }
+
+  /**
+   * @see #resolve(String, String, String)
+   */
+  public S resolve(String tenantId, URI uri) {
+    String host = uri.getHost();
+    return resolve(tenantId, host == null ? null : host.toLowerCase(Locale.ROOT), uri.getRawPath());
+  }
+
+  /**
+   * Returns the signer to use for a request.
+   *
+   * @param tenantId Explicit tenant id (nullable)
+   * @param host Lowercase request host (nullable)
+   * @param path Raw request path (nullable)
+   * @return The signer of the matching tenant
+   * @throws IllegalArgumentException When no tenant matches the request
+   */
+  public S resolve(String tenantId, String host, String path) {
+    String resolvedTenantId = tenantId;
+    if (resolvedTenantId == null && host != null) {
+      resolvedTenantId = hostRoutes.get(host);
+    }
+    if (resolvedTenantId == null && path != null) {
+      resolvedTenantId = pathPrefixTable.longestMatch(path);
+    }
+    Tenant<S> tenant = resolvedTenantId == null ? null : tenants.get(resolvedTenantId);
+    if (tenant == null) {
+      throw new IllegalArgumentException("No signing tenant matches the request (tenant: " + tenantId + ", host: " + host + ", path: " + path + ")");
+    }
+    return tenant.getSigner(signerFactory);
+  }
+
+  /**
+   * Drops the signers of the tenants that have not been used for longer than the idle timeout.
+   * This is meant to be called periodically, for instance from a scheduled executor.
+   *
+   * @return The number of evicted tenants
+   */
+  public int evictIdleTenants() {
+    long now = System.nanoTime();
+    int evicted = 0;
+    for (Tenant<S> tenant : tenants.values()) {
+      if (tenant.evictIfIdle(now, idleTimeoutNanos)) {
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Loads the signer of every registered tenant and warms up the signing code. The code paths are warmed up once
+   * with the first tenant, the other tenants only sign one request to validate their key.
+   *
+   * @return What was done and how long it took
+   * @see AbstractSigner#warmUp()
+   */
+  public WarmUpReport warmUp() {
+    WarmUpReport report = new WarmUpReport(0, 0, 0);
+    boolean first = true;
+    for (Tenant<S> tenant : tenants.values()) {
+      S signer = tenant.getSigner(signerFactory);
+      report = report.plus(first ? signer.warmUp() : signer.warmUp(0, 1));
+      first = false;
+    }
+    warmedUp = true;
+    return report;
+  }
+
+  /**
+   * @return Whether {@link #warmUp()} completed
+   */
+  public boolean isWarmedUp() {
+    return warmedUp;
+  }
+
+  /**
+   * Reports the timings of the requests signed by all the tenants, including the ones loaded later.
+   *
+   * @see AbstractSigner#setSigningMetrics(SigningMetrics)
+   */
+  public void setSigningMetrics(SigningMetrics signingMetrics) {
+    this.signingMetrics = signingMetrics;
+    for (Tenant<S> tenant : tenants.values()) {
+      S signer = tenant.signer;
+      if (signer != null) {
+        signer.setSigningMetrics(signingMetrics);
+      }
+    }
+  }
+
+  /**
+   * @return The number of tenants whose signer is currently loaded
+   */
+  public int getLoadedTenantCount() {
+    int count = 0;
+    for (Tenant<S> tenant : tenants.values()) {
+      if (tenant.signer != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Explicit tenant id attached to a request, for instance as an OkHttp request tag:
+   * {@code new Request.Builder().tag(SignerRegistry.TenantTag.class, SignerRegistry.TenantTag.of("tenant-1"))}.
+   */
+  public static final class TenantTag {
+
+    private final String tenantId;
+
+    private TenantTag(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    public static TenantTag of(String tenantId) {
+      return new TenantTag(tenantId);
+    }
+
+    public String getTenantId() {
+      return tenantId;
+    }
+  }
+
+  /**
+   * An immutable open addressing table of the path prefix routes, keyed by the hash code of the prefixes (stored
+   * without their trailing slashes, see {@link #normalize(String)}). A lookup hashes the path once, char by char, and probes the table at every segment
+   * boundary, comparing the candidates in place: it doesn't allocate.
+   */
+  private static final class PathPrefixTable {
+
+    private final int[] hashes;
+    private final String[] prefixes;
+    private final String[] tenantIds;
+    private final int mask;
+
+    PathPrefixTable(Map<String, String> routes) {
+      int size = Integer.highestOneBit(Math.max(routes.size(), 1) * 4);
+      this.hashes = new int[size];
+      this.prefixes = new String[size];
+      this.tenantIds = new String[size];
+      this.mask = size - 1;
+      for (Map.Entry<String, String> route : routes.entrySet()) {
+        String prefix = route.getKey();
+        int hash = prefix.hashCode();
+        int index = spread(hash) & mask;
+        while (prefixes[index] != null && !prefixes[index].equals(prefix)) {
+          index = (index + 1) & mask;
+        }
+        hashes[index] = hash;
+        prefixes[index] = prefix;
+        tenantIds[index] = route.getValue();
+      }
+    }
+
+    /**
+     * @return The tenant of the longest prefix matching whole segments of the path, null when none matches
+     */
+    String longestMatch(String path) {
+      String tenantId = null;
+      int hash = 0;
+      int length = path.length();
+      for (int i = 0; i <= length; i++) {
+        char c = i < length ? path.charAt(i) : '/';
+        if (c == '/') {
+          String match = get(path, i, hash);
+          if (match != null) {
+            tenantId = match;
+          }
+        }
+        // Same as String.hashCode(), so that hash is the hash code of path[0, i + 1)
+        hash = 31 * hash + c;
+      }
+      return tenantId;
+    }
+
+    private String get(String path, int length, int hash) {
+      int index = spread(hash) & mask;
+      String prefix;
+      while ((prefix = prefixes[index]) != null) {
+        if (hashes[index] == hash && prefix.length() == length && path.regionMatches(0, prefix, 0, length)) {
+          return tenantIds[index];
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    static String normalize(String prefix) {
+      int end = prefix.length();
+      while (end > 0 && prefix.charAt(end - 1) == '/') {
+        end--;
+      }
+      return prefix.substring(0, end);
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+
+  private static final class Tenant<S extends AbstractSigner> {
+
+    /** Avoids writing the last access time (and invalidating the CPU cache line) on every request. */
+    private static final long ACCESS_TIME_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String id;
+    private final Callable<SigningCredentials> credentialsLoader;
+    private volatile S signer;
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    Tenant(String id, Callable<SigningCredentials> credentialsLoader) {
+      this.id = id;
+      this.credentialsLoader = credentialsLoader;
+    }
+
+    S getSigner(Function<SigningCredentials, S> signerFactory) {
+      S current = signer;
+      if (current == null) {
+        current = load(signerFactory);
+      }
+      long now = System.nanoTime();
+      if (now - lastAccessNanos > ACCESS_TIME_RESOLUTION_NANOS) {
+        lastAccessNanos = now;
+      }
+      return current;
+    }
+
+    private synchronized S load(Function<SigningCredentials, S> signerFactory) {
+      if (signer == null) {
+        try {
+          signer = signerFactory.apply(credentialsLoader.call());
+        } catch (Exception e) {
+          throw new IllegalStateException("Unable to load the signing credentials of tenant " + id, e);
+        }
+      }
+      return signer;
+    }
+
+    synchronized boolean evictIfIdle(long now, long idleTimeoutNanos) {
+      if (signer == null || credentialsLoader == null || now - lastAccessNanos <= idleTimeoutNanos) {
+        return false;
+      }
+      signer = null;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+
+import java.security.PrivateKey;
+
+/**
+ * The consumer key, signing key and signature method used for signing the requests of a given tenant.
+ */
+public final class SigningCredentials {
+
+  private final String consumerKey;
+  private final PrivateKey signingKey;
+  private final SignatureMethod signatureMethod;
+
+  public SigningCredentials(String consumerKey, PrivateKey signingKey) {
+    this(consumerKey, signingKey, OAuth.DEFAULT_SIGNATURE_METHOD);
+  }
+
+  public SigningCredentials(String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
+    this.consumerKey = consumerKey;
+    this.signingKey = signingKey;
+    this.signatureMethod = signatureMethod;
+  }
+
+  public String getConsumerKey() {
+    return consumerKey;
+  }
+
+  public PrivateKey getSigningKey() {
+    return signingKey;
+  }
+
+  public SignatureMethod getSignatureMethod() {
+    return signatureMethod;
+  }
+}
@@ -0,0 +1,179 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.ProviderCalibration;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.utils.AuthenticationUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the signing key used by one or more signers, so that the key can be rotated without rebuilding them.
+ * Signing threads read the current key from a volatile field and are never blocked by a rotation. Rotations and
+ * provider changes are serialized, so that none of them is lost when they happen concurrently.
+ * Before being made current, a new key is used once with each of the signature methods given at construction:
+ * this validates the key and warms up the signature code paths, so that the first requests signed with the new
+ * key don't pay for it.
+ * The holder also carries the JCA provider to sign with (null for the default provider): key and provider are
+ * swapped together, so that a request never signs with a key and a provider that don't go together.
+ */
+public final class SigningKeyHolder {
+
+  private static final Logger LOG = Logger.getLogger(SigningKeyHolder.class.getName());
+
+  private final SignatureMethod[] warmUpMethods;
+  private volatile Entry current;
+
+  /**
+   * @param signingKey Initial signing key
+   * @param warmUpMethods Signature methods the key will be used with, {@link OAuth#DEFAULT_SIGNATURE_METHOD} when none is given
+   */
+  public SigningKeyHolder(PrivateKey signingKey, SignatureMethod... warmUpMethods) {
+    this(signingKey, null, warmUpMethods);
+  }
+
+  /**
+   * @param signingKey Initial signing key
+   * @param provider Provider to sign with, null for the default provider
+   * @param warmUpMethods Signature methods the key will be used with, {@link OAuth#DEFAULT_SIGNATURE_METHOD} when none is given
+   */
+  public SigningKeyHolder(PrivateKey signingKey, Provider provider, SignatureMethod... warmUpMethods) {
+    for (SignatureMethod warmUpMethod : warmUpMethods) {
+      checkPrivateKeyMethod(warmUpMethod);
+    }
+    this.warmUpMethods = warmUpMethods.length == 0 ? new SignatureMethod[] { OAuth.DEFAULT_SIGNATURE_METHOD } : warmUpMethods.clone();
+    this.current = new Entry(signingKey, provider);
+  }
+
+  /**
+   * @return The current signing key
+   */
+  public PrivateKey get() {
+    return current.signingKey;
+  }
+
+  /**
+   * @return The current provider, null for the default provider
+   */
+  public Provider getProvider() {
+    return current.provider;
+  }
+
+  /**
+   * @return The current key and provider, to read once per request
+   */
+  Entry current() {
+    return current;
+  }
+
+  /**
+   * Warms up the new key and makes it current. Requests being signed keep using the key they started with.
+   *
+   * @throws IllegalStateException When the new key can't be used for signing, in which case the current key is kept
+   */
+  public synchronized void rotate(PrivateKey newSigningKey) {
+    rotate(newSigningKey, current.provider);
+  }
+
+  /**
+   * Warms up the new key with the new provider and makes both current.
+   *
+   * @param newProvider Provider to sign with, null for the default provider
+   * @throws IllegalStateException When the new key can't be used for signing with the new provider, in which case the current key and provider are kept
+   */
+  public synchronized void rotate(PrivateKey newSigningKey, Provider newProvider) {
+    for (SignatureMethod method : warmUpMethods) {
+      OAuth.warmUp(StandardCharsets.UTF_8, newSigningKey, method, newProvider, 0, 1);
+    }
+    current = new Entry(newSigningKey, newProvider);
+  }
+
+  /**
+   * Warms up the current key with the new provider and makes it current, keeping the key.
+   *
+   * @throws IllegalStateException When the current key can't be used for signing with the new provider
+   */
+  synchronized void rotateProvider(Provider newProvider) {
+    rotate(current.signingKey, newProvider);
+  }
+
+  /**
+   * Benchmarks the installed providers with the current key and the first warm-up method, then switches to the
+   * fastest one producing valid signatures.
+   *
+   * @return The benchmark results
+   * @throws IllegalStateException When no installed provider produces valid signatures
+   * @see ProviderCalibration#calibrate(PrivateKey, SignatureMethod)
+   */
+  public ProviderCalibration calibrateProvider() {
+    ProviderCalibration calibration = ProviderCalibration.calibrate(get(), warmUpMethods[0]);
+    rotateProvider(calibration.getSelectedProvider());
+    return calibration;
+  }
+
+  /**
+   * Polls a PKCS#12 container and rotates the key whenever the file changes (last modified time or size).
+   * Failures (for instance a file being written) are logged and retried at the next poll.
+   *
+   * @return A handle to close for stopping the watch
+   */
+  public Closeable watchPkcs12File(String pkcs12KeyFilePath, String signingKeyAlias, String signingKeyPassword,
+                                   long pollInterval, TimeUnit unit) throws IOException {
+    Path file = Paths.get(pkcs12KeyFilePath);
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "oauth1-signing-key-watcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    final String[] lastFingerprint = { fingerprint(file) };
+    executor.scheduleWithFixedDelay(() -> {
+      try {
+        String fingerprint = fingerprint(file);
+        if (!fingerprint.equals(lastFingerprint[0])) {
+          rotate(AuthenticationUtils.loadSigningKey(pkcs12KeyFilePath, signingKeyAlias, signingKeyPassword));
+          lastFingerprint[0] = fingerprint;
+        }
+      } catch (Exception e) {
+        LOG.log(Level.WARNING, "Unable to reload the signing key from " + pkcs12KeyFilePath + ", will retry", e);
+      }
+    }, pollInterval, pollInterval, unit);
+    return executor::shutdownNow;
+  }
+
+  /**
+   * @throws IllegalArgumentException When the method doesn't sign with a private key
+   */
+  static void checkPrivateKeyMethod(SignatureMethod signatureMethod) {
+    if (signatureMethod == SignatureMethod.HMAC_SHA256) {
+      throw new IllegalArgumentException("HMAC-SHA256 signs with a HmacSigningKey, not with a private key");
+    }
+  }
+
+  static final class Entry {
+    final PrivateKey signingKey;
+    final Provider provider;
+
+    private Entry(PrivateKey signingKey, Provider provider) {
+      this.signingKey = signingKey;
+      this.provider = provider;
+    }
+  }
+
+  private static String fingerprint(Path file) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    return attributes.lastModifiedTime().toMillis() + "/" + attributes.size();
+  }
+}
@@ -2,17 +2,19 @@ package com.mastercard.developer.signers;
 
 import com.mastercard.developer.oauth.OAuth;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 import com.mastercard.developer.oauth.SignatureMethod;
-import org.springframework.http.HttpMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 /**
- * Utility class for signing Spring RestTemplate requests.
+ * Utility class for signing Spring RestTemplate and RestClient requests.
  */
 public class SpringHttpRequestSigner extends AbstractSigner {
     
@@ -23,13 +25,47 @@ public class SpringHttpRequestSigner extends AbstractSigner {
     public SpringHttpRequestSigner(String consumerKey, PrivateKey signingKey, SignatureMethod signatureMethod) {
         super(consumerKey, signingKey, signatureMethod);
     }
+
+    public SpringHttpRequestSigner(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        super(Charset.defaultCharset(), consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+     */
+    public SpringHttpRequestSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+        super(charset, consumerKey, hmacKey);
+    }
+
+    /**
+     * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+     */
+    public SpringHttpRequestSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+        super(charset, consumerKey, signingKeyHandle);
+    }
     
     public void sign(HttpRequest request, byte[] bytes) {
-        HttpMethod method = request.getMethod();
+        SigningSample sample = startSample();
+        String bodyHash = OAuth.getBodyHash(bytes);
+        if (sample != null) {
+            sample.setBodySize(bytes == null ? 0 : bytes.length);
+            sample.endPhase(SigningSample.Phase.BODY_HASHING);
+        }
+        signWithBodyHash(request, bodyHash, sample);
+    }
+
+    /**
+     * Signs a request whose body hash was computed while streaming the body.
+     * @see com.mastercard.developer.oauth.BodyHashOutputStream
+     */
+    public void signWithBodyHash(HttpRequest request, String bodyHash) {
+        signWithBodyHash(request, bodyHash, startSample());
+    }
+
+    private void signWithBodyHash(HttpRequest request, String bodyHash, SigningSample sample) {
         HttpHeaders headers = request.getHeaders();
         Charset charset = getCharset(headers);
-        String payload = (null == bytes ? null : new String(bytes, charset));
-        String authHeader = OAuth.getAuthorizationHeader(request.getURI(), method.toString(), payload, charset, consumerKey, signingKey, signatureMethod);
+        String authHeader = getAuthorizationHeader(request.getURI(), request.getMethod().name(), bodyHash, charset, sample);
         headers.add(OAuth.AUTHORIZATION_HEADER_NAME, authHeader);
     }
     
@@ -3,13 +3,17 @@ package com.mastercard.developer.signers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningKeyHandle;
+import com.mastercard.developer.oauth.SigningSample;
 import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import reactor.core.publisher.Mono;
 
+import javax.crypto.SecretKey;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.security.PrivateKey;
 
 /**
@@ -25,13 +29,33 @@ public class SpringWebfluxSigner extends AbstractSigner {
         super(consumerKey, signingKey, signatureMethod);
     }
 
+    public SpringWebfluxSigner(String consumerKey, SigningKeyHolder signingKeyHolder, SignatureMethod signatureMethod) {
+        super(Charset.defaultCharset(), consumerKey, signingKeyHolder, signatureMethod);
+    }
+
+    /**
+     * Signs with the HMAC-SHA256 signature method, see {@link OAuth#getHmacKey(String, String)}.
+     */
+    public SpringWebfluxSigner(Charset charset, String consumerKey, SecretKey hmacKey) {
+        super(charset, consumerKey, hmacKey);
+    }
+
+    /**
+     * Signs with a key held outside of the application, see {@link SigningKeyHandle}.
+     */
+    public SpringWebfluxSigner(Charset charset, String consumerKey, SigningKeyHandle signingKeyHandle) {
+        super(charset, consumerKey, signingKeyHandle);
+    }
+
     public ClientRequest sign(ClientRequest request) throws Exception {
+        SigningSample sample = startSample();
         URI uri = request.url();
         String method = request.method().name();
         BodyInserterWrapper<Object> bodyInserterWrapper = (BodyInserterWrapper<Object>) request.body();
         String payload = new ObjectMapper().writeValueAsString(bodyInserterWrapper.getBody());
 
-        String authHeader = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
+        endPhase(sample, SigningSample.Phase.BODY_CAPTURE);
+        String authHeader = getAuthorizationHeaderForPayload(uri, method, payload, sample);
 
         // Add auth header
         return Mono.just(ClientRequest.from(request)
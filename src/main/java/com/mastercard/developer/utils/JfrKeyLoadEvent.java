@@ -0,0 +1,51 @@
+package com.mastercard.developer.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.security.PrivateKey;
+
+/**
+ * The oauth.KeyLoad JFR event. Only loaded by {@link KeyLoadEvents} once the jdk.jfr module is known to be present.
+ */
+@Name("oauth.KeyLoad")
+@Label("Signing Key Load")
+@Description("Loading of a signing key by AuthenticationUtils or SigningKeyCache")
+@Category({ "Mastercard", "OAuth1 Signer" })
+@Enabled(false)
+final class JfrKeyLoadEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(JfrKeyLoadEvent.class);
+
+    @Label("Source")
+    String source;
+    @Label("Key Algorithm")
+    String keyAlgorithm;
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    static Object beginEvent() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrKeyLoadEvent event = new JfrKeyLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitEvent(Object handle, String source, PrivateKey key, boolean cacheHit) {
+        JfrKeyLoadEvent event = (JfrKeyLoadEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.keyAlgorithm = key == null ? null : key.getAlgorithm();
+            event.cacheHit = cacheHit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mastercard.developer.utils;
+
+import java.security.PrivateKey;
+
+/**
+ * Emits the oauth.KeyLoad JDK Flight Recorder events of {@link AuthenticationUtils} and {@link SigningKeyCache},
+ * like com.mastercard.developer.oauth.SigningEvents does for the signing events: begin returns null when the event
+ * is disabled or the jdk.jfr module is missing, and commit accepts that null.
+ */
+final class KeyLoadEvents {
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    private KeyLoadEvents() {
+    }
+
+    static Object begin() {
+        return JFR_AVAILABLE ? JfrKeyLoadEvent.beginEvent() : null;
+    }
+
+    /**
+     * @param source What the key was loaded from, for instance "PKCS#12"
+     * @param key The loaded key, null when loading failed
+     * @param cacheHit Whether the key was served from a cache
+     */
+    static void commit(Object event, String source, PrivateKey key, boolean cacheHit) {
+        if (event != null) {
+            JfrKeyLoadEvent.commitEvent(event, source, key, cacheHit);
+        }
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, KeyLoadEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
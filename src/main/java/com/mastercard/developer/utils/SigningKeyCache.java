@@ -0,0 +1,168 @@
+package com.mastercard.developer.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * An in-process cache on top of {@link AuthenticationUtils}, for applications loading many keys
+ * (for instance one per tenant) out of a limited number of files.
+ * Each key file is read and decrypted once, and PKCS#12 containers are loaded once whatever the number of aliases read from them.
+ * Entries are keyed by absolute file path, alias and an HMAC of the password under a random per-cache key, so a wrong
+ * password never returns a cached key and the cache keys don't reveal the passwords (in a heap dump, for instance).
+ * Loading happens outside of any lock: concurrent requests for the same entry wait for a single load, requests for
+ * other entries don't wait.
+ */
+public final class SigningKeyCache {
+
+    private static final String PASSWORD_MAC_ALGORITHM = "HmacSHA256";
+
+    private final ConcurrentHashMap<String, CompletableFuture<KeyStore>> keyStores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<PrivateKey>> keys = new ConcurrentHashMap<>();
+    private final SecretKeySpec passwordMacKey;
+
+    public SigningKeyCache() {
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        this.passwordMacKey = new SecretKeySpec(salt, PASSWORD_MAC_ALGORITHM);
+    }
+
+    /**
+     * @see AuthenticationUtils#loadSigningKey(String, String, String)
+     */
+    public PrivateKey loadSigningKey(String pkcs12KeyFilePath, String signingKeyAlias, String signingKeyPassword) throws IOException, GeneralSecurityException {
+        String keyStoreKey = cacheKey(pkcs12KeyFilePath, null, signingKeyPassword);
+        return load(keyStoreKey + '\n' + signingKeyAlias, AuthenticationUtils.PKCS12_SOURCE, () -> {
+            Object event = KeyLoadEvents.begin();
+            KeyStore keyStore = load(keyStores, keyStoreKey, () -> {
+                KeyStore pkcs12KeyStore = KeyStore.getInstance("PKCS12");
+                try (InputStream pkcs12KeyInputStream = new FileInputStream(pkcs12KeyFilePath)) {
+                    pkcs12KeyStore.load(pkcs12KeyInputStream, signingKeyPassword.toCharArray());
+                }
+                return pkcs12KeyStore;
+            });
+            PrivateKey signingKey = AuthenticationUtils.loadSigningKey(keyStore, signingKeyAlias, signingKeyPassword);
+            KeyLoadEvents.commit(event, AuthenticationUtils.PKCS12_SOURCE, signingKey, false);
+            return signingKey;
+        });
+    }
+
+    /**
+     * @see AuthenticationUtils#loadPkcs8SigningKey(String)
+     */
+    public PrivateKey loadPkcs8SigningKey(String pkcs8KeyFilePath) throws IOException, GeneralSecurityException {
+        return load(cacheKey(pkcs8KeyFilePath, null, null), AuthenticationUtils.PKCS8_SOURCE, () -> AuthenticationUtils.loadPkcs8SigningKey(pkcs8KeyFilePath));
+    }
+
+    /**
+     * @see AuthenticationUtils#loadEncryptedPkcs8SigningKey(String, String)
+     */
+    public PrivateKey loadEncryptedPkcs8SigningKey(String pkcs8KeyFilePath, String signingKeyPassword) throws IOException, GeneralSecurityException {
+        return load(cacheKey(pkcs8KeyFilePath, null, signingKeyPassword), AuthenticationUtils.ENCRYPTED_PKCS8_SOURCE,
+                () -> AuthenticationUtils.loadEncryptedPkcs8SigningKey(pkcs8KeyFilePath, signingKeyPassword));
+    }
+
+    /**
+     * Removes all the cached containers and keys, for instance once all the keys needed at startup have been loaded.
+     */
+    public void clear() {
+        keyStores.clear();
+        keys.clear();
+    }
+
+    /**
+     * @return The number of cached keys, not counting the keys being loaded
+     */
+    public int size() {
+        int size = 0;
+        for (CompletableFuture<PrivateKey> key : keys.values()) {
+            if (key.isDone() && !key.isCompletedExceptionally()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Cache hits are reported as oauth.KeyLoad JFR events here, misses by the loader.
+     */
+    private PrivateKey load(String cacheKey, String source, Loader<PrivateKey> loader) throws IOException, GeneralSecurityException {
+        Object event = KeyLoadEvents.begin();
+        CompletableFuture<PrivateKey> cached = keys.get(cacheKey);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            PrivateKey signingKey = cached.join();
+            KeyLoadEvents.commit(event, source, signingKey, true);
+            return signingKey;
+        }
+        return load(keys, cacheKey, loader);
+    }
+
+    /**
+     * Loads the value of a cache key once: the first caller loads it, outside of the map locks, and the concurrent
+     * callers wait for it. Failed loads aren't cached.
+     */
+    private static <T> T load(ConcurrentHashMap<String, CompletableFuture<T>> cache, String cacheKey, Loader<T> loader) throws IOException, GeneralSecurityException {
+        CompletableFuture<T> value = cache.get(cacheKey);
+        if (value == null) {
+            CompletableFuture<T> loading = new CompletableFuture<>();
+            value = cache.putIfAbsent(cacheKey, loading);
+            if (value == null) {
+                try {
+                    T loaded = loader.load();
+                    loading.complete(loaded);
+                    return loaded;
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    cache.remove(cacheKey, loading);
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return value.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a signing key to load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    private String cacheKey(String filePath, String alias, String password) throws GeneralSecurityException {
+        StringBuilder key = new StringBuilder(Paths.get(filePath).toAbsolutePath().normalize().toString());
+        if (alias != null) {
+            key.append('\n').append(alias);
+        }
+        if (password != null) {
+            Mac mac = Mac.getInstance(PASSWORD_MAC_ALGORITHM);
+            mac.init(passwordMacKey);
+            key.append('\n').append(Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8))));
+        }
+        return key.toString();
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws IOException, GeneralSecurityException;
+    }
+}
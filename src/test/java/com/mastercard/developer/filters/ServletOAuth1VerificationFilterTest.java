@@ -0,0 +1,141 @@
+package com.mastercard.developer.filters;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.OAuthVerifier;
+import com.mastercard.developer.test.TestUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ServletOAuth1VerificationFilterTest {
+
+    private static final URI REQUEST_URI = URI.create("https://api.mastercard.com/service?b=2&a=1");
+    private static final String PAYLOAD = "{\"foo\":\"bår\"}";
+
+    @Test
+    public void testDoFilter_ShouldPassAuthenticatedRequestWithBody() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD), PAYLOAD);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> body.set(readBody(req)));
+
+        Assertions.assertEquals(PAYLOAD, body.get());
+        Assertions.assertEquals(200, response.getStatus());
+        OAuthVerifier.Result result = (OAuthVerifier.Result) request.getAttribute(ServletOAuth1VerificationFilter.RESULT_ATTRIBUTE);
+        Assertions.assertEquals("ckey", result.getConsumerKey());
+    }
+
+    @Test
+    public void testDoFilter_ShouldRejectRequestWithInvalidSignature_WithoutCallingChain() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD).replace("ckey", "other"), PAYLOAD);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> Assertions.fail("The chain must not be called");
+
+        filter.doFilter(request, response, chain);
+
+        Assertions.assertEquals(401, response.getStatus());
+        Assertions.assertEquals("OAuth", response.getHeader("WWW-Authenticate"));
+    }
+
+    @Test
+    public void testDoFilter_ShouldFailBodyRead_WhenBodyDoesNotMatchHash() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Exception> readFailure = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            try {
+                readBody(req);
+            } catch (ServletOAuth1VerificationFilter.BodyHashMismatchException e) {
+                readFailure.set(e);
+                throw e;
+            }
+        });
+
+        Assertions.assertNotNull(readFailure.get());
+        Assertions.assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    public void testDoFilter_ShouldVerifyUnreadBody_WhenChainReturns() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD), PAYLOAD);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.getInputStream().read(new byte[3]));
+
+        Assertions.assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testDoFilter_ShouldRejectPartiallyReadBody_WhenUnreadPartDoesNotMatchHash() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.getInputStream().read(new byte[3]));
+
+        Assertions.assertEquals(401, response.getStatus());
+        Assertions.assertEquals("OAuth", response.getHeader("WWW-Authenticate"));
+    }
+
+    @Test
+    public void testDoFilter_ShouldRejectRequest_WhenBodyWasConsumedOutsideFilter() throws Exception {
+        ServletOAuth1VerificationFilter filter = new ServletOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockHttpServletRequest request = newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Like a container parsing form parameters from the wrapped request
+        filter.doFilter(request, response, (req, res) -> ((ServletRequestWrapper) req).getRequest().getInputStream().readAllBytes());
+
+        Assertions.assertEquals(401, response.getStatus());
+    }
+
+    private static MockHttpServletRequest newRequest(String authorizationHeader, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", REQUEST_URI.getPath());
+        request.setScheme(REQUEST_URI.getScheme());
+        request.setServerName(REQUEST_URI.getHost());
+        request.setServerPort(443);
+        request.setQueryString(REQUEST_URI.getRawQuery());
+        request.addHeader("Authorization", authorizationHeader);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String readBody(ServletRequest request) throws java.io.IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = request.getInputStream();
+        byte[] buffer = new byte[4];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String sign(String payload) throws Exception {
+        return OAuth.getAuthorizationHeader(REQUEST_URI, "POST", payload, StandardCharsets.UTF_8, "ckey", TestUtils.getTestSigningKey());
+    }
+
+    private static java.security.PublicKey getTestPublicKey() {
+        try {
+            return TestUtils.getTestPublicKey();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
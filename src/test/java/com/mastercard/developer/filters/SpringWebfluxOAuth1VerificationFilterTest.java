@@ -0,0 +1,129 @@
+package com.mastercard.developer.filters;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.OAuthVerifier;
+import com.mastercard.developer.test.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SpringWebfluxOAuth1VerificationFilterTest {
+
+    private static final URI REQUEST_URI = URI.create("https://api.mastercard.com/service?b=2&a=1");
+    private static final String PAYLOAD = "{\"foo\":\"bår\"}";
+
+    @Test
+    public void testFilter_ShouldPassAuthenticatedRequestWithBody() throws Exception {
+        SpringWebfluxOAuth1VerificationFilter filter = new SpringWebfluxOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockServerWebExchange exchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), PAYLOAD));
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.filter(exchange, readBody(body)).block();
+
+        Assertions.assertEquals(PAYLOAD, body.get());
+        Assertions.assertNull(exchange.getResponse().getStatusCode());
+        OAuthVerifier.Result result = exchange.getAttribute(SpringWebfluxOAuth1VerificationFilter.RESULT_ATTRIBUTE);
+        Assertions.assertEquals("ckey", result.getConsumerKey());
+    }
+
+    @Test
+    public void testFilter_ShouldRejectRequestWithInvalidSignature_WithoutCallingChain() throws Exception {
+        SpringWebfluxOAuth1VerificationFilter filter = new SpringWebfluxOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockServerWebExchange exchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD).replace("ckey", "other"), PAYLOAD));
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.filter(exchange, ex -> {
+            called.set(true);
+            return Mono.empty();
+        }).block();
+
+        Assertions.assertFalse(called.get());
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void testFilter_ShouldFailBody_WhenBodyDoesNotMatchHash() throws Exception {
+        SpringWebfluxOAuth1VerificationFilter filter = new SpringWebfluxOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockServerWebExchange exchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}"));
+
+        ResponseStatusException e = Assertions.assertThrows(ResponseStatusException.class,
+                () -> filter.filter(exchange, readBody(new AtomicReference<>())).block());
+
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+    }
+
+    @Test
+    public void testFilter_ShouldVerifyUnreadBody_WhenChainCompletes() throws Exception {
+        SpringWebfluxOAuth1VerificationFilter filter = new SpringWebfluxOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockServerWebExchange validExchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), PAYLOAD));
+        MockServerWebExchange invalidExchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}"));
+
+        filter.filter(validExchange, ex -> Mono.empty()).block();
+        filter.filter(invalidExchange, ex -> Mono.empty()).block();
+
+        Assertions.assertNull(validExchange.getResponse().getStatusCode());
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, invalidExchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void testFilter_ShouldVerifyUnreadBody_BeforeResponseIsCommitted() throws Exception {
+        SpringWebfluxOAuth1VerificationFilter filter = new SpringWebfluxOAuth1VerificationFilter(new OAuthVerifier(consumerKey -> getTestPublicKey()));
+        MockServerWebExchange validExchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), PAYLOAD));
+        MockServerWebExchange invalidExchange = MockServerWebExchange.from(newRequest(sign(PAYLOAD), "{\"foo\":\"baz\"}"));
+
+        filter.filter(validExchange, writeResponse("accepted")).block();
+        filter.filter(invalidExchange, writeResponse("accepted")).block();
+
+        Assertions.assertEquals(HttpStatus.OK, validExchange.getResponse().getStatusCode());
+        Assertions.assertEquals("accepted", validExchange.getResponse().getBodyAsString().block());
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, invalidExchange.getResponse().getStatusCode());
+        Assertions.assertEquals("OAuth", invalidExchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE));
+        Assertions.assertEquals("", invalidExchange.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    private static MockServerHttpRequest newRequest(String authorizationHeader, String body) {
+        return MockServerHttpRequest.post(REQUEST_URI.toString())
+                .header(HttpHeaders.AUTHORIZATION, authorizationHeader)
+                .body(body);
+    }
+
+    private static WebFilterChain readBody(AtomicReference<String> body) {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(buffer -> {
+                    body.set(buffer.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(buffer);
+                })
+                .then();
+    }
+
+    private static WebFilterChain writeResponse(String body) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static String sign(String payload) throws Exception {
+        return OAuth.getAuthorizationHeader(REQUEST_URI, "POST", payload, StandardCharsets.UTF_8, "ckey", TestUtils.getTestSigningKey());
+    }
+
+    private static java.security.PublicKey getTestPublicKey() {
+        try {
+            return TestUtils.getTestPublicKey();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
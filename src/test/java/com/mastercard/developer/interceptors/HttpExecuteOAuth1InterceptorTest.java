@@ -36,7 +36,7 @@ class HttpExecuteOAuth1InterceptorTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     void constructor_shouldInstantiateSignerWithGivenSignatureMethod(SignatureMethod signatureMethod) throws Exception {
         PrivateKey signingKey = TestUtils.getTestSigningKey();
         String consumerKey = "consumer-key";
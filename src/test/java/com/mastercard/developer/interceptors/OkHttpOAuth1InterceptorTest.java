@@ -2,7 +2,11 @@ package com.mastercard.developer.interceptors;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.WarmUpReport;
 import com.mastercard.developer.signers.OkHttpSigner;
+import com.mastercard.developer.signers.PreSignedHeaderPool;
+import com.mastercard.developer.signers.SignerRegistry;
+import com.mastercard.developer.signers.SigningCredentials;
 import com.mastercard.developer.test.TestUtils;
 import okhttp3.Interceptor;
 import okhttp3.Request;
@@ -11,10 +15,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.net.URI;
 import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
 
 class OkHttpOAuth1InterceptorTest {
 
@@ -38,7 +46,7 @@ class OkHttpOAuth1InterceptorTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     void constructor_shouldInstantiateSignerWithGivenSignatureMethod(SignatureMethod signatureMethod) throws Exception {
         PrivateKey signingKey = TestUtils.getTestSigningKey();
         String consumerKey = "consumer-key";
@@ -79,4 +87,82 @@ class OkHttpOAuth1InterceptorTest {
             Assertions.assertSame(expectedResponse, actualResponse);
         }
     }
+
+    @Test
+    void intercept_shouldSignRequestWithSignerResolvedFromRegistry() throws Exception {
+        PrivateKey signingKey = TestUtils.getTestSigningKey();
+        SignerRegistry<OkHttpSigner> registry = new SignerRegistry<>(c -> new OkHttpSigner(c.getConsumerKey(), c.getSigningKey()), 1, TimeUnit.HOURS)
+                .register("tenant-a", new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", new SigningCredentials("key-b", signingKey))
+                .routeHost("api.mastercard.com", "tenant-a");
+        OkHttpOAuth1Interceptor instanceUnderTest = new OkHttpOAuth1Interceptor(registry);
+
+        Assertions.assertTrue(interceptAndGetAuthorizationHeader(instanceUnderTest, new Request.Builder()
+                .url("https://api.mastercard.com/resource")
+                .build()).contains("oauth_consumer_key=\"key-a\""));
+        Assertions.assertTrue(interceptAndGetAuthorizationHeader(instanceUnderTest, new Request.Builder()
+                .url("https://api.mastercard.com/resource")
+                .tag(SignerRegistry.TenantTag.class, SignerRegistry.TenantTag.of("tenant-b"))
+                .build()).contains("oauth_consumer_key=\"key-b\""));
+    }
+
+    @Test
+    void intercept_shouldThrowIOException_WhenNoTenantMatches() {
+        SignerRegistry<OkHttpSigner> registry = new SignerRegistry<>(c -> new OkHttpSigner(c.getConsumerKey(), c.getSigningKey()), 1, TimeUnit.HOURS);
+        OkHttpOAuth1Interceptor instanceUnderTest = new OkHttpOAuth1Interceptor(registry);
+
+        IOException exception = Assertions.assertThrows(IOException.class, () -> interceptAndGetAuthorizationHeader(instanceUnderTest,
+                new Request.Builder().url("https://api.mastercard.com/resource").build()));
+        Assertions.assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void warmUp_shouldWarmUpSigner() throws Exception {
+        try (MockedConstruction<OkHttpSigner> mocked = Mockito.mockConstruction(OkHttpSigner.class)) {
+            OkHttpOAuth1Interceptor instanceUnderTest = new OkHttpOAuth1Interceptor("consumer-key", TestUtils.getTestSigningKey());
+            OkHttpSigner signerMock = mocked.constructed().get(0);
+            WarmUpReport expectedReport = new WarmUpReport(1, 2, 3);
+            Mockito.when(signerMock.warmUp()).thenReturn(expectedReport);
+            Mockito.when(signerMock.isWarmedUp()).thenReturn(true);
+
+            Assertions.assertSame(expectedReport, instanceUnderTest.warmUp());
+            Assertions.assertTrue(instanceUnderTest.isWarmedUp());
+        }
+    }
+
+    @Test
+    void intercept_shouldUsePreSignedHeaders_WhenPoolCreated() throws Exception {
+        OkHttpOAuth1Interceptor instanceUnderTest = new OkHttpOAuth1Interceptor("consumer-key", TestUtils.getTestSigningKey());
+        URI uri = URI.create("https://api.mastercard.com/status");
+
+        try (PreSignedHeaderPool pool = instanceUnderTest.createPreSignedHeaderPool(2, 1, TimeUnit.MINUTES)) {
+            pool.register("GET", uri);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.getReadyCount("GET", uri) < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            String header = interceptAndGetAuthorizationHeader(instanceUnderTest, new Request.Builder().url(uri.toString()).build());
+
+            Assertions.assertTrue(header.contains("oauth_consumer_key=\"consumer-key\""));
+            Assertions.assertEquals(1, pool.getHits());
+        }
+    }
+
+    @Test
+    void createPreSignedHeaderPool_shouldThrowIllegalStateException_WhenRegistry() {
+        SignerRegistry<OkHttpSigner> registry = new SignerRegistry<>(c -> new OkHttpSigner(c.getConsumerKey(), c.getSigningKey()), 1, TimeUnit.HOURS);
+        OkHttpOAuth1Interceptor instanceUnderTest = new OkHttpOAuth1Interceptor(registry);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> instanceUnderTest.createPreSignedHeaderPool(2, 1, TimeUnit.MINUTES));
+    }
+
+    private static String interceptAndGetAuthorizationHeader(Interceptor interceptor, Request request) throws Exception {
+        Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+        interceptor.intercept(chain);
+        Mockito.verify(chain).proceed(captor.capture());
+        return captor.getValue().header(OAuth.AUTHORIZATION_HEADER_NAME);
+    }
 }
@@ -0,0 +1,82 @@
+package com.mastercard.developer.interceptors;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.signers.SpringHttpRequestSigner;
+import com.mastercard.developer.test.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.security.PrivateKey;
+
+class SpringHttpRequestOAuth1InterceptorTest {
+
+    @Test
+    void constructor_shouldInstantiateSignerWithDefaultSignatureMethod() throws Exception {
+        PrivateKey signingKey = TestUtils.getTestSigningKey();
+        String consumerKey = "consumer-key";
+        MockedConstruction.Context[] capturedContext = new MockedConstruction.Context[1];
+
+        try (MockedConstruction<SpringHttpRequestSigner> mocked = Mockito.mockConstruction(
+                SpringHttpRequestSigner.class,
+                (mock, context) -> capturedContext[0] = context)) {
+            new SpringHttpRequestOAuth1Interceptor(consumerKey, signingKey);
+
+            Assertions.assertEquals(1, mocked.constructed().size());
+            MockedConstruction.Context context = capturedContext[0];
+            Assertions.assertEquals(consumerKey, context.arguments().get(0));
+            Assertions.assertEquals(signingKey, context.arguments().get(1));
+            Assertions.assertEquals(OAuth.DEFAULT_SIGNATURE_METHOD, context.arguments().get(2));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
+    void constructor_shouldInstantiateSignerWithGivenSignatureMethod(SignatureMethod signatureMethod) throws Exception {
+        PrivateKey signingKey = TestUtils.getTestSigningKey();
+        String consumerKey = "consumer-key";
+        MockedConstruction.Context[] capturedContext = new MockedConstruction.Context[1];
+
+        try (MockedConstruction<SpringHttpRequestSigner> mocked = Mockito.mockConstruction(
+                SpringHttpRequestSigner.class,
+                (mock, context) -> capturedContext[0] = context)) {
+            new SpringHttpRequestOAuth1Interceptor(consumerKey, signingKey, signatureMethod);
+
+            Assertions.assertEquals(1, mocked.constructed().size());
+            MockedConstruction.Context context = capturedContext[0];
+            Assertions.assertEquals(consumerKey, context.arguments().get(0));
+            Assertions.assertEquals(signingKey, context.arguments().get(1));
+            Assertions.assertEquals(signatureMethod, context.arguments().get(2));
+        }
+    }
+
+    @Test
+    void intercept_shouldSignRequestAndProceed() throws Exception {
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        ClientHttpRequestExecution execution = Mockito.mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse expectedResponse = Mockito.mock(ClientHttpResponse.class);
+        byte[] body = "{\"foo\":\"bar\"}".getBytes();
+        PrivateKey signingKey = TestUtils.getTestSigningKey();
+        String consumerKey = "consumer-key";
+
+        Mockito.when(execution.execute(request, body)).thenReturn(expectedResponse);
+
+        try (MockedConstruction<SpringHttpRequestSigner> mocked = Mockito.mockConstruction(SpringHttpRequestSigner.class)) {
+            SpringHttpRequestOAuth1Interceptor instanceUnderTest = new SpringHttpRequestOAuth1Interceptor(consumerKey, signingKey, SignatureMethod.RSA_SHA256);
+            SpringHttpRequestSigner signerMock = mocked.constructed().get(0);
+
+            ClientHttpResponse actualResponse = instanceUnderTest.intercept(request, body, execution);
+
+            Mockito.verify(signerMock).sign(request, body);
+            Mockito.verify(execution).execute(request, body);
+            Assertions.assertSame(expectedResponse, actualResponse);
+        }
+    }
+}
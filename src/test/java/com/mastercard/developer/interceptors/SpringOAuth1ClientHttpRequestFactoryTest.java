@@ -0,0 +1,117 @@
+package com.mastercard.developer.interceptors;
+
+import com.mastercard.developer.oauth.OAuth;
+import com.mastercard.developer.test.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SpringOAuth1ClientHttpRequestFactoryTest {
+
+    private static final URI REQUEST_URI = URI.create("https://api.mastercard.com/service");
+    private static final byte[] BODY = "{\"foo\":\"bår\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpHeaders headers;
+    private ByteArrayOutputStream sentBody;
+    private ClientHttpRequest delegateRequest;
+    private ClientHttpResponse expectedResponse;
+    private SpringOAuth1ClientHttpRequestFactory instanceUnderTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        headers = new HttpHeaders();
+        sentBody = new ByteArrayOutputStream();
+        delegateRequest = Mockito.mock(ClientHttpRequest.class);
+        expectedResponse = Mockito.mock(ClientHttpResponse.class);
+        Mockito.when(delegateRequest.getHeaders()).thenReturn(headers);
+        Mockito.when(delegateRequest.getURI()).thenReturn(REQUEST_URI);
+        Mockito.when(delegateRequest.getMethod()).thenReturn(HttpMethod.POST);
+        Mockito.when(delegateRequest.getBody()).thenReturn(sentBody);
+        Mockito.when(delegateRequest.execute()).thenReturn(expectedResponse);
+        ClientHttpRequestFactory delegateFactory = Mockito.mock(ClientHttpRequestFactory.class);
+        Mockito.when(delegateFactory.createRequest(REQUEST_URI, HttpMethod.POST)).thenReturn(delegateRequest);
+        instanceUnderTest = new SpringOAuth1ClientHttpRequestFactory(delegateFactory, "consumer-key", TestUtils.getTestSigningKey());
+    }
+
+    @Test
+    void execute_shouldSignAndSendBufferedBody() throws Exception {
+        ClientHttpRequest request = instanceUnderTest.createRequest(REQUEST_URI, HttpMethod.POST);
+        request.getBody().write(BODY);
+
+        ClientHttpResponse actualResponse = request.execute();
+
+        Assertions.assertSame(expectedResponse, actualResponse);
+        Assertions.assertArrayEquals(BODY, sentBody.toByteArray());
+        assertBodyHash(OAuth.getBodyHash(BODY));
+    }
+
+    @Test
+    void execute_shouldHashRepeatableStreamingBodyWithoutBuffering() throws Exception {
+        AtomicInteger writeCount = new AtomicInteger();
+        ClientHttpRequest request = instanceUnderTest.createRequest(REQUEST_URI, HttpMethod.POST);
+        ((StreamingHttpOutputMessage) request).setBody(new StreamingHttpOutputMessage.Body() {
+            @Override
+            public void writeTo(OutputStream outputStream) throws IOException {
+                writeCount.incrementAndGet();
+                outputStream.write(BODY);
+            }
+
+            @Override
+            public boolean repeatable() {
+                return true;
+            }
+        });
+
+        request.execute();
+
+        Assertions.assertEquals(2, writeCount.get()); // Once for hashing, once for sending
+        Assertions.assertArrayEquals(BODY, sentBody.toByteArray());
+        assertBodyHash(OAuth.getBodyHash(BODY));
+    }
+
+    @Test
+    void execute_shouldBufferNonRepeatableStreamingBodyOnce() throws Exception {
+        AtomicInteger writeCount = new AtomicInteger();
+        ClientHttpRequest request = instanceUnderTest.createRequest(REQUEST_URI, HttpMethod.POST);
+        ((StreamingHttpOutputMessage) request).setBody(outputStream -> {
+            writeCount.incrementAndGet();
+            outputStream.write(BODY);
+        });
+
+        request.execute();
+
+        Assertions.assertEquals(1, writeCount.get());
+        Assertions.assertArrayEquals(BODY, sentBody.toByteArray());
+        assertBodyHash(OAuth.getBodyHash(BODY));
+    }
+
+    @Test
+    void execute_shouldSignRequestWithoutBody() throws Exception {
+        ClientHttpRequest request = instanceUnderTest.createRequest(REQUEST_URI, HttpMethod.POST);
+
+        request.execute();
+
+        Assertions.assertEquals(0, sentBody.size());
+        assertBodyHash(OAuth.getBodyHash((byte[]) null));
+    }
+
+    private void assertBodyHash(String expectedBodyHash) {
+        String authorizationHeader = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        Assertions.assertNotNull(authorizationHeader);
+        Assertions.assertTrue(authorizationHeader.contains("oauth_body_hash=\"" + expectedBodyHash + "\""), authorizationHeader);
+    }
+}
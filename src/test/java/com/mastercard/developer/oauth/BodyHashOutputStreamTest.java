@@ -0,0 +1,37 @@
+package com.mastercard.developer.oauth;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BodyHashOutputStreamTest {
+
+  @Test
+  public void testGetBodyHash_ShouldMatchBodyHashOfBytesWritten() throws Exception {
+
+    // GIVEN
+    byte[] payload = "{\"foõ\":\"bar\"}".getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+    // WHEN
+    BodyHashOutputStream instanceUnderTest = new BodyHashOutputStream(target);
+    instanceUnderTest.write(payload[0]);
+    instanceUnderTest.write(payload, 1, payload.length - 1);
+
+    // THEN
+    assertEquals("+Z+PWW2TJDnPvRcTgol+nKO3LT7xm8smnsg+//XMIyI=", instanceUnderTest.getBodyHash());
+    assertEquals(payload.length, instanceUnderTest.getCount());
+    assertArrayEquals(payload, target.toByteArray());
+  }
+
+  @Test
+  public void testGetBodyHash_ShouldHashEmptyString_WhenNothingWritten() {
+    BodyHashOutputStream instanceUnderTest = new BodyHashOutputStream();
+    assertEquals("47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=", instanceUnderTest.getBodyHash());
+    assertEquals(instanceUnderTest.getBodyHash(), instanceUnderTest.getBodyHash());
+  }
+}
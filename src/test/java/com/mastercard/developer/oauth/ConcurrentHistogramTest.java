@@ -0,0 +1,95 @@
+package com.mastercard.developer.oauth;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentHistogramTest {
+
+  @Test
+  public void testBucketIndex_ShouldBeConsistentWithLowerBounds() {
+    for (long value : new long[] { 0, 1, 31, 32, 63, 64, 65, 1000, 123456789, ConcurrentHistogram.MAX_VALUE }) {
+      int index = ConcurrentHistogram.bucketIndex(value);
+      assertTrue(value + " >= lower bound", value >= ConcurrentHistogram.bucketLowerBound(index));
+      assertTrue(value + " < next lower bound", value < ConcurrentHistogram.bucketLowerBound(index + 1));
+    }
+  }
+
+  @Test
+  public void testGetValueAtPercentile_ShouldBeWithinBucketPrecision() {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+    for (long i = 1; i <= 100_000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    assertEquals(100_000, histogram.getCount());
+    assertEquals(100_000_000, histogram.getMax());
+    assertEquals(50_000_500, histogram.getMean(), 0.001);
+    assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 / 32.0);
+    assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 / 32.0);
+    assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+    assertEquals(1000, histogram.getValueAtPercentile(0), 1000 / 32.0);
+  }
+
+  @Test
+  public void testGetValueAtPercentile_ShouldReturnExactSmallValues() {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+    histogram.record(3);
+    histogram.record(7);
+    histogram.record(63);
+
+    assertEquals(3, histogram.getValueAtPercentile(10));
+    assertEquals(7, histogram.getValueAtPercentile(50));
+    assertEquals(63, histogram.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void testGetValueAtPercentile_ShouldReturnZero_WhenEmpty() {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getMean(), 0);
+  }
+
+  @Test
+  public void testRecord_ShouldClampLargeValues() {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+    histogram.record(Long.MAX_VALUE);
+
+    assertEquals(ConcurrentHistogram.MAX_VALUE, histogram.getMax());
+    assertEquals(ConcurrentHistogram.MAX_VALUE, histogram.getValueAtPercentile(99));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRecord_ShouldThrowIllegalArgumentException_WhenNegative() {
+    new ConcurrentHistogram().record(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetValueAtPercentile_ShouldThrowIllegalArgumentException_WhenOutOfRange() {
+    new ConcurrentHistogram().getValueAtPercentile(100.1);
+  }
+
+  @Test
+  public void testRecord_ShouldCountConcurrentRecords() throws Exception {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int thread = 0; thread < 4; thread++) {
+      executor.execute(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          histogram.record(i % 100);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(40_000, histogram.getCount());
+    assertEquals(99, histogram.getMax());
+  }
+}
@@ -0,0 +1,154 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.signers.OkHttpSigner;
+import com.mastercard.developer.test.TestUtils;
+import okhttp3.Request;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class LoopbackSigningKeyHandleTest {
+
+  private static final String SBS = "GET&https%3A%2F%2Fapi.mastercard.com%2Fservice&oauth_nonce%3Dabc";
+
+  @After
+  public void tearDown() {
+    OAuth.setSigningJournal(null);
+  }
+
+  @Test
+  public void testSign_ShouldSignRequests_WhenSignerUsesHandle() throws Exception {
+    SigningJournal journal = new SigningJournal();
+    OAuth.setSigningJournal(journal);
+    try (LoopbackSigningServer server = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256);
+         LoopbackSigningKeyHandle handle = new LoopbackSigningKeyHandle(server.getAddress())) {
+      OkHttpSigner signer = new OkHttpSigner(UTF8_CHARSET, "ckey", handle);
+      Request.Builder request = new Request.Builder().url("https://api.mastercard.com/service?a=1");
+
+      signer.sign(request);
+
+      String header = request.build().header(OAuth.AUTHORIZATION_HEADER_NAME);
+      assertTrue(header.contains("oauth_signature_method=\"RSA-SHA256\""));
+      SigningJournal.Entry entry = journal.findByAuthorizationHeader(header);
+      String signature = URLDecoder.decode(header.replaceAll(".*oauth_signature=\"([^\"]+)\".*", "$1"), "UTF-8");
+      assertTrue(OAuth.verifySignature(entry.getSignatureBaseString(), signature, TestUtils.getTestPublicKey(), UTF8_CHARSET, SignatureMethod.RSA_SHA256));
+      assertEquals(1, server.getSignatureCount());
+    }
+  }
+
+  @Test
+  public void testSign_ShouldSignDigests() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair ecKeyPair = generator.generateKeyPair();
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(SBS.getBytes(StandardCharsets.UTF_8));
+
+    try (LoopbackSigningServer rsaServer = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256);
+         LoopbackSigningServer ecServer = new LoopbackSigningServer(ecKeyPair.getPrivate(), SignatureMethod.ECDSA_SHA256);
+         LoopbackSigningKeyHandle rsaHandle = new LoopbackSigningKeyHandle(rsaServer.getAddress(), SigningKeyHandle.Input.SHA256_DIGEST, 8, 5, TimeUnit.SECONDS);
+         LoopbackSigningKeyHandle ecHandle = new LoopbackSigningKeyHandle(ecServer.getAddress(), SigningKeyHandle.Input.SHA256_DIGEST, 8, 5, TimeUnit.SECONDS)) {
+      String rsaSignature = Util.b64Encode(rsaHandle.sign(digest).toCompletableFuture().get());
+      String ecSignature = Util.b64Encode(ecHandle.sign(digest).toCompletableFuture().get());
+
+      assertEquals(SignatureMethod.ECDSA_SHA256, ecHandle.getSignatureMethod());
+      assertTrue(OAuth.verifySignature(SBS, rsaSignature, TestUtils.getTestPublicKey(), StandardCharsets.UTF_8, SignatureMethod.RSA_SHA256));
+      assertTrue(OAuth.verifySignature(SBS, ecSignature, ecKeyPair.getPublic(), StandardCharsets.UTF_8, SignatureMethod.ECDSA_SHA256));
+    }
+  }
+
+  @Test
+  public void testSign_ShouldBatchConcurrentSignatures() throws Exception {
+    try (LoopbackSigningServer server = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256);
+         LoopbackSigningKeyHandle handle = new LoopbackSigningKeyHandle(server.getAddress())) {
+      List<CompletableFuture<String>> headers = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        headers.add(OAuth.getAuthorizationHeaderAsync("https://api.mastercard.com/service", OAuth.extractQueryParams((String) null, UTF8_CHARSET),
+            "GET", OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", handle));
+      }
+      for (CompletableFuture<String> header : headers) {
+        assertTrue(header.get(10, TimeUnit.SECONDS).startsWith("OAuth "));
+      }
+
+      assertEquals(100, handle.getSignatureCount());
+      assertTrue(handle.getBatchCount() < 100);
+      assertEquals(handle.getBatchCount(), server.getBatchCount());
+    }
+  }
+
+  @Test
+  public void testSign_ShouldSendOneSignaturePerBatch_WhenMaxBatchSizeIsOne() throws Exception {
+    try (LoopbackSigningServer server = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256);
+         LoopbackSigningKeyHandle handle = new LoopbackSigningKeyHandle(server.getAddress(), SigningKeyHandle.Input.SIGNATURE_BASE_STRING, 1, 5, TimeUnit.SECONDS)) {
+      List<CompletableFuture<byte[]>> signatures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        signatures.add(handle.sign(SBS.getBytes(StandardCharsets.UTF_8)).toCompletableFuture());
+      }
+      for (CompletableFuture<byte[]> signature : signatures) {
+        signature.get(10, TimeUnit.SECONDS);
+      }
+
+      assertEquals(10, handle.getBatchCount());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetAuthorizationHeader_ShouldThrowIllegalStateException_WhenSignerFails() throws Exception {
+    try (LoopbackSigningServer server = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.ED25519);
+         LoopbackSigningKeyHandle handle = new LoopbackSigningKeyHandle(server.getAddress())) {
+      OAuth.getAuthorizationHeader("https://api.mastercard.com/service", OAuth.extractQueryParams((String) null, UTF8_CHARSET), "GET",
+          OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", handle);
+    }
+  }
+
+  @Test
+  public void testSign_ShouldFail_WhenClosed() throws Exception {
+    try (LoopbackSigningServer server = new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256)) {
+      LoopbackSigningKeyHandle handle = new LoopbackSigningKeyHandle(server.getAddress());
+      handle.close();
+
+      assertTrue(handle.sign(SBS.getBytes(StandardCharsets.UTF_8)).toCompletableFuture().isCompletedExceptionally());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetAuthorizationHeader_ShouldThrowIllegalArgumentException_WhenDigestNotSupportedByMethod() {
+    SigningKeyHandle handle = new SigningKeyHandle() {
+      @Override
+      public SignatureMethod getSignatureMethod() {
+        return SignatureMethod.ED25519;
+      }
+
+      @Override
+      public Input getInput() {
+        return Input.SHA256_DIGEST;
+      }
+
+      @Override
+      public CompletionStage<byte[]> sign(byte[] input) {
+        return CompletableFuture.completedFuture(new byte[0]);
+      }
+    };
+    OAuth.getAuthorizationHeader("https://api.mastercard.com/service", OAuth.extractQueryParams((String) null, UTF8_CHARSET), "GET",
+        OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", handle);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_ShouldThrowIllegalArgumentException_WhenNotLoopbackAddress() throws Exception {
+    new LoopbackSigningServer(TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256, new InetSocketAddress("0.0.0.0", 0));
+  }
+}
@@ -0,0 +1,173 @@
+package com.mastercard.developer.oauth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A stand-in for a signing process holding the private key, serving {@link LoopbackSigningKeyHandle}s over a
+ * loopback TCP connection (see the handle for the protocol). It has no authentication: it isn't part of the
+ * library jar, and only reaches the benchmarks through the test-jar.
+ */
+public final class LoopbackSigningServer implements Closeable {
+
+  private static final Logger LOG = Logger.getLogger(LoopbackSigningServer.class.getName());
+
+  /** DER encoded DigestInfo header for SHA-256 (RFC 8017, section 9.2). */
+  private static final byte[] SHA256_DIGEST_INFO_PREFIX = {
+      0x30, 0x31, 0x30, 0x0d, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x01, 0x05, 0x00, 0x04, 0x20
+  };
+
+  private final PrivateKey signingKey;
+  private final SignatureMethod signatureMethod;
+  private final ServerSocket serverSocket;
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder signatures = new LongAdder();
+
+  /**
+   * Starts a server on an ephemeral port of the loopback address.
+   */
+  public LoopbackSigningServer(PrivateKey signingKey, SignatureMethod signatureMethod) throws IOException {
+    this(signingKey, signatureMethod, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+  }
+
+  /**
+   * @throws IllegalArgumentException When the signature method is HMAC-SHA256, or the address isn't a loopback address
+   */
+  public LoopbackSigningServer(PrivateKey signingKey, SignatureMethod signatureMethod, InetSocketAddress bindAddress) throws IOException {
+    if (signatureMethod == SignatureMethod.HMAC_SHA256) {
+      throw new IllegalArgumentException("Not supported with method " + signatureMethod.getOauthName());
+    }
+    if (bindAddress.getAddress() == null || !bindAddress.getAddress().isLoopbackAddress()) {
+      throw new IllegalArgumentException("Not a loopback address: " + bindAddress);
+    }
+    this.signingKey = signingKey;
+    this.signatureMethod = signatureMethod;
+    this.serverSocket = new ServerSocket();
+    serverSocket.bind(bindAddress);
+    startDaemon(this::accept, "oauth1-loopback-signing-server");
+  }
+
+  public InetSocketAddress getAddress() {
+    return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+  }
+
+  /**
+   * @return Number of batches received
+   */
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+  /**
+   * @return Number of signatures requested
+   */
+  public long getSignatureCount() {
+    return signatures.sum();
+  }
+
+  /**
+   * Stops accepting connections. Open connections are closed by their clients.
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        startDaemon(() -> serve(socket), "oauth1-loopback-signing-connection");
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          LOG.log(Level.WARNING, "Unable to accept a signing connection", e);
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (Socket s = socket;
+         DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+      boolean digestInput = in.readUnsignedByte() == LoopbackSigningKeyHandle.SHA256_DIGEST_INPUT;
+      out.writeUTF(signatureMethod.getOauthName());
+      out.flush();
+      while (true) {
+        int count = in.readInt();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+          long id = in.readLong();
+          byte[] input = new byte[in.readInt()];
+          in.readFully(input);
+          out.writeLong(id);
+          writeResult(out, input, digestInput);
+        }
+        batches.increment();
+        signatures.add(count);
+        out.flush();
+      }
+    } catch (EOFException e) {
+      // Connection closed by the client
+    } catch (IOException e) {
+      LOG.log(Level.FINE, "Signing connection closed", e);
+    }
+  }
+
+  private void writeResult(DataOutputStream out, byte[] input, boolean digestInput) throws IOException {
+    byte[] result;
+    boolean signed;
+    try {
+      result = digestInput ? signDigest(input) : OAuth.sign(input, signingKey, signatureMethod, null);
+      signed = true;
+    } catch (GeneralSecurityException | RuntimeException e) {
+      result = String.valueOf(e).getBytes(StandardCharsets.UTF_8);
+      signed = false;
+    }
+    out.writeBoolean(signed);
+    out.writeInt(result.length);
+    out.write(result);
+  }
+
+  private byte[] signDigest(byte[] digest) throws GeneralSecurityException {
+    Signature signer;
+    byte[] data;
+    if (signatureMethod == SignatureMethod.RSA_SHA256) {
+      signer = Signature.getInstance("NONEwithRSA");
+      data = new byte[SHA256_DIGEST_INFO_PREFIX.length + digest.length];
+      System.arraycopy(SHA256_DIGEST_INFO_PREFIX, 0, data, 0, SHA256_DIGEST_INFO_PREFIX.length);
+      System.arraycopy(digest, 0, data, SHA256_DIGEST_INFO_PREFIX.length, digest.length);
+    } else if (signatureMethod == SignatureMethod.ECDSA_SHA256) {
+      signer = Signature.getInstance("NONEwithECDSA");
+      data = digest;
+    } else {
+      throw new GeneralSecurityException("Digest signing isn't supported with method " + signatureMethod.getOauthName());
+    }
+    signer.initSign(signingKey);
+    signer.update(data);
+    return signer.sign();
+  }
+
+  private static void startDaemon(Runnable task, String name) {
+    Thread thread = new Thread(task, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+}
@@ -0,0 +1,148 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.test.TestUtils;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class NonceReplayCacheTest {
+
+  @Test
+  public void testTryRecord_ShouldRejectReplays() {
+    NonceReplayCache cache = new NonceReplayCache(5, TimeUnit.MINUTES);
+    long now = System.currentTimeMillis() / 1000L;
+    String nonce = OAuth.getNonce();
+
+    assertTrue(cache.tryRecord("ckey", nonce, now));
+    assertFalse(cache.tryRecord("ckey", nonce, now));
+    assertFalse(cache.tryRecord("ckey", nonce, now - 1));
+    assertTrue(cache.tryRecord("other", nonce, now));
+    assertTrue(cache.tryRecord("ckey", OAuth.getNonce(), now));
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  public void testTryRecord_ShouldSupportNoncesOfAnyFormat() {
+    NonceReplayCache cache = new NonceReplayCache(5, TimeUnit.MINUTES);
+    long now = System.currentTimeMillis() / 1000L;
+
+    assertTrue(cache.tryRecord("ckey", "a nonce with spaces & ünicode", now));
+    assertFalse(cache.tryRecord("ckey", "a nonce with spaces & ünicode", now));
+    assertTrue(cache.tryRecord("ckey", "0000000000000000", now));
+    assertFalse(cache.tryRecord("ckey", "0000000000000000", now));
+    assertTrue(cache.tryRecord("ckey", "0000000000000001", now));
+  }
+
+  @Test
+  public void testTryRecord_ShouldRejectTimestampsOutsideWindow() {
+    NonceReplayCache cache = new NonceReplayCache(60, TimeUnit.SECONDS);
+    long now = System.currentTimeMillis() / 1000L;
+
+    assertFalse(cache.tryRecord("ckey", OAuth.getNonce(), now - 120));
+    assertFalse(cache.tryRecord("ckey", OAuth.getNonce(), now + 120));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testTryRecord_ShouldDropBucketsLeavingWindow() {
+    MutableClock clock = new MutableClock(1_000_000_000L);
+    NonceReplayCache cache = new NonceReplayCache(60, TimeUnit.SECONDS, 4, 8, clock);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(cache.tryRecord("ckey", OAuth.getNonce(), 1_000_000_000L));
+    }
+    String nonce = OAuth.getNonce();
+    assertTrue(cache.tryRecord("ckey", nonce, 1_000_000_000L));
+
+    // Still within the window: replay detected
+    clock.seconds.addAndGet(60);
+    assertFalse(cache.tryRecord("ckey", nonce, 1_000_000_000L));
+
+    // Out of the window: rejected by timestamp, and the bucket gets reused by newer requests
+    clock.seconds.addAndGet(200);
+    assertFalse(cache.tryRecord("ckey", nonce, 1_000_000_000L));
+    for (int i = 0; i < 4; i++) {
+      cache.tryRecord("ckey", OAuth.getNonce(), clock.seconds.get() - 60 + i * 40);
+    }
+    assertEquals(4, cache.size());
+  }
+
+  @Test
+  public void testTryRecord_ShouldAcceptEachNonceOnce_WhenRecordingConcurrently() throws Exception {
+    NonceReplayCache cache = new NonceReplayCache(5, TimeUnit.MINUTES);
+    long now = System.currentTimeMillis() / 1000L;
+    String[] nonces = new String[10000];
+    for (int i = 0; i < nonces.length; i++) {
+      nonces[i] = OAuth.getNonce();
+    }
+    AtomicLong accepted = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      executor.execute(() -> {
+        for (String nonce : nonces) {
+          if (cache.tryRecord("ckey", nonce, now)) {
+            accepted.incrementAndGet();
+          }
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(nonces.length, accepted.get());
+    assertEquals(nonces.length, cache.size());
+  }
+
+  @Test
+  public void testVerify_ShouldRejectReplayedRequest_WhenVerifierHasReplayCache() throws Exception {
+    URI uri = URI.create("https://api.mastercard.com/service");
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> publicKey(), consumerKey -> null, 5, TimeUnit.MINUTES,
+        Clock.systemUTC(), UTF8_CHARSET, new NonceReplayCache(5, TimeUnit.MINUTES));
+    String header = OAuth.getAuthorizationHeader(uri, "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    assertTrue(verifier.verify("GET", uri, header, (byte[]) null).isValid());
+    assertEquals(OAuthVerifier.Failure.REPLAYED_NONCE, verifier.verify("GET", uri, header, (byte[]) null).getFailure());
+  }
+
+  private static java.security.PublicKey publicKey() {
+    try {
+      return TestUtils.getTestPublicKey();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    final AtomicLong seconds;
+
+    MutableClock(long seconds) {
+      this.seconds = new AtomicLong(seconds);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochSecond(seconds.get());
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.test.AllocationMeter;
+import com.mastercard.developer.test.TestUtils;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.URI;
+import java.security.PrivateKey;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Fails when a change allocates more on the signing hot path. When an optimization lands, lower the budgets to
+ * the new measures (plus ~10%), so that they keep guarding the gain.
+ */
+public class OAuthAllocationBudgetTest {
+
+  /** Measured on Java 17: ~64 KB, most of it in the RSA private key operation (BigInteger arithmetic) of the JDK. */
+  private static final long RSA_SHA256_BUDGET = 71_000;
+  /** Measured on Java 17: ~13 KB, without the RSA step this is the canonicalization, nonce and formatting. */
+  private static final long HMAC_SHA256_BUDGET = 15_000;
+
+  private static final URI URI_WITH_QUERY = URI.create("https://api.mastercard.com/service?b=2&a=1&a=0");
+  private static final String PAYLOAD = "{\"foo\":\"bår\"}";
+
+  private static PrivateKey signingKey;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    Assume.assumeTrue(AllocationMeter.isSupported());
+    signingKey = TestUtils.getTestSigningKey();
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldStayWithinAllocationBudget_WithRsaSha256() throws Exception {
+    long bytes = AllocationMeter.bytesPerCall(() -> URI_WITH_QUERY,
+        uri -> OAuth.getAuthorizationHeader(uri, "POST", PAYLOAD, UTF8_CHARSET, "ckey", signingKey));
+
+    assertTrue(bytes + " bytes per signature, budget " + RSA_SHA256_BUDGET, bytes <= RSA_SHA256_BUDGET);
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldStayWithinAllocationBudget_WithHmacSha256() throws Exception {
+    HmacSigningKey hmacKey = new HmacSigningKey(OAuth.getHmacKey("secret", null));
+    String bodyHash = OAuth.getBodyHash(PAYLOAD.getBytes(UTF8_CHARSET));
+
+    long bytes = AllocationMeter.bytesPerCall(() -> URI_WITH_QUERY,
+        uri -> OAuth.getAuthorizationHeader(OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, UTF8_CHARSET), "POST", bodyHash, UTF8_CHARSET, "ckey", hmacKey));
+
+    assertTrue(bytes + " bytes per signature, budget " + HMAC_SHA256_BUDGET, bytes <= HMAC_SHA256_BUDGET);
+  }
+}
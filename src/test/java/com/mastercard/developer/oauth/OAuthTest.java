@@ -7,9 +7,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import javax.crypto.Mac;
 import java.net.URI;
+import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.spec.AlgorithmParameterSpec;
@@ -18,6 +22,7 @@ import java.util.Base64;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
@@ -125,6 +130,31 @@ public class OAuthTest {
     assertArrayEquals(new String[]{"%2C"}, queryParams.get("comma").toArray());
   }
 
+  @ParameterizedTest
+  @CsvSource({
+          "b5=%3D%253D&a3=a&c%40=&a2=r%20b",
+          "offset=0&offset=1&length=10&empty&odd=",
+          "colon=:&plus=+&comma=,",
+          "colon=%3A&plus=%2B&comma=%2C"
+  })
+  public void testExtractQueryParams_ShouldMatchUriParsing_WhenGivenRawQueryString(String rawQuery) {
+
+    // GIVEN
+    URI uri = URI.create("https://example.com/request?" + rawQuery);
+
+    // WHEN
+    Map<String, List<String>> queryParams = OAuth.extractQueryParams(rawQuery, UTF8_CHARSET);
+
+    // THEN
+    assertEquals(OAuth.extractQueryParams(uri, UTF8_CHARSET), queryParams);
+  }
+
+  @Test
+  public void testExtractQueryParams_ShouldReturnEmptyMap_WhenGivenNoRawQueryString() {
+    assertTrue(OAuth.extractQueryParams((String) null, UTF8_CHARSET).isEmpty());
+    assertTrue(OAuth.extractQueryParams("", UTF8_CHARSET).isEmpty());
+  }
+
   @Test
   public void testParameterEncoding_ShouldCreateExpectedSignatureBaseString_WhenQueryParamsEncodedInUri() {
 
@@ -167,6 +197,12 @@ public class OAuthTest {
     assertThat(bodyHash).isEqualTo("+Z+PWW2TJDnPvRcTgol+nKO3LT7xm8smnsg+//XMIyI=");
   }
 
+  @Test
+  public void testGetBodyHash_ShouldHashRawBytes() {
+    assertThat(OAuth.getBodyHash((byte[]) null)).isEqualTo("47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+    assertThat(OAuth.getBodyHash("{\"foõ\":\"bar\"}".getBytes(UTF8_CHARSET))).isEqualTo("+Z+PWW2TJDnPvRcTgol+nKO3LT7xm8smnsg+//XMIyI=");
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testGetBodyHash_ShouldThrowIllegalStateException_WhenInvalidHashAlgorithm() {
     OAuth.getBodyHash(OAuth.EMPTY_STRING, UTF8_CHARSET, "SHA-123");
@@ -304,7 +340,7 @@ public class OAuthTest {
   }
 
   @ParameterizedTest
-  @EnumSource(SignatureMethod.class)
+  @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
   public void testGetAuthorizationHeader_ShouldUseProvidedSignatureMethod(SignatureMethod signatureMethod) throws Exception {
     URI uri = URI.create("https://example.com/resource?query=value");
     String method = "POST";
@@ -315,12 +351,12 @@ public class OAuthTest {
 
     try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class, CALLS_REAL_METHODS)) {
       oauthMock.when(OAuth::getNonce).thenReturn("fixed-nonce");
-      oauthMock.when(() -> OAuth.signSignatureBaseString(Mockito.anyString(), Mockito.eq(signingKey), Mockito.eq(charset), Mockito.eq(signatureMethod)))
+      oauthMock.when(() -> OAuth.signSignatureBaseString(Mockito.anyString(), Mockito.eq(signingKey), Mockito.eq(charset), Mockito.eq(signatureMethod), Mockito.isNull()))
         .thenReturn("signed-" + signatureMethod.getOauthName());
 
       String header = OAuth.getAuthorizationHeader(uri, method, payload, charset, consumerKey, signingKey, signatureMethod);
 
-      oauthMock.verify(() -> OAuth.signSignatureBaseString(Mockito.anyString(), Mockito.eq(signingKey), Mockito.eq(charset), Mockito.eq(signatureMethod)));
+      oauthMock.verify(() -> OAuth.signSignatureBaseString(Mockito.anyString(), Mockito.eq(signingKey), Mockito.eq(charset), Mockito.eq(signatureMethod), Mockito.isNull()));
 
       String[] headerParts = header.substring("OAuth ".length()).split(",");
 
@@ -436,6 +472,16 @@ public class OAuthTest {
     assertEquals("WhqqH%2BTU95VgZ~Itpdq78BWb4cE%3D%26o", Util.percentEncode("WhqqH+TU95VgZ~Itpdq78BWb4cE=&o", charset)); // Tilde stays unescaped
   }
 
+  @Test
+  public void testPercentDecode() {
+    Charset charset = StandardCharsets.UTF_8;
+
+    assertEquals("Format=XML", Util.percentDecode("Format%3DXML", charset));
+    assertEquals("a+b c", Util.percentDecode("a+b%20c", charset)); // Plus sign stays as-is
+    assertEquals("plain", Util.percentDecode("plain", charset));
+    assertNull(Util.percentDecode(null, charset));
+  }
+
   @Test
   public void testGetNonce_ShouldBeUniqueAndHaveLengthOf16() {
     String nonce = OAuth.getNonce();
@@ -463,4 +509,112 @@ public class OAuthTest {
     }
   }
 
+  @Test
+  public void testWarmUp_ShouldCanonicalizeAndSignSyntheticRequests() throws Exception {
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+
+    WarmUpReport report = OAuth.warmUp(UTF8_CHARSET, signingKey, SignatureMethod.RSA_PSS_SHA256, 100, 2);
+
+    assertEquals(100, report.getCanonicalizations());
+    assertEquals(2, report.getSignatures());
+    assertTrue(report.getDuration(java.util.concurrent.TimeUnit.NANOSECONDS) > 0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testWarmUp_ShouldThrowIllegalStateException_WhenKeyCannotSign() {
+    OAuth.warmUp(UTF8_CHARSET, null, SignatureMethod.RSA_SHA256, 1, 1);
+  }
+
+  @Test
+  public void testVerifySignature_ShouldVerifySignaturesOfAllMethods() throws Exception {
+    String sbs = "GET&https%3A%2F%2Fapi.mastercard.com%2Fservice&oauth_nonce%3Dnonce";
+    for (SignatureMethod signatureMethod : SignatureMethod.values()) {
+      if (signatureMethod == SignatureMethod.HMAC_SHA256) {
+        continue;
+      }
+      String keyType = signatureMethod.getJcaName().contains("RSA") ? "RSA" : signatureMethod == SignatureMethod.ED25519 ? "Ed25519" : "EC";
+      KeyPair keyPair = KeyPairGenerator.getInstance(keyType).generateKeyPair();
+
+      String signature = OAuth.signSignatureBaseString(sbs, keyPair.getPrivate(), UTF8_CHARSET, signatureMethod);
+
+      assertTrue(signatureMethod.name(), OAuth.verifySignature(sbs, signature, keyPair.getPublic(), UTF8_CHARSET, signatureMethod));
+      assertFalse(signatureMethod.name(), OAuth.verifySignature(sbs + "&tampered", signature, keyPair.getPublic(), UTF8_CHARSET, signatureMethod));
+      assertFalse(signatureMethod.name(), OAuth.verifySignature(sbs, "not base64!", keyPair.getPublic(), UTF8_CHARSET, signatureMethod));
+    }
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldUseEllipticCurveMethodNames() throws Exception {
+    URI uri = URI.create("https://api.mastercard.com/service");
+    PrivateKey ecKey = KeyPairGenerator.getInstance("EC").generateKeyPair().getPrivate();
+    PrivateKey edKey = KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPrivate();
+
+    String ecHeader = OAuth.getAuthorizationHeader(uri, "GET", null, UTF8_CHARSET, "ckey", ecKey, SignatureMethod.ECDSA_SHA256);
+    String edHeader = OAuth.getAuthorizationHeader(uri, "GET", null, UTF8_CHARSET, "ckey", edKey, SignatureMethod.ED25519);
+
+    assertTrue(ecHeader.contains("oauth_signature_method=\"ECDSA-SHA256\""));
+    assertTrue(edHeader.contains("oauth_signature_method=\"Ed25519\""));
+  }
+
+  @Test
+  public void testFromOauthName_ShouldReturnMatchingMethod() {
+    for (SignatureMethod signatureMethod : SignatureMethod.values()) {
+      assertEquals(signatureMethod, SignatureMethod.fromOauthName(signatureMethod.getOauthName()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetAuthorizationHeader_ShouldThrowIllegalArgumentException_WhenPrivateKeyUsedWithHmac() throws Exception {
+    OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/service"), "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey(), SignatureMethod.HMAC_SHA256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFromOauthName_ShouldThrowIllegalArgumentException_WhenUnsupported() {
+    SignatureMethod.fromOauthName("HMAC-SHA1");
+  }
+
+  @Test
+  public void testGetHmacKey_ShouldPercentEncodeAndJoinSecrets() {
+    assertEquals("kd94hf93k423kf44&pfkkdhi9sl3r4s00", new String(OAuth.getHmacKey("kd94hf93k423kf44", "pfkkdhi9sl3r4s00").getEncoded(), StandardCharsets.US_ASCII));
+    assertEquals("a%20b%26c&", new String(OAuth.getHmacKey("a b&c", null).getEncoded(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldSignWithHmacSha256() throws Exception {
+    HmacSigningKey signingKey = new HmacSigningKey(OAuth.getHmacKey("consumer-secret", null));
+    TreeMap<String, List<String>> queryParams = OAuth.extractQueryParams(URI.create("https://api.mastercard.com/service?a=1"), UTF8_CHARSET);
+
+    String header = OAuth.getAuthorizationHeader("https://api.mastercard.com/service", queryParams, "GET", OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", signingKey);
+
+    assertTrue(header.contains("oauth_signature_method=\"HMAC-SHA256\""));
+    String signature = URLDecoder.decode(header.replaceAll(".*oauth_signature=\"([^\"]*)\".*", "$1"), "UTF-8");
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(OAuth.getHmacKey("consumer-secret", null));
+    Map<String, String> oauthParams = new HashMap<>();
+    for (String param : header.substring("OAuth ".length()).split(",")) {
+      String[] parts = param.split("=", 2);
+      if (!"oauth_signature".equals(parts[0])) {
+        oauthParams.put(parts[0], parts[1].substring(1, parts[1].length() - 1));
+      }
+    }
+    String sbs = OAuth.getSignatureBaseString("GET", "https://api.mastercard.com/service", OAuth.toOauthParamString(queryParams, oauthParams), UTF8_CHARSET);
+    assertEquals(Base64.getEncoder().encodeToString(mac.doFinal(sbs.getBytes(UTF8_CHARSET))), signature);
+    assertTrue(OAuth.verifySignature(sbs, signature, signingKey, UTF8_CHARSET));
+    assertFalse(OAuth.verifySignature(sbs, signature, new HmacSigningKey(OAuth.getHmacKey("other-secret", null)), UTF8_CHARSET));
+  }
+
+  @Test
+  public void testHmacSigningKey_ShouldSignConcurrently() throws Exception {
+    HmacSigningKey signingKey = new HmacSigningKey(OAuth.getHmacKey("consumer-secret", "token-secret"));
+    byte[] expected = signingKey.sign("data".getBytes(UTF8_CHARSET));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    ConcurrentLinkedQueue<Boolean> results = new ConcurrentLinkedQueue<>();
+    for (int i = 0; i < 1000; i++) {
+      executor.execute(() -> results.add(Arrays.equals(expected, signingKey.sign("data".getBytes(UTF8_CHARSET)))));
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertEquals(1000, results.size());
+    assertFalse(results.contains(false));
+  }
 }
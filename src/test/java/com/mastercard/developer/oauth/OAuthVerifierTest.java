@@ -0,0 +1,155 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.test.TestUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class OAuthVerifierTest {
+
+  private static final URI URI_WITH_QUERY = URI.create("https://api.mastercard.com/service?b=2&a=1&a=0");
+  private static final String PAYLOAD = "{\"foo\":\"bår\"}";
+
+  @Test
+  public void testVerify_ShouldAcceptRequestSignedByOAuth() throws Exception {
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> "ckey".equals(consumerKey) ? getTestPublicKey() : null);
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "POST", PAYLOAD, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    OAuthVerifier.Result result = verifier.verify("POST", URI_WITH_QUERY, header, PAYLOAD.getBytes(UTF8_CHARSET));
+
+    assertTrue(result.toString(), result.isValid());
+    assertEquals("ckey", result.getConsumerKey());
+    assertEquals(16, result.getNonce().length());
+  }
+
+  @Test
+  public void testVerify_ShouldAcceptAllSignatureMethods() throws Exception {
+    for (SignatureMethod signatureMethod : SignatureMethod.values()) {
+      String header;
+      OAuthVerifier verifier;
+      if (signatureMethod == SignatureMethod.HMAC_SHA256) {
+        HmacSigningKey hmacKey = new HmacSigningKey(OAuth.getHmacKey("secret", null));
+        header = OAuth.getAuthorizationHeader(OAuth.getBaseUriString(URI_WITH_QUERY), OAuth.extractQueryParams(URI_WITH_QUERY, UTF8_CHARSET),
+            "GET", OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", hmacKey);
+        verifier = new OAuthVerifier(consumerKey -> null, consumerKey -> hmacKey, 5, TimeUnit.MINUTES, Clock.systemUTC(), UTF8_CHARSET);
+      } else {
+        String keyType = signatureMethod == SignatureMethod.ECDSA_SHA256 ? "EC" : signatureMethod == SignatureMethod.ED25519 ? "Ed25519" : "RSA";
+        KeyPair keyPair = KeyPairGenerator.getInstance(keyType).generateKeyPair();
+        header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "GET", null, UTF8_CHARSET, "ckey", keyPair.getPrivate(), signatureMethod);
+        verifier = new OAuthVerifier(consumerKey -> keyPair.getPublic());
+      }
+
+      OAuthVerifier.Result result = verifier.verify("GET", URI_WITH_QUERY, header, (byte[]) null);
+
+      assertTrue(signatureMethod + ": " + result, result.isValid());
+    }
+  }
+
+  @Test
+  public void testVerify_ShouldHashStreamedBody() throws Exception {
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> getTestPublicKey());
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "PUT", PAYLOAD, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    assertTrue(verifier.verify("PUT", URI_WITH_QUERY, header, new ByteArrayInputStream(PAYLOAD.getBytes(UTF8_CHARSET))).isValid());
+    assertEquals(OAuthVerifier.Failure.BODY_HASH_MISMATCH,
+        verifier.verify("PUT", URI_WITH_QUERY, header, new ByteArrayInputStream("{}".getBytes(UTF8_CHARSET))).getFailure());
+  }
+
+  @Test
+  public void testVerifyHeader_ShouldDeferBodyHashCheck() throws Exception {
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> getTestPublicKey());
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "PUT", PAYLOAD, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    OAuthVerifier.Result result = verifier.verifyHeader("PUT", OAuth.getBaseUriString(URI_WITH_QUERY), OAuth.extractQueryParams(URI_WITH_QUERY, UTF8_CHARSET), header);
+
+    assertTrue(result.toString(), result.isValid());
+    assertSame(result, result.verifyBodyHash(OAuth.getBodyHash(PAYLOAD.getBytes(UTF8_CHARSET))));
+    assertEquals(OAuthVerifier.Failure.BODY_HASH_MISMATCH, result.verifyBodyHash(OAuth.getBodyHash("{}".getBytes(UTF8_CHARSET))).getFailure());
+  }
+
+  @Test
+  public void testVerify_ShouldRejectTamperedRequests() throws Exception {
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> "ckey".equals(consumerKey) ? getTestPublicKey() : null);
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "POST", PAYLOAD, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+    byte[] body = PAYLOAD.getBytes(UTF8_CHARSET);
+
+    assertEquals(OAuthVerifier.Failure.BODY_HASH_MISMATCH, verifier.verify("POST", URI_WITH_QUERY, header, "{}".getBytes(UTF8_CHARSET)).getFailure());
+    assertEquals(OAuthVerifier.Failure.INVALID_SIGNATURE, verifier.verify("POST", URI.create("https://api.mastercard.com/service?b=3&a=1&a=0"), header, body).getFailure());
+    assertEquals(OAuthVerifier.Failure.INVALID_SIGNATURE, verifier.verify("PUT", URI_WITH_QUERY, header, body).getFailure());
+    assertEquals(OAuthVerifier.Failure.UNKNOWN_CONSUMER_KEY, verifier.verify("POST", URI_WITH_QUERY, header.replace("ckey", "other"), body).getFailure());
+    assertEquals(OAuthVerifier.Failure.UNSUPPORTED_SIGNATURE_METHOD, verifier.verify("POST", URI_WITH_QUERY, header.replace("RSA-SHA256", "PLAINTEXT"), body).getFailure());
+  }
+
+  @Test
+  public void testVerify_ShouldRejectTimestampOutsideWindow() throws Exception {
+    Clock tenMinutesLater = Clock.fixed(Instant.now().plusSeconds(600), ZoneOffset.UTC);
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> getTestPublicKey(), consumerKey -> null, 5, TimeUnit.MINUTES, tenMinutesLater, UTF8_CHARSET);
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    OAuthVerifier.Result result = verifier.verify("GET", URI_WITH_QUERY, header, (byte[]) null);
+
+    assertEquals(OAuthVerifier.Failure.TIMESTAMP_OUT_OF_WINDOW, result.getFailure());
+  }
+
+  @Test
+  public void testVerify_ShouldResolveKeyOncePerConsumerKey() throws Exception {
+    AtomicInteger resolutions = new AtomicInteger();
+    PublicKey publicKey = getTestPublicKey();
+    OAuthVerifier verifier = new OAuthVerifier(consumerKey -> {
+      resolutions.incrementAndGet();
+      return publicKey;
+    });
+
+    for (int i = 0; i < 3; i++) {
+      String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+      assertTrue(verifier.verify("GET", URI_WITH_QUERY, header, (byte[]) null).isValid());
+    }
+    verifier.evictKeys("ckey");
+    String header = OAuth.getAuthorizationHeader(URI_WITH_QUERY, "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+    assertTrue(verifier.verify("GET", URI_WITH_QUERY, header, (byte[]) null).isValid());
+
+    assertEquals(2, resolutions.get());
+  }
+
+  @Test
+  public void testParseAuthorizationHeader_ShouldParseParameters() {
+    Map<String, String> params = OAuthVerifier.parseAuthorizationHeader("OAuth realm=\"Example\", oauth_consumer_key=\"key\",oauth_signature=\"a%2Bb%3D\"");
+
+    assertEquals(3, params.size());
+    assertEquals("Example", params.get("realm"));
+    assertEquals("key", params.get("oauth_consumer_key"));
+    assertEquals("a%2Bb%3D", params.get("oauth_signature"));
+  }
+
+  @Test
+  public void testParseAuthorizationHeader_ShouldReturnNull_WhenMalformed() {
+    assertNull(OAuthVerifier.parseAuthorizationHeader(null));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("Bearer token"));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("OAuth "));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("OAuth oauth_nonce=abc"));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("OAuth oauth_nonce=\"abc"));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("OAuth oauth_nonce=\"abc\"x"));
+    assertNull(OAuthVerifier.parseAuthorizationHeader("OAuth oauth_nonce=\"a\",oauth_nonce=\"b\""));
+  }
+
+  private static PublicKey getTestPublicKey() {
+    try {
+      return TestUtils.getTestPublicKey();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.test.TestUtils;
+import org.junit.Test;
+
+import java.net.URI;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Security;
+
+import static org.junit.Assert.*;
+
+public class ProviderCalibrationTest {
+
+  @Test
+  public void testCalibrate_ShouldSelectFastestValidProvider() throws Exception {
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+
+    ProviderCalibration calibration = ProviderCalibration.calibrate(signingKey, SignatureMethod.RSA_SHA256, 10);
+
+    assertNotNull(calibration.getSelectedProvider());
+    Long selectedNanos = calibration.getNanosPerSignature().get(calibration.getSelectedProvider().getName());
+    assertNotNull(selectedNanos);
+    for (Long nanos : calibration.getNanosPerSignature().values()) {
+      assertTrue(selectedNanos <= nanos);
+    }
+    assertTrue(calibration.toString().startsWith("Selected provider " + calibration.getSelectedProvider().getName()));
+  }
+
+  @Test
+  public void testCalibrate_ShouldVerifyNonDeterministicSignatures() throws Exception {
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+
+    ProviderCalibration calibration = ProviderCalibration.calibrate(signingKey, SignatureMethod.RSA_PSS_SHA256, 10);
+
+    assertNotNull(calibration.getSelectedProvider());
+    assertTrue(calibration.getRejectedProviders().isEmpty());
+  }
+
+  @Test
+  public void testCalibrate_ShouldSignWithSelectedProvider() throws Exception {
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+    ProviderCalibration calibration = ProviderCalibration.calibrate(signingKey, SignatureMethod.RSA_SHA256, 10);
+
+    String header = OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/service"), "GET", null,
+        TestUtils.UTF8_CHARSET, "Some key", signingKey, SignatureMethod.RSA_SHA256, calibration.getSelectedProvider());
+
+    assertTrue(header.contains("oauth_signature="));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCalibrate_ShouldThrowIllegalStateException_WhenNoProviderCanSign() throws Exception {
+    PrivateKey ecKey = KeyPairGenerator.getInstance("EC").generateKeyPair().getPrivate();
+    ProviderCalibration.calibrate(ecKey, SignatureMethod.RSA_SHA256, 10);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetAuthorizationHeader_ShouldThrowIllegalStateException_WhenProviderDoesNotSupportSignatureMethod() throws Exception {
+    OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/service"), "GET", null,
+        TestUtils.UTF8_CHARSET, "Some key", TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256, Security.getProvider("SUN"));
+  }
+}
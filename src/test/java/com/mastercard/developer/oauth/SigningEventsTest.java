@@ -0,0 +1,120 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.signers.OkHttpSigner;
+import com.mastercard.developer.test.TestUtils;
+import com.mastercard.developer.utils.SigningKeyCache;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Test;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class SigningEventsTest {
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldNotBeginEvents_WhenNotRecording() throws Exception {
+    assertNull(SigningEvents.beginSign());
+    assertNull(SigningEvents.beginBodyHash());
+    assertFalse(SigningEvents.isSignRequestEnabled());
+    assertNull(new SigningSample("ckey", SignatureMethod.RSA_SHA256).getEvent());
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldEmitSignAndBodyHashEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/service"), "POST",
+        "{\"a\":1}", UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey()));
+
+    RecordedEvent sign = single(events, "oauth.Sign");
+    assertEquals("POST", sign.getString("httpMethod"));
+    assertEquals("RSA-SHA256", sign.getString("signatureMethod"));
+    assertEquals("ckey", sign.getString("consumerKey"));
+    RecordedEvent bodyHash = single(events, "oauth.BodyHash");
+    assertEquals(7, bodyHash.getLong("bodyBytes"));
+    assertEquals("SHA-256", bodyHash.getString("algorithm"));
+  }
+
+  @Test
+  public void testSign_ShouldEmitSignRequestEvent() throws Exception {
+    OkHttpSigner signer = new OkHttpSigner("ckey", TestUtils.getTestSigningKey());
+    Request request = new Request.Builder().url("https://api.mastercard.com/service")
+        .post(RequestBody.create(MediaType.parse("application/json"), "{\"a\":1}")).build();
+
+    List<RecordedEvent> events = record(() -> signer.sign(request.newBuilder()));
+
+    RecordedEvent signRequest = single(events, "oauth.SignRequest");
+    assertEquals("OkHttpSigner", signRequest.getString("signer"));
+    assertEquals("POST", signRequest.getString("httpMethod"));
+    assertEquals(7, signRequest.getLong("bodyBytes"));
+    assertFalse(signRequest.getBoolean("failed"));
+    assertTrue(signRequest.getDuration().compareTo(single(events, "oauth.Sign").getDuration()) >= 0);
+  }
+
+  @Test
+  public void testLoadSigningKey_ShouldEmitKeyLoadEvents() throws Exception {
+    SigningKeyCache cache = new SigningKeyCache();
+
+    List<RecordedEvent> events = record(() -> {
+      cache.loadPkcs8SigningKey("./src/test/resources/test_key_pkcs8.pem");
+      cache.loadPkcs8SigningKey("./src/test/resources/test_key_pkcs8.pem");
+      cache.loadSigningKey("./src/test/resources/test_key_container.p12", "mykeyalias", "Password1");
+    });
+
+    List<RecordedEvent> keyLoads = filter(events, "oauth.KeyLoad");
+    assertEquals(3, keyLoads.size());
+    assertEquals("PKCS#8", keyLoads.get(0).getString("source"));
+    assertEquals("RSA", keyLoads.get(0).getString("keyAlgorithm"));
+    assertFalse(keyLoads.get(0).getBoolean("cacheHit"));
+    assertTrue(keyLoads.get(1).getBoolean("cacheHit"));
+    assertEquals("PKCS#12", keyLoads.get(2).getString("source"));
+    assertFalse(keyLoads.get(2).getBoolean("cacheHit"));
+  }
+
+  private interface Action {
+    void run() throws Exception;
+  }
+
+  private static List<RecordedEvent> record(Action action) throws Exception {
+    Path file = Files.createTempFile("oauth1-signer", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String event : new String[] { "oauth.Sign", "oauth.SignRequest", "oauth.BodyHash", "oauth.KeyLoad" }) {
+        recording.enable(event);
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      events.sort((e1, e2) -> e1.getStartTime().compareTo(e2.getStartTime()));
+      return events;
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> filtered = new ArrayList<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(name)) {
+        filtered.add(event);
+      }
+    }
+    return filtered;
+  }
+
+  private static RecordedEvent single(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> filtered = filter(events, name);
+    assertEquals(1, filtered.size());
+    return filtered.get(0);
+  }
+}
@@ -0,0 +1,116 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.signers.SigningKeyHolder;
+import com.mastercard.developer.test.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.URI;
+import java.security.PrivateKey;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class SigningJournalTest {
+
+  @After
+  public void tearDown() {
+    OAuth.setSigningJournal(null);
+  }
+
+  @Test
+  public void testFindByAuthorizationHeader_ShouldReturnWhatWasSigned() throws Exception {
+    SigningJournal journal = new SigningJournal();
+    OAuth.setSigningJournal(journal);
+
+    String header = OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/service?a=1"), "POST", "{\"a\":1}", UTF8_CHARSET,
+        "ckey", TestUtils.getTestSigningKey());
+
+    SigningJournal.Entry entry = journal.findByAuthorizationHeader(header);
+    assertNotNull(entry);
+    assertEquals(header, entry.getAuthorizationHeader());
+    assertTrue(header.contains("oauth_nonce=\"" + entry.getNonce() + "\""));
+    assertTrue(header.contains("oauth_timestamp=\"" + entry.getTimestamp() + "\""));
+    assertEquals("ckey", entry.getConsumerKey());
+    assertEquals("RSA-SHA256", entry.getSignatureMethod());
+    assertEquals("POST", entry.getMethod());
+    assertEquals(OAuth.getBodyHash("{\"a\":1}".getBytes(UTF8_CHARSET)), entry.getBodyHash());
+    assertTrue(entry.getSignatureBaseString().startsWith("POST&https%3A%2F%2Fapi.mastercard.com%2Fservice&a%3D1%26oauth_body_hash"));
+    assertSame(entry, journal.findByNonce(entry.getNonce()));
+  }
+
+  @Test
+  public void testWarmUpAndRotation_ShouldNotRecordSyntheticRequests() throws Exception {
+    SigningJournal journal = new SigningJournal();
+    OAuth.setSigningJournal(journal);
+
+    OAuth.warmUp(UTF8_CHARSET, TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256, 10, 2);
+    OAuth.warmUp(UTF8_CHARSET, new HmacSigningKey(OAuth.getHmacKey("secret", null)), 10, 2);
+    new SigningKeyHolder(TestUtils.getTestSigningKey()).rotate(TestUtils.getTestSigningKey());
+
+    assertTrue(journal.getEntries().isEmpty());
+  }
+
+  @Test
+  public void testRecord_ShouldKeepMostRecentEntries_WhenFull() throws Exception {
+    SigningJournal journal = new SigningJournal(3);
+    OAuth.setSigningJournal(journal);
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+
+    String first = OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/0"), "GET", null, UTF8_CHARSET, "ckey", signingKey);
+    for (int i = 1; i < 5; i++) {
+      OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com/" + i), "GET", null, UTF8_CHARSET, "ckey", signingKey);
+    }
+
+    assertEquals(4, journal.getCapacity());
+    List<SigningJournal.Entry> entries = journal.getEntries();
+    assertEquals(4, entries.size());
+    assertTrue(entries.get(0).getSignatureBaseString().startsWith("GET&https%3A%2F%2Fapi.mastercard.com%2F4&"));
+    assertTrue(entries.get(3).getSignatureBaseString().startsWith("GET&https%3A%2F%2Fapi.mastercard.com%2F1&"));
+    assertNull(journal.findByAuthorizationHeader(first));
+
+    journal.clear();
+    assertTrue(journal.getEntries().isEmpty());
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldNotRecord_WhenJournalingOff() throws Exception {
+    SigningJournal journal = new SigningJournal();
+    OAuth.setSigningJournal(journal);
+    OAuth.setSigningJournal(null);
+
+    OAuth.getAuthorizationHeader(URI.create("https://api.mastercard.com"), "GET", null, UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey());
+
+    assertNull(OAuth.getSigningJournal());
+    assertTrue(journal.getEntries().isEmpty());
+  }
+
+  @Test
+  public void testRecord_ShouldKeepEntriesOfConcurrentThreads() throws Exception {
+    SigningJournal journal = new SigningJournal(64);
+    OAuth.setSigningJournal(journal);
+    HmacSigningKey signingKey = new HmacSigningKey(OAuth.getHmacKey("secret", null));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int thread = 0; thread < 4; thread++) {
+      executor.execute(() -> {
+        for (int i = 0; i < 16; i++) {
+          OAuth.getAuthorizationHeader("https://api.mastercard.com", OAuth.extractQueryParams((String) null, UTF8_CHARSET), "GET",
+              OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", signingKey);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(64, journal.getEntries().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_ShouldThrowIllegalArgumentException_WhenCapacityNotPositive() {
+    new SigningJournal(0);
+  }
+}
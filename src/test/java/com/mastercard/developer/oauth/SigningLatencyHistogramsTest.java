@@ -0,0 +1,81 @@
+package com.mastercard.developer.oauth;
+
+import com.mastercard.developer.test.TestUtils;
+import org.junit.Test;
+
+import java.net.URI;
+import java.security.PrivateKey;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static org.junit.Assert.*;
+
+public class SigningLatencyHistogramsTest {
+
+  @Test
+  public void testGetAuthorizationHeader_ShouldTimeSigningPhases() throws Exception {
+    URI uri = URI.create("https://api.mastercard.com/service?b=2&a=1");
+    SigningSample sample = new SigningSample("ckey", SignatureMethod.RSA_SHA256);
+
+    String header = OAuth.getAuthorizationHeader(OAuth.getBaseUriString(uri), OAuth.extractQueryParams(uri, UTF8_CHARSET), "GET",
+        OAuth.getBodyHash((byte[]) null), UTF8_CHARSET, "ckey", TestUtils.getTestSigningKey(), SignatureMethod.RSA_SHA256, null, sample);
+
+    assertTrue(header.startsWith("OAuth "));
+    assertEquals("GET", sample.getMethod());
+    assertEquals("https://api.mastercard.com/service", sample.getBaseUri());
+    assertEquals(SigningSample.Outcome.SIGNED, sample.getOutcome());
+    assertTrue(sample.getPhaseNanos(SigningSample.Phase.SIGNATURE) > 0);
+    long phaseTotal = 0;
+    for (SigningSample.Phase phase : SigningSample.Phase.values()) {
+      phaseTotal += sample.getPhaseNanos(phase);
+    }
+    assertEquals(sample.getTotalNanos(), phaseTotal);
+  }
+
+  @Test
+  public void testRecord_ShouldAggregatePerEndpoint() throws Exception {
+    SigningLatencyHistograms histograms = new SigningLatencyHistograms();
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+    for (int i = 0; i < 10; i++) {
+      histograms.record(sign("GET", "https://api.mastercard.com/a", signingKey, 0));
+    }
+    histograms.record(sign("POST", "https://api.mastercard.com/b", signingKey, 100));
+    SigningSample failed = new SigningSample("ckey", SignatureMethod.RSA_SHA256);
+    failed.setFailure(new IllegalStateException());
+    histograms.record(failed);
+
+    SigningLatencyHistograms.Endpoint a = histograms.getEndpoints().get("GET https://api.mastercard.com/a");
+    SigningLatencyHistograms.Endpoint b = histograms.getEndpoints().get("POST https://api.mastercard.com/b");
+    assertEquals(3, histograms.getEndpoints().size());
+    assertEquals(10, a.getLatency().getCount());
+    assertEquals(10, a.getPhaseLatency(SigningSample.Phase.SIGNATURE).getCount());
+    assertTrue(a.getLatency().getValueAtPercentile(99) >= a.getPhaseLatency(SigningSample.Phase.SIGNATURE).getValueAtPercentile(50));
+    assertEquals(0, a.getFailureCount());
+    assertEquals(100, b.getBodySizes().getMax());
+    assertEquals(1, histograms.getEndpoints().get(SigningLatencyHistograms.OTHER_ENDPOINTS).getFailureCount());
+
+    histograms.reset();
+    assertTrue(histograms.getEndpoints().isEmpty());
+  }
+
+  @Test
+  public void testRecord_ShouldAggregateEndpointsAboveCapUnderOther() throws Exception {
+    SigningLatencyHistograms histograms = new SigningLatencyHistograms(SigningSample::getBaseUri, 2);
+    PrivateKey signingKey = TestUtils.getTestSigningKey();
+
+    for (int i = 0; i < 5; i++) {
+      histograms.record(sign("GET", "https://api.mastercard.com/accounts/" + i, signingKey, 0));
+    }
+
+    assertEquals(3, histograms.getEndpoints().size());
+    assertEquals(1, histograms.getEndpoints().get("https://api.mastercard.com/accounts/0").getLatency().getCount());
+    assertEquals(3, histograms.getEndpoints().get(SigningLatencyHistograms.OTHER_ENDPOINTS).getLatency().getCount());
+  }
+
+  private static SigningSample sign(String method, String baseUri, PrivateKey signingKey, int bodySize) {
+    SigningSample sample = new SigningSample("ckey", SignatureMethod.RSA_SHA256);
+    sample.setBodySize(bodySize);
+    OAuth.getAuthorizationHeader(baseUri, OAuth.extractQueryParams((String) null, UTF8_CHARSET), method, OAuth.getBodyHash(new byte[bodySize]),
+        UTF8_CHARSET, "ckey", signingKey, SignatureMethod.RSA_SHA256, null, sample);
+    return sample;
+  }
+}
@@ -16,6 +16,7 @@ import org.mockito.Mockito;
 
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 
 import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
@@ -41,8 +42,25 @@ public class ApacheHttpClient4SignerTest {
         Assert.assertNotNull(authorizationHeaderValue);
     }
 
+    @Test
+    public void testSign_ShouldHashPayloadWithContentTypeCharset() throws Exception {
+
+        // GIVEN
+        HttpPost httpPost = new HttpPost("https://api.mastercard.com/service");
+        httpPost.setEntity(new StringEntity("{\"foo\":\"bår\"}", ContentType.create("application/json", StandardCharsets.ISO_8859_1)));
+        String expectedBodyHash = OAuth.getBodyHash("{\"foo\":\"bår\"}".getBytes(StandardCharsets.ISO_8859_1));
+
+        // WHEN
+        ApacheHttpClient4Signer instanceUnderTest = new ApacheHttpClient4Signer("Some key", TestUtils.getTestSigningKey());
+        instanceUnderTest.sign(httpPost);
+
+        // THEN
+        String authorizationHeaderValue = httpPost.getFirstHeader("Authorization").getValue();
+        Assert.assertTrue(authorizationHeaderValue.contains("oauth_body_hash=\"" + expectedBodyHash + "\""));
+    }
+
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -64,7 +82,8 @@ public class ApacheHttpClient4SignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             )).thenReturn("OAuth header");
 
             ApacheHttpClient4Signer instanceUnderTest = new ApacheHttpClient4Signer(consumerKey, signingKey, signatureMethod);
@@ -80,7 +99,8 @@ public class ApacheHttpClient4SignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             ));
         }
     }
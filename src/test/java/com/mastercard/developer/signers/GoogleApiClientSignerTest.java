@@ -12,16 +12,21 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
-import java.net.URI;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.security.PrivateKey;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
 
 public class GoogleApiClientSignerTest {
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testConstructor_WithSignatureMethod_ShouldUseDefaultCharsetAndProvidedSignatureMethod(SignatureMethod signatureMethod) throws Exception {
 
         PrivateKey signingKey = TestUtils.getTestSigningKey();
@@ -30,7 +35,7 @@ public class GoogleApiClientSignerTest {
         GoogleApiClientSigner instanceUnderTest = new GoogleApiClientSigner(consumerKey, signingKey, signatureMethod);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(Charset.defaultCharset(), instanceUnderTest.charset);
         Assert.assertEquals(signatureMethod, instanceUnderTest.signatureMethod);
     }
@@ -45,7 +50,7 @@ public class GoogleApiClientSignerTest {
         GoogleApiClientSigner instanceUnderTest = new GoogleApiClientSigner(charset, consumerKey, signingKey);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(charset, instanceUnderTest.charset);
         Assert.assertEquals(OAuth.DEFAULT_SIGNATURE_METHOD, instanceUnderTest.signatureMethod);
     }
@@ -71,7 +76,7 @@ public class GoogleApiClientSignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -85,17 +90,20 @@ public class GoogleApiClientSignerTest {
         HttpRequest request = requestFactory.buildPostRequest(new GenericUrl("https://api.mastercard.com/service"), httpContent);
         request.setRequestMethod("POST");
 
-        URI expectedUri = URI.create("https://api.mastercard.com/service");
+        String expectedBaseUri = "https://api.mastercard.com/service";
+        String expectedBodyHash = OAuth.getBodyHash(payload.getBytes(charset));
 
-        try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class)) {
+        try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class, Mockito.CALLS_REAL_METHODS)) {
             oauthMock.when(() -> OAuth.getAuthorizationHeader(
-                    expectedUri,
-                    "POST",
-                    payload,
-                    charset,
-                    consumerKey,
-                    signingKey,
-                    signatureMethod
+                    Mockito.eq(expectedBaseUri),
+                    Mockito.eq(new TreeMap<String, List<String>>()),
+                    Mockito.eq("POST"),
+                    Mockito.eq(expectedBodyHash),
+                    Mockito.eq(charset),
+                    Mockito.eq(consumerKey),
+                    Mockito.eq(signingKey),
+                    Mockito.eq(signatureMethod),
+                    Mockito.isNull()
             )).thenReturn("OAuth header");
 
             GoogleApiClientSigner instanceUnderTest = new GoogleApiClientSigner(charset, consumerKey, signingKey, signatureMethod);
@@ -105,14 +113,65 @@ public class GoogleApiClientSignerTest {
 
             // THEN
             oauthMock.verify(() -> OAuth.getAuthorizationHeader(
-                    expectedUri,
-                    "POST",
-                    payload,
-                    charset,
-                    consumerKey,
-                    signingKey,
-                    signatureMethod
+                    Mockito.eq(expectedBaseUri),
+                    Mockito.eq(new TreeMap<String, List<String>>()),
+                    Mockito.eq("POST"),
+                    Mockito.eq(expectedBodyHash),
+                    Mockito.eq(charset),
+                    Mockito.eq(consumerKey),
+                    Mockito.eq(signingKey),
+                    Mockito.eq(signatureMethod),
+                    Mockito.isNull()
             ));
         }
     }
+
+    @Test
+    public void testSign_ShouldSerializeContentOnceAndReplayExactBytes() throws Exception {
+
+        // GIVEN
+        byte[] payload = "{\"foo\":\"bår\"}".getBytes(UTF8_CHARSET);
+        AtomicInteger writeCount = new AtomicInteger();
+        HttpContent httpContent = new AbstractHttpContent("application/json") {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                writeCount.incrementAndGet();
+                out.write(payload);
+            }
+        };
+        HttpRequest request = new NetHttpTransport().createRequestFactory()
+                .buildPostRequest(new GenericUrl("https://api.mastercard.com/service"), httpContent);
+        GoogleApiClientSigner instanceUnderTest = new GoogleApiClientSigner(UTF8_CHARSET, "Some key", TestUtils.getTestSigningKey());
+
+        // WHEN
+        instanceUnderTest.sign(request);
+        instanceUnderTest.sign(request); // Retry
+
+        // THEN
+        HttpContent signedContent = request.getContent();
+        ByteArrayOutputStream sentBytes = new ByteArrayOutputStream();
+        signedContent.writeTo(sentBytes);
+        Assert.assertEquals(1, writeCount.get());
+        Assert.assertArrayEquals(payload, sentBytes.toByteArray());
+        Assert.assertEquals(payload.length, signedContent.getLength());
+        Assert.assertEquals("application/json", signedContent.getType());
+        Assert.assertTrue(signedContent.retrySupported());
+        Assert.assertTrue(request.getHeaders().getAuthorization().contains("oauth_body_hash=\"" + OAuth.getBodyHash(payload) + "\""));
+    }
+
+    @Test
+    public void testSign_ShouldHashEmptyString_WhenNoContent() throws Exception {
+
+        // GIVEN
+        HttpRequest request = new NetHttpTransport().createRequestFactory()
+                .buildGetRequest(new GenericUrl("https://api.mastercard.com/service"));
+        GoogleApiClientSigner instanceUnderTest = new GoogleApiClientSigner("Some key", TestUtils.getTestSigningKey());
+
+        // WHEN
+        instanceUnderTest.sign(request);
+
+        // THEN
+        Assert.assertNull(request.getContent());
+        Assert.assertTrue(request.getHeaders().getAuthorization().contains("oauth_body_hash=\"" + OAuth.getBodyHash((byte[]) null) + "\""));
+    }
 }
@@ -7,14 +7,20 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import javax.net.ssl.HttpsURLConnection;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.net.URI;
 import java.security.PrivateKey;
 import java.nio.charset.Charset;
+import java.util.Random;
 
 import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
 
@@ -41,7 +47,7 @@ public class HttpsUrlConnectionSignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -65,7 +71,8 @@ public class HttpsUrlConnectionSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             )).thenReturn("OAuth header");
 
             HttpsUrlConnectionSigner instanceUnderTest = new HttpsUrlConnectionSigner(charset, consumerKey, signingKey, signatureMethod);
@@ -81,8 +88,77 @@ public class HttpsUrlConnectionSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             ));
         }
     }
+
+    @Test
+    public void testSigningOutputStream_ShouldAddOAuth1HeaderThenSendBufferedBody() throws Exception {
+
+        // GIVEN
+        byte[] payload = "{\"foo\":\"bår\"}".getBytes(UTF8_CHARSET);
+        ByteArrayOutputStream sentBody = new ByteArrayOutputStream();
+        HttpsURLConnection connection = mockConnection(sentBody);
+        HttpsUrlConnectionSigner instanceUnderTest = new HttpsUrlConnectionSigner(UTF8_CHARSET, "Some key", TestUtils.getTestSigningKey());
+
+        // WHEN
+        try (OutputStream out = instanceUnderTest.signingOutputStream(connection)) {
+            out.write(payload[0]);
+            out.write(payload, 1, payload.length - 1);
+        }
+
+        // THEN
+        Assert.assertArrayEquals(payload, sentBody.toByteArray());
+        assertSignedWithBodyHash(connection, OAuth.getBodyHash(payload), payload.length);
+    }
+
+    @Test
+    public void testSigningOutputStream_ShouldSpillToDisk_WhenBodyExceedsThreshold() throws Exception {
+
+        // GIVEN
+        byte[] payload = new byte[64 * 1024];
+        new Random(42).nextBytes(payload);
+        ByteArrayOutputStream sentBody = new ByteArrayOutputStream();
+        HttpsURLConnection connection = mockConnection(sentBody);
+        HttpsUrlConnectionSigner instanceUnderTest = new HttpsUrlConnectionSigner(UTF8_CHARSET, "Some key", TestUtils.getTestSigningKey());
+
+        // WHEN
+        try (OutputStream out = instanceUnderTest.signingOutputStream(connection, 1024)) {
+            for (int offset = 0; offset < payload.length; offset += 1000) {
+                out.write(payload, offset, Math.min(1000, payload.length - offset));
+            }
+        }
+
+        // THEN
+        Assert.assertArrayEquals(payload, sentBody.toByteArray());
+        assertSignedWithBodyHash(connection, OAuth.getBodyHash(payload), payload.length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testSigningOutputStream_ShouldThrowIOException_WhenWritingAfterClose() throws Exception {
+        HttpsURLConnection connection = mockConnection(new ByteArrayOutputStream());
+        HttpsUrlConnectionSigner instanceUnderTest = new HttpsUrlConnectionSigner(UTF8_CHARSET, "Some key", TestUtils.getTestSigningKey());
+        OutputStream out = instanceUnderTest.signingOutputStream(connection);
+        out.close();
+        out.write(1);
+    }
+
+    private static HttpsURLConnection mockConnection(ByteArrayOutputStream sentBody) throws Exception {
+        HttpsURLConnection connection = Mockito.mock(HttpsURLConnection.class);
+        Mockito.when(connection.getURL()).thenReturn(new URL("https://api.mastercard.com/service"));
+        Mockito.when(connection.getRequestMethod()).thenReturn("POST");
+        Mockito.when(connection.getOutputStream()).thenReturn(sentBody);
+        return connection;
+    }
+
+    private static void assertSignedWithBodyHash(HttpsURLConnection connection, String expectedBodyHash, long expectedLength) throws Exception {
+        ArgumentCaptor<String> headerCaptor = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = Mockito.inOrder(connection);
+        inOrder.verify(connection).setRequestProperty(Mockito.eq("Authorization"), headerCaptor.capture());
+        inOrder.verify(connection).setFixedLengthStreamingMode(expectedLength);
+        inOrder.verify(connection).getOutputStream();
+        Assert.assertTrue(headerCaptor.getValue().contains("oauth_body_hash=\"" + expectedBodyHash + "\""));
+    }
 }
@@ -22,7 +22,7 @@ import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
 public class OkHttp2SignerTest {
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testConstructor_WithSignatureMethod_ShouldUseUtf8CharsetAndProvidedSignatureMethod(SignatureMethod signatureMethod) throws Exception {
 
         PrivateKey signingKey = getTestSigningKey();
@@ -31,7 +31,7 @@ public class OkHttp2SignerTest {
         OkHttp2Signer instanceUnderTest = new OkHttp2Signer(consumerKey, signingKey, signatureMethod);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(StandardCharsets.UTF_8, instanceUnderTest.charset);
         Assert.assertEquals(signatureMethod, instanceUnderTest.signatureMethod);
     }
@@ -46,7 +46,7 @@ public class OkHttp2SignerTest {
         OkHttp2Signer instanceUnderTest = new OkHttp2Signer(charset, consumerKey, signingKey);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(charset, instanceUnderTest.charset);
         Assert.assertEquals(OAuth.DEFAULT_SIGNATURE_METHOD, instanceUnderTest.signatureMethod);
     }
@@ -74,7 +74,7 @@ public class OkHttp2SignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -98,7 +98,8 @@ public class OkHttp2SignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             )).thenReturn("OAuth header");
 
             OkHttp2Signer instanceUnderTest = new OkHttp2Signer(charset, consumerKey, signingKey, signatureMethod);
@@ -114,7 +115,8 @@ public class OkHttp2SignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             ));
         }
     }
@@ -2,6 +2,8 @@ package com.mastercard.developer.signers;
 
 import com.mastercard.developer.oauth.OAuth;
 import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningSample;
+import com.mastercard.developer.oauth.WarmUpReport;
 import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -16,6 +18,8 @@ import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
 import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
@@ -24,7 +28,7 @@ import static okhttp3.Request.Builder;
 public class OkHttpSignerTest {
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testConstructor_WithSignatureMethod_ShouldUseUtf8CharsetAndProvidedSignatureMethod(SignatureMethod signatureMethod) throws Exception {
 
         PrivateKey signingKey = getTestSigningKey();
@@ -33,7 +37,7 @@ public class OkHttpSignerTest {
         OkHttpSigner instanceUnderTest = new OkHttpSigner(consumerKey, signingKey, signatureMethod);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(StandardCharsets.UTF_8, instanceUnderTest.charset);
         Assert.assertEquals(signatureMethod, instanceUnderTest.signatureMethod);
     }
@@ -48,7 +52,7 @@ public class OkHttpSignerTest {
         OkHttpSigner instanceUnderTest = new OkHttpSigner(charset, consumerKey, signingKey);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(charset, instanceUnderTest.charset);
         Assert.assertEquals(OAuth.DEFAULT_SIGNATURE_METHOD, instanceUnderTest.signatureMethod);
     }
@@ -76,7 +80,7 @@ public class OkHttpSignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -100,7 +104,8 @@ public class OkHttpSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             )).thenReturn("OAuth header");
 
             OkHttpSigner instanceUnderTest = new OkHttpSigner(charset, consumerKey, signingKey, signatureMethod);
@@ -116,8 +121,77 @@ public class OkHttpSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             ));
         }
     }
+
+    @Test
+    public void testWarmUp_ShouldSignSyntheticRequestsAndBeWarmedUp() throws Exception {
+        OkHttpSigner instanceUnderTest = new OkHttpSigner("Some key", getTestSigningKey());
+        Assert.assertFalse(instanceUnderTest.isWarmedUp());
+
+        WarmUpReport report = instanceUnderTest.warmUp(1000, 2);
+
+        Assert.assertTrue(instanceUnderTest.isWarmedUp());
+        Assert.assertEquals(1000, report.getCanonicalizations());
+        Assert.assertEquals(2, report.getSignatures());
+    }
+
+    @Test
+    public void testSign_ShouldSignWithHmacSha256_WhenConstructedWithSecretKey() throws Exception {
+        OkHttpSigner instanceUnderTest = new OkHttpSigner(StandardCharsets.UTF_8, "Some key", OAuth.getHmacKey("consumer-secret", null));
+        Request.Builder builder = new Request.Builder().url("https://api.mastercard.com/service").get();
+
+        instanceUnderTest.sign(builder);
+
+        String header = builder.build().header(OAuth.AUTHORIZATION_HEADER_NAME);
+        Assert.assertTrue(header.contains("oauth_signature_method=\"HMAC-SHA256\""));
+        Assert.assertNull(instanceUnderTest.getSigningKey());
+        Assert.assertEquals(2, instanceUnderTest.warmUp(10, 2).getSignatures());
+    }
+
+    @Test
+    public void testSign_ShouldRecordSigningSample_WhenSigningMetricsAreSet() throws Exception {
+        List<SigningSample> samples = new ArrayList<>();
+        OkHttpSigner instanceUnderTest = new OkHttpSigner("Some key", getTestSigningKey());
+        instanceUnderTest.setSigningMetrics(samples::add);
+        RequestBody body = RequestBody.create(MediaType.parse("application/json; charset=utf-8"), "{\"foo\":\"bår\"}");
+        Builder requestBuilder = new Builder().url("https://api.mastercard.com/service?a=1").post(body);
+
+        instanceUnderTest.sign(requestBuilder);
+
+        Assert.assertEquals(1, samples.size());
+        SigningSample sample = samples.get(0);
+        Assert.assertEquals(SigningSample.Outcome.SIGNED, sample.getOutcome());
+        Assert.assertEquals("POST", sample.getMethod());
+        Assert.assertEquals("https://api.mastercard.com/service", sample.getBaseUri());
+        Assert.assertEquals("Some key", sample.getConsumerKey());
+        Assert.assertEquals(OAuth.DEFAULT_SIGNATURE_METHOD, sample.getSignatureMethod());
+        Assert.assertEquals(14, sample.getBodySize());
+        for (SigningSample.Phase phase : SigningSample.Phase.values()) {
+            Assert.assertTrue(phase.name(), sample.getPhaseNanos(phase) > 0);
+        }
+
+        instanceUnderTest.setSigningMetrics(null);
+        instanceUnderTest.sign(requestBuilder);
+        Assert.assertEquals(1, samples.size());
+    }
+
+    @Test
+    public void testSign_ShouldRecordFailedSample_WhenSigningFails() throws Exception {
+        List<SigningSample> samples = new ArrayList<>();
+        OkHttpSigner instanceUnderTest = new OkHttpSigner("Some key", getTestSigningKey(), SignatureMethod.ED25519);
+        instanceUnderTest.setSigningMetrics(samples::add);
+
+        try {
+            instanceUnderTest.sign(new Builder().url("https://api.mastercard.com/service").get());
+            Assert.fail("Signing an Ed25519 request with an RSA key should fail");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(1, samples.size());
+            Assert.assertEquals(SigningSample.Outcome.FAILED, samples.get(0).getOutcome());
+            Assert.assertSame(e, samples.get(0).getFailure());
+        }
+    }
 }
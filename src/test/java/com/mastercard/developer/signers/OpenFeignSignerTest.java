@@ -7,6 +7,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
@@ -16,13 +17,16 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
 
 public class OpenFeignSignerTest {
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testConstructor_WithSignatureMethod_ShouldUseDefaultCharsetAndProvidedValues(SignatureMethod signatureMethod) throws Exception {
 
         PrivateKey signingKey = getTestSigningKey();
@@ -32,13 +36,13 @@ public class OpenFeignSignerTest {
         OpenFeignSigner instanceUnderTest = new OpenFeignSigner(consumerKey, signingKey, baseUri, signatureMethod);
 
         Assert.assertEquals(consumerKey, instanceUnderTest.consumerKey);
-        Assert.assertEquals(signingKey, instanceUnderTest.signingKey);
+        Assert.assertEquals(signingKey, instanceUnderTest.getSigningKey());
         Assert.assertEquals(Charset.defaultCharset(), instanceUnderTest.charset);
         Assert.assertEquals(signatureMethod, instanceUnderTest.signatureMethod);
 
         Field baseUriField = OpenFeignSigner.class.getDeclaredField("baseUri");
         baseUriField.setAccessible(true);
-        Assert.assertEquals(baseUri, baseUriField.get(instanceUnderTest));
+        Assert.assertEquals("https://api.mastercard.com", baseUriField.get(instanceUnderTest));
     }
 
     @Test
@@ -86,7 +90,7 @@ public class OpenFeignSignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -100,17 +104,20 @@ public class OpenFeignSignerTest {
         String payload = "{\"foo\":\"bar\"}";
         requestTemplate.body(payload);
 
-        URI expectedUri = URI.create("https://api.mastercard.com/service");
+        String expectedBaseUri = "https://api.mastercard.com/service";
+        String expectedBodyHash = OAuth.getBodyHash(payload.getBytes(charset));
 
-        try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class)) {
+        try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class, Mockito.CALLS_REAL_METHODS)) {
             oauthMock.when(() -> OAuth.getAuthorizationHeader(
-                    expectedUri,
-                    "POST",
-                    payload,
-                    charset,
-                    consumerKey,
-                    signingKey,
-                    signatureMethod
+                    Mockito.eq(expectedBaseUri),
+                    Mockito.eq(new TreeMap<String, List<String>>()),
+                    Mockito.eq("POST"),
+                    Mockito.eq(expectedBodyHash),
+                    Mockito.eq(charset),
+                    Mockito.eq(consumerKey),
+                    Mockito.eq(signingKey),
+                    Mockito.eq(signatureMethod),
+                    Mockito.isNull()
             )).thenReturn("OAuth header");
 
             OpenFeignSigner instanceUnderTest = new OpenFeignSigner(charset,
@@ -124,14 +131,65 @@ public class OpenFeignSignerTest {
 
             // THEN
             oauthMock.verify(() -> OAuth.getAuthorizationHeader(
-                    expectedUri,
-                    "POST",
-                    payload,
-                    charset,
-                    consumerKey,
-                    signingKey,
-                    signatureMethod
+                    Mockito.eq(expectedBaseUri),
+                    Mockito.eq(new TreeMap<String, List<String>>()),
+                    Mockito.eq("POST"),
+                    Mockito.eq(expectedBodyHash),
+                    Mockito.eq(charset),
+                    Mockito.eq(consumerKey),
+                    Mockito.eq(signingKey),
+                    Mockito.eq(signatureMethod),
+                    Mockito.isNull()
+            ));
+            Assert.assertEquals("OAuth header", requestTemplate.headers().get("Authorization").iterator().next());
+        }
+    }
+
+    @Test
+    public void testSign_ShouldSignSameComponentsAsUriBasedCanonicalization() throws Exception {
+
+        // GIVEN
+        PrivateKey signingKey = getTestSigningKey();
+        Charset charset = StandardCharsets.UTF_8;
+        RequestTemplate requestTemplate = new RequestTemplate();
+        requestTemplate.method("GET");
+        requestTemplate.append("/v1/service");
+        requestTemplate.query("offset", "0", "1");
+        requestTemplate.query("colon", "a:b");
+        URI expectedUri = URI.create("https://API.mastercard.com:443/base/v1/service" + requestTemplate.queryLine());
+        String expectedBaseUri = OAuth.getBaseUriString(expectedUri);
+        TreeMap<String, List<String>> expectedQueryParams = OAuth.extractQueryParams(expectedUri, charset);
+        String expectedBodyHash = OAuth.getBodyHash((byte[]) null);
+
+        try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class, Mockito.CALLS_REAL_METHODS)) {
+            oauthMock.when(() -> OAuth.getAuthorizationHeader(
+                    Mockito.anyString(), Mockito.any(), Mockito.anyString(), Mockito.anyString(),
+                    Mockito.any(Charset.class), Mockito.anyString(), Mockito.any(PrivateKey.class), Mockito.any(SignatureMethod.class), Mockito.isNull()
+            )).thenReturn("OAuth header");
+
+            OpenFeignSigner instanceUnderTest = new OpenFeignSigner(charset, "Some key", signingKey, "https://API.mastercard.com:443/base/");
+
+            // WHEN
+            instanceUnderTest.sign(requestTemplate);
+
+            // THEN
+            ArgumentCaptor<String> baseUriCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<SortedMap<String, List<String>>> queryParamsCaptor = ArgumentCaptor.forClass(SortedMap.class);
+            ArgumentCaptor<String> bodyHashCaptor = ArgumentCaptor.forClass(String.class);
+            oauthMock.verify(() -> OAuth.getAuthorizationHeader(
+                    baseUriCaptor.capture(),
+                    queryParamsCaptor.capture(),
+                    Mockito.eq("GET"),
+                    bodyHashCaptor.capture(),
+                    Mockito.eq(charset),
+                    Mockito.eq("Some key"),
+                    Mockito.eq(signingKey),
+                    Mockito.eq(OAuth.DEFAULT_SIGNATURE_METHOD),
+                    Mockito.isNull()
             ));
+            Assert.assertEquals(expectedBaseUri, baseUriCaptor.getValue());
+            Assert.assertEquals(expectedQueryParams, queryParamsCaptor.getValue());
+            Assert.assertEquals(expectedBodyHash, bodyHashCaptor.getValue());
         }
     }
 }
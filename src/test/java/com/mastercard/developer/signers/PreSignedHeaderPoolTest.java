@@ -0,0 +1,105 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.OAuth;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
+
+public class PreSignedHeaderPoolTest {
+
+    private static final URI STATUS_URI = URI.create("https://api.mastercard.com/status?id=1");
+
+    @Test
+    public void testSign_ShouldTakePreSignedHeaders_WhenRequestRegistered() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner("ckey", getTestSigningKey());
+        try (PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, 4, 1, TimeUnit.MINUTES)) {
+            signer.setPreSignedHeaderPool(pool);
+            pool.register("GET", STATUS_URI);
+            awaitReady(pool, "GET", 4);
+
+            Set<String> nonces = new HashSet<>();
+            for (int i = 0; i < 2; i++) {
+                Request.Builder request = new Request.Builder().url(STATUS_URI.toString()).get();
+                signer.sign(request);
+                String header = request.build().header(OAuth.AUTHORIZATION_HEADER_NAME);
+                nonces.add(header.replaceAll(".*oauth_nonce=\"([^\"]+)\".*", "$1"));
+            }
+
+            Assert.assertEquals(2, pool.getHits());
+            Assert.assertEquals(0, pool.getMisses());
+            Assert.assertEquals(2, nonces.size());
+        }
+    }
+
+    @Test
+    public void testSign_ShouldSignInline_WhenRequestHasBodyOrIsNotRegistered() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner("ckey", getTestSigningKey());
+        try (PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, 4, 1, TimeUnit.MINUTES)) {
+            signer.setPreSignedHeaderPool(pool);
+            pool.register("POST", STATUS_URI);
+            awaitReady(pool, "POST", 4);
+
+            Request.Builder withBody = new Request.Builder().url(STATUS_URI.toString())
+                    .post(RequestBody.create(MediaType.parse("application/json"), "{}"));
+            signer.sign(withBody);
+            Request.Builder notRegistered = new Request.Builder().url("https://api.mastercard.com/other").get();
+            signer.sign(notRegistered);
+
+            Assert.assertNotNull(withBody.build().header(OAuth.AUTHORIZATION_HEADER_NAME));
+            Assert.assertNotNull(notRegistered.build().header(OAuth.AUTHORIZATION_HEADER_NAME));
+            Assert.assertEquals(0, pool.getHits());
+            Assert.assertEquals(4, pool.getReadyCount("POST", STATUS_URI));
+        }
+    }
+
+    @Test
+    public void testTake_ShouldDiscardExpiredHeaders() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner("ckey", getTestSigningKey());
+        try (PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, 2, 200, TimeUnit.MILLISECONDS)) {
+            pool.register("GET", STATUS_URI);
+            awaitReady(pool, "GET", 2);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.getExpired() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            Assert.assertTrue(pool.getExpired() > 0);
+        }
+    }
+
+    @Test
+    public void testTake_ShouldReturnNull_WhenClosed() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner("ckey", getTestSigningKey());
+        PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, 2, 1, TimeUnit.MINUTES);
+        pool.register("GET", STATUS_URI);
+        awaitReady(pool, "GET", 2);
+        pool.close();
+
+        Assert.assertNull(pool.take("GET", STATUS_URI, null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetPreSignedHeaderPool_ShouldThrowIllegalArgumentException_WhenPoolOfAnotherSigner() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner("ckey", getTestSigningKey());
+        try (PreSignedHeaderPool pool = new PreSignedHeaderPool(signer, 2, 1, TimeUnit.MINUTES)) {
+            new OkHttpSigner("ckey", getTestSigningKey()).setPreSignedHeaderPool(pool);
+        }
+    }
+
+    private static void awaitReady(PreSignedHeaderPool pool, String method, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getReadyCount(method, STATUS_URI) < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, pool.getReadyCount(method, STATUS_URI));
+    }
+}
@@ -0,0 +1,172 @@
+package com.mastercard.developer.signers;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.mastercard.developer.test.AllocationMeter;
+import feign.RequestTemplate;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.security.PrivateKey;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
+import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
+
+/**
+ * Fails when a change allocates more while signing with the bundled signers (the request to sign is created
+ * beforehand and not counted). When an optimization lands, lower the budgets to the new measures (plus ~10%).
+ * Budgets were measured on Java 17; about 60 KB of each is the RSA private key operation of the JDK.
+ */
+public class SignerAllocationBudgetTest {
+
+    private static final long APACHE_HTTP_CLIENT_4_BUDGET = 84_000;
+    private static final long GOOGLE_API_CLIENT_BUDGET = 78_000;
+    private static final long HTTPS_URL_CONNECTION_BUDGET = 72_000;
+    private static final long OKHTTP2_BUDGET = 72_000;
+    private static final long OKHTTP_BUDGET = 73_000;
+    private static final long OPENFEIGN_BUDGET = 71_000;
+    private static final long SPRING_HTTP_REQUEST_BUDGET = 72_000;
+    private static final long SPRING_WEBFLUX_BUDGET = 112_000;
+
+    private static final String URL = "https://api.mastercard.com/service?b=2&a=1";
+    private static final String PAYLOAD = "{\"foo\":\"bår\"}";
+    private static final String CONSUMER_KEY = "Some key";
+
+    private static PrivateKey signingKey;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Assume.assumeTrue(AllocationMeter.isSupported());
+        signingKey = getTestSigningKey();
+    }
+
+    @Test
+    public void testApacheHttpClient4Signer_ShouldStayWithinAllocationBudget() throws Exception {
+        ApacheHttpClient4Signer signer = new ApacheHttpClient4Signer(CONSUMER_KEY, signingKey);
+        long bytes = AllocationMeter.bytesPerCall(() -> {
+            HttpPost request = new HttpPost(URL);
+            request.setEntity(new StringEntity(PAYLOAD, ContentType.APPLICATION_JSON));
+            return request;
+        }, signer::sign);
+        assertWithinBudget(bytes, APACHE_HTTP_CLIENT_4_BUDGET);
+    }
+
+    @Test
+    public void testGoogleApiClientSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        GoogleApiClientSigner signer = new GoogleApiClientSigner(CONSUMER_KEY, signingKey);
+        HttpRequestFactory requestFactory = new NetHttpTransport().createRequestFactory();
+        long bytes = AllocationMeter.bytesPerCall(() -> {
+            try {
+                return requestFactory.buildPostRequest(new GenericUrl(URL), new ByteArrayContent("application/json", PAYLOAD.getBytes(UTF8_CHARSET)));
+            } catch (java.io.IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, (HttpRequest request) -> signer.sign(request));
+        assertWithinBudget(bytes, GOOGLE_API_CLIENT_BUDGET);
+    }
+
+    @Test
+    public void testHttpsUrlConnectionSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        HttpsUrlConnectionSigner signer = new HttpsUrlConnectionSigner(UTF8_CHARSET, CONSUMER_KEY, signingKey);
+        HttpsURLConnection connection = (HttpsURLConnection) new URL(URL).openConnection();
+        connection.setRequestMethod("POST");
+        long bytes = AllocationMeter.bytesPerCall(() -> connection, request -> signer.sign(request, PAYLOAD));
+        assertWithinBudget(bytes, HTTPS_URL_CONNECTION_BUDGET);
+    }
+
+    @Test
+    public void testOkHttp2Signer_ShouldStayWithinAllocationBudget() throws Exception {
+        OkHttp2Signer signer = new OkHttp2Signer(CONSUMER_KEY, signingKey);
+        com.squareup.okhttp.MediaType json = com.squareup.okhttp.MediaType.parse("application/json; charset=utf-8");
+        long bytes = AllocationMeter.bytesPerCall(() -> new com.squareup.okhttp.Request.Builder()
+                .url(URL)
+                .post(com.squareup.okhttp.RequestBody.create(json, PAYLOAD)), signer::sign);
+        assertWithinBudget(bytes, OKHTTP2_BUDGET);
+    }
+
+    @Test
+    public void testOkHttpSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        OkHttpSigner signer = new OkHttpSigner(CONSUMER_KEY, signingKey);
+        okhttp3.MediaType json = okhttp3.MediaType.parse("application/json; charset=utf-8");
+        long bytes = AllocationMeter.bytesPerCall(() -> new okhttp3.Request.Builder()
+                .url(URL)
+                .post(okhttp3.RequestBody.create(json, PAYLOAD)), signer::sign);
+        assertWithinBudget(bytes, OKHTTP_BUDGET);
+    }
+
+    @Test
+    public void testOpenFeignSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        OpenFeignSigner signer = new OpenFeignSigner(CONSUMER_KEY, signingKey, "https://api.mastercard.com/");
+        long bytes = AllocationMeter.bytesPerCall(() -> {
+            RequestTemplate requestTemplate = new RequestTemplate();
+            requestTemplate.method("POST");
+            requestTemplate.append("/service");
+            requestTemplate.query("b", "2");
+            requestTemplate.query("a", "1");
+            requestTemplate.body(PAYLOAD);
+            return requestTemplate;
+        }, signer::sign);
+        assertWithinBudget(bytes, OPENFEIGN_BUDGET);
+    }
+
+    @Test
+    public void testSpringHttpRequestSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        SpringHttpRequestSigner signer = new SpringHttpRequestSigner(CONSUMER_KEY, signingKey);
+        URI uri = URI.create(URL);
+        byte[] body = PAYLOAD.getBytes(UTF8_CHARSET);
+        long bytes = AllocationMeter.bytesPerCall(() -> {
+            HttpHeaders headers = new HttpHeaders();
+            return new org.springframework.http.HttpRequest() {
+                @Override
+                public HttpMethod getMethod() {
+                    return HttpMethod.POST;
+                }
+
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+
+                @Override
+                public Map<String, Object> getAttributes() {
+                    return Collections.emptyMap();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+        }, request -> signer.sign(request, body));
+        assertWithinBudget(bytes, SPRING_HTTP_REQUEST_BUDGET);
+    }
+
+    @Test
+    public void testSpringWebfluxSigner_ShouldStayWithinAllocationBudget() throws Exception {
+        SpringWebfluxSigner signer = new SpringWebfluxSigner(CONSUMER_KEY, signingKey);
+        URI uri = URI.create(URL);
+        long bytes = AllocationMeter.bytesPerCall(() -> ClientRequest.create(HttpMethod.POST, uri)
+                .body(new BodyInserterWrapper<>(Collections.singletonMap("foo", "bår"))).build(), signer::sign);
+        assertWithinBudget(bytes, SPRING_WEBFLUX_BUDGET);
+    }
+
+    private static void assertWithinBudget(long bytes, long budget) {
+        Assert.assertTrue(bytes + " bytes per signature, budget " + budget, bytes <= budget);
+    }
+}
@@ -0,0 +1,154 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.SignatureMethod;
+import com.mastercard.developer.oauth.SigningMetrics;
+import com.mastercard.developer.oauth.WarmUpReport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URI;
+import java.security.PrivateKey;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
+
+public class SignerRegistryTest {
+
+    private static SignerRegistry<OkHttpSigner> newRegistry(long idleTimeoutMillis) {
+        return new SignerRegistry<>(c -> new OkHttpSigner(c.getConsumerKey(), c.getSigningKey(), c.getSignatureMethod()), idleTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testResolve_ShouldRouteByTenantIdThenHostThenLongestPathPrefix() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant-a", new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", new SigningCredentials("key-b", signingKey, SignatureMethod.RSA_SHA256))
+                .register("tenant-c", new SigningCredentials("key-c", signingKey))
+                .routeHost("API.b.com", "tenant-b")
+                .routePathPrefix("/service", "tenant-a")
+                .routePathPrefix("/service/c", "tenant-c");
+
+        Assert.assertEquals("key-c", instanceUnderTest.resolve("tenant-c", URI.create("https://api.b.com/service")).consumerKey);
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.B.com/service/c")).consumerKey);
+        Assert.assertEquals("key-c", instanceUnderTest.resolve(null, URI.create("https://other.com/service/c/1")).consumerKey);
+        Assert.assertEquals("key-a", instanceUnderTest.resolve(null, URI.create("https://other.com/service/d")).consumerKey);
+    }
+
+    @Test
+    public void testResolve_ShouldMatchPathPrefixesOnSegmentBoundaries() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant-a", new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", new SigningCredentials("key-b", signingKey))
+                .register("tenant-c", new SigningCredentials("key-c", signingKey))
+                .routePathPrefix("/", "tenant-a")
+                .routePathPrefix("/v1", "tenant-b")
+                .routePathPrefix("/v1/beta/", "tenant-c");
+
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1")).consumerKey);
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1/")).consumerKey);
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1/payments")).consumerKey);
+        Assert.assertEquals("key-a", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1beta/payments")).consumerKey);
+        Assert.assertEquals("key-c", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1/beta")).consumerKey);
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/v1/betas")).consumerKey);
+        Assert.assertEquals("key-a", instanceUnderTest.resolve(null, URI.create("https://api.mastercard.com/")).consumerKey);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResolve_ShouldThrowIllegalArgumentException_WhenNoTenantMatches() {
+        newRegistry(60000).resolve(null, URI.create("https://api.mastercard.com/service"));
+    }
+
+    @Test
+    public void testResolve_ShouldLoadCredentialsLazilyAndOnce() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        AtomicInteger loadCount = new AtomicInteger();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant", () -> {
+                    loadCount.incrementAndGet();
+                    return new SigningCredentials("key", signingKey);
+                });
+        Assert.assertEquals(0, loadCount.get());
+        Assert.assertEquals(0, instanceUnderTest.getLoadedTenantCount());
+
+        OkHttpSigner first = instanceUnderTest.resolve("tenant", (String) null, null);
+        OkHttpSigner second = instanceUnderTest.resolve("tenant", (String) null, null);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(1, instanceUnderTest.getLoadedTenantCount());
+    }
+
+    @Test
+    public void testEvictIdleTenants_ShouldDropIdleSignersAndReloadOnNextUse() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        AtomicInteger loadCount = new AtomicInteger();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(0)
+                .register("lazy", () -> {
+                    loadCount.incrementAndGet();
+                    return new SigningCredentials("key", signingKey);
+                })
+                .register("eager", new SigningCredentials("key", signingKey));
+        instanceUnderTest.resolve("lazy", (String) null, null);
+        Thread.sleep(5);
+
+        Assert.assertEquals(1, instanceUnderTest.evictIdleTenants());
+        Assert.assertEquals(1, instanceUnderTest.getLoadedTenantCount());
+
+        instanceUnderTest.resolve("lazy", (String) null, null);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResolve_ShouldThrowIllegalStateException_WhenCredentialsCannotBeLoaded() {
+        newRegistry(60000)
+                .register("tenant", () -> { throw new Exception("Unreadable key"); })
+                .resolve("tenant", (String) null, null);
+    }
+
+    @Test
+    public void testUnregister_ShouldRemoveTenantAndItsRoutes() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant-a", new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", new SigningCredentials("key-b", signingKey))
+                .routeHost("api.a.com", "tenant-a")
+                .routePathPrefix("/a", "tenant-a")
+                .routePathPrefix("/", "tenant-b");
+
+        instanceUnderTest.unregister("tenant-a");
+
+        Assert.assertEquals("key-b", instanceUnderTest.resolve(null, URI.create("https://api.a.com/a")).consumerKey);
+    }
+
+    @Test
+    public void testWarmUp_ShouldLoadAndWarmUpEveryTenant() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant-a", () -> new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", () -> new SigningCredentials("key-b", signingKey));
+        Assert.assertFalse(instanceUnderTest.isWarmedUp());
+
+        WarmUpReport report = instanceUnderTest.warmUp();
+
+        Assert.assertTrue(instanceUnderTest.isWarmedUp());
+        Assert.assertEquals(2, instanceUnderTest.getLoadedTenantCount());
+        Assert.assertEquals(AbstractSigner.DEFAULT_WARM_UP_SIGNATURES + 1, report.getSignatures());
+    }
+
+    @Test
+    public void testSetSigningMetrics_ShouldApplyToLoadedAndLaterLoadedTenants() throws Exception {
+        PrivateKey signingKey = getTestSigningKey();
+        SignerRegistry<OkHttpSigner> instanceUnderTest = newRegistry(60000)
+                .register("tenant-a", new SigningCredentials("key-a", signingKey))
+                .register("tenant-b", () -> new SigningCredentials("key-b", signingKey));
+        SigningMetrics metrics = sample -> { };
+
+        instanceUnderTest.setSigningMetrics(metrics);
+
+        Assert.assertSame(metrics, instanceUnderTest.resolve("tenant-a", (String) null, null).getSigningMetrics());
+        Assert.assertSame(metrics, instanceUnderTest.resolve("tenant-b", (String) null, null).getSigningMetrics());
+    }
+}
@@ -0,0 +1,214 @@
+package com.mastercard.developer.signers;
+
+import com.mastercard.developer.oauth.SignatureMethod;
+import feign.RequestTemplate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mastercard.developer.test.TestUtils.getTestSigningKey;
+
+public class SigningKeyHolderTest {
+
+    private static PrivateKey generateKey(String algorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        return generator.generateKeyPair().getPrivate();
+    }
+
+    @Test
+    public void testRotate_ShouldBeSeenBySignersSharingTheHolder() throws Exception {
+        PrivateKey initialKey = getTestSigningKey();
+        PrivateKey newKey = generateKey("RSA");
+        SigningKeyHolder holder = new SigningKeyHolder(initialKey);
+        OkHttpSigner signer1 = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+        OpenFeignSigner signer2 = new OpenFeignSigner(StandardCharsets.UTF_8, "key", holder, "https://api.mastercard.com", SignatureMethod.RSA_SHA256);
+
+        holder.rotate(newKey);
+
+        Assert.assertSame(newKey, signer1.getSigningKey());
+        Assert.assertSame(newKey, signer2.getSigningKey());
+    }
+
+    @Test
+    public void testRotate_ShouldKeepCurrentKey_WhenNewKeyCannotSign() throws Exception {
+        PrivateKey initialKey = getTestSigningKey();
+        SigningKeyHolder holder = new SigningKeyHolder(initialKey, SignatureMethod.RSA_SHA256, SignatureMethod.RSA_PSS_SHA256);
+
+        try {
+            holder.rotate(generateKey("EC"));
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(initialKey, holder.get());
+        }
+    }
+
+    @Test
+    public void testSetProvider_ShouldBeSeenBySignersSharingTheHolder() throws Exception {
+        SigningKeyHolder holder = new SigningKeyHolder(getTestSigningKey());
+        OkHttpSigner signer1 = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+        OkHttpSigner signer2 = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+        Provider provider = Security.getProvider("SunRsaSign");
+
+        signer1.setProvider(provider);
+
+        Assert.assertSame(provider, signer2.getProvider());
+        Assert.assertSame(provider, holder.getProvider());
+    }
+
+    @Test
+    public void testSetProvider_ShouldKeepCurrentProvider_WhenProviderCannotSign() throws Exception {
+        SigningKeyHolder holder = new SigningKeyHolder(getTestSigningKey());
+        OkHttpSigner signer = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+
+        try {
+            signer.setProvider(Security.getProvider("SUN"));
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            Assert.assertNull(signer.getProvider());
+        }
+    }
+
+    @Test
+    public void testCalibrateProvider_ShouldSwitchToSelectedProvider() throws Exception {
+        SigningKeyHolder holder = new SigningKeyHolder(getTestSigningKey());
+        OkHttpSigner signer = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+
+        Provider selected = signer.calibrateProvider().getSelectedProvider();
+
+        Assert.assertSame(selected, holder.getProvider());
+    }
+
+    @Test
+    public void testRotate_ShouldNotFailOrPauseSigning_WhenRotatingUnderConcurrentSigning() throws Exception {
+        final PrivateKey[] keys = { getTestSigningKey(), generateKey("RSA"), generateKey("RSA") };
+        final SigningKeyHolder holder = new SigningKeyHolder(keys[0]);
+        final OpenFeignSigner signer = new OpenFeignSigner(StandardCharsets.UTF_8, "key", holder, "https://api.mastercard.com", SignatureMethod.RSA_SHA256);
+        final AtomicBoolean rotating = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicLong signatureCount = new AtomicLong();
+        final AtomicLong maxLatencyNanos = new AtomicLong();
+        final CountDownLatch started = new CountDownLatch(4);
+
+        List<Thread> signingThreads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                while (rotating.get()) {
+                    RequestTemplate template = new RequestTemplate();
+                    template.method("GET");
+                    template.append("/service");
+                    long start = System.nanoTime();
+                    try {
+                        signer.sign(template);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                        return;
+                    }
+                    long latency = System.nanoTime() - start;
+                    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                    signatureCount.incrementAndGet();
+                }
+            });
+            thread.start();
+            signingThreads.add(thread);
+        }
+        started.await();
+
+        for (int i = 1; i <= 1000; i++) {
+            holder.rotate(keys[i % keys.length]);
+        }
+        rotating.set(false);
+        for (Thread thread : signingThreads) {
+            thread.join();
+        }
+
+        Assert.assertNull(failure.get());
+        Assert.assertSame(keys[1000 % keys.length], holder.get());
+        Assert.assertTrue(signatureCount.get() > 0);
+        Assert.assertTrue("Max signing latency: " + maxLatencyNanos.get() + " ns", maxLatencyNanos.get() < TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    public void testWatchPkcs12File_ShouldRotateKey_WhenFileChanges() throws Exception {
+        Path file = Files.createTempFile("oauth1-signer-test", ".p12");
+        Files.copy(Paths.get("./src/test/resources/test_key_container.p12"), file, StandardCopyOption.REPLACE_EXISTING);
+        PrivateKey initialKey = generateKey("RSA");
+        SigningKeyHolder holder = new SigningKeyHolder(initialKey);
+
+        try (Closeable ignored = holder.watchPkcs12File(file.toString(), "mykeyalias", "Password1", 10, TimeUnit.MILLISECONDS)) {
+            Thread.sleep(50);
+            Assert.assertSame(initialKey, holder.get());
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (holder.get() == initialKey && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertArrayEquals(getTestSigningKey().getEncoded(), holder.get().getEncoded());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRotate_ShouldNotLoseKeyNorProvider_WhenConcurrentWithProviderChange() throws Exception {
+        PrivateKey initialKey = getTestSigningKey();
+        PrivateKey finalKey = generateKey("RSA");
+        Provider provider = Security.getProvider("SunRsaSign");
+        SigningKeyHolder holder = new SigningKeyHolder(initialKey);
+        OkHttpSigner signer = new OkHttpSigner(StandardCharsets.UTF_8, "key", holder, SignatureMethod.RSA_SHA256);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread rotations = new Thread(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < 20; i++) {
+                holder.rotate(i % 2 == 0 ? initialKey : finalKey);
+            }
+        });
+        Thread providerChanges = new Thread(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < 20; i++) {
+                signer.setProvider(provider);
+            }
+        });
+        rotations.start();
+        providerChanges.start();
+        start.countDown();
+        rotations.join();
+        providerChanges.join();
+
+        Assert.assertSame(finalKey, holder.get());
+        Assert.assertSame(provider, holder.getProvider());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ShouldThrowIllegalArgumentException_WhenSignatureMethodIsHmac() throws Exception {
+        new OkHttpSigner("ckey", getTestSigningKey(), SignatureMethod.HMAC_SHA256);
+    }
+}
@@ -22,7 +22,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.security.PrivateKey;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static com.mastercard.developer.test.TestUtils.UTF8_CHARSET;
 
@@ -177,7 +179,7 @@ public class SpringHttpRequestSignerTest {
 	}
 
 	@ParameterizedTest
-	@EnumSource(SignatureMethod.class)
+	@EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
 	public void testSignShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
 		// GIVEN
@@ -212,15 +214,20 @@ public class SpringHttpRequestSignerTest {
 			}
 		};
 
-		try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class)) {
+		String expectedBaseUri = "https://api.mastercard.com/service";
+		String expectedBodyHash = OAuth.getBodyHash(payload.getBytes(charset));
+
+		try (MockedStatic<OAuth> oauthMock = Mockito.mockStatic(OAuth.class, Mockito.CALLS_REAL_METHODS)) {
 			oauthMock.when(() -> OAuth.getAuthorizationHeader(
-					expectedUri,
-					"POST",
-					payload,
-					charset,
-					consumerKey,
-					signingKey,
-					signatureMethod
+					Mockito.eq(expectedBaseUri),
+					Mockito.eq(new TreeMap<String, List<String>>()),
+					Mockito.eq("POST"),
+					Mockito.eq(expectedBodyHash),
+					Mockito.eq(charset),
+					Mockito.eq(consumerKey),
+					Mockito.eq(signingKey),
+					Mockito.eq(signatureMethod),
+					Mockito.isNull()
 			)).thenReturn("OAuth header");
 
 			SpringHttpRequestSigner instanceUnderTest = new SpringHttpRequestSigner(consumerKey, signingKey, signatureMethod);
@@ -230,14 +237,17 @@ public class SpringHttpRequestSignerTest {
 
 			// THEN
 			oauthMock.verify(() -> OAuth.getAuthorizationHeader(
-					expectedUri,
-					"POST",
-					payload,
-					charset,
-					consumerKey,
-					signingKey,
-					signatureMethod
+					Mockito.eq(expectedBaseUri),
+					Mockito.eq(new TreeMap<String, List<String>>()),
+					Mockito.eq("POST"),
+					Mockito.eq(expectedBodyHash),
+					Mockito.eq(charset),
+					Mockito.eq(consumerKey),
+					Mockito.eq(signingKey),
+					Mockito.eq(signatureMethod),
+					Mockito.isNull()
 			));
+			Assert.assertEquals("OAuth header", localHeaders.getFirst(HttpHeaders.AUTHORIZATION));
 		}
 	}
 }
@@ -46,7 +46,7 @@ public class SpringWebfluxSignerTest {
     }
 
     @ParameterizedTest
-    @EnumSource(SignatureMethod.class)
+    @EnumSource(value = SignatureMethod.class, names = "HMAC_SHA256", mode = EnumSource.Mode.EXCLUDE)
     public void testSign_ShouldInvokeSigningAsExpected(SignatureMethod signatureMethod) throws Exception {
 
         // GIVEN
@@ -68,7 +68,8 @@ public class SpringWebfluxSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             )).thenReturn("OAuth header");
 
             SpringWebfluxSigner instanceUnderTest = new SpringWebfluxSigner(consumerKey, signingKey, signatureMethod);
@@ -84,7 +85,8 @@ public class SpringWebfluxSignerTest {
                     charset,
                     consumerKey,
                     signingKey,
-                    signatureMethod
+                    signatureMethod,
+                    null
             ));
         }
     }
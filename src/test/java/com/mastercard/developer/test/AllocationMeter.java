@@ -0,0 +1,61 @@
+package com.mastercard.developer.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes allocated on the heap by the current thread while calling some code, with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ */
+public class AllocationMeter {
+
+    private static final int WARM_UP_CALLS = 300;
+    private static final int BATCHES = 5;
+    private static final int BATCH_SIZE = 20;
+
+    public interface Call<T> {
+        void run(T input) throws Exception;
+    }
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return Whether the JVM can count the bytes allocated by a thread
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Calls the code on inputs created beforehand, so that only the allocations of the code are counted, after
+     * a warm-up for the JIT compiler. The lowest average of a few batches is returned, for ignoring the
+     * allocations of the JVM itself (class loading, compilation, TLAB refills...).
+     *
+     * @return The bytes allocated per call
+     */
+    public static <T> long bytesPerCall(Supplier<T> inputs, Call<T> call) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            call.run(inputs.get());
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int batch = 0; batch < BATCHES; batch++) {
+            List<T> batchInputs = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batchInputs.add(inputs.get());
+            }
+            long start = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (T input : batchInputs) {
+                call.run(input);
+            }
+            lowest = Math.min(lowest, (threadMXBean.getThreadAllocatedBytes(threadId) - start) / BATCH_SIZE);
+        }
+        return lowest;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mastercard.developer.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SigningKeyCacheTest {
+
+    private static final String PKCS12_PATH = "./src/test/resources/test_key_container.p12";
+    private static final String ENCRYPTED_PKCS8_PATH = "./src/test/resources/test_key_pkcs8_encrypted.pem";
+
+    @Test
+    public void testLoadSigningKey_ShouldReturnCachedKey_WhenLoadedTwice() throws Exception {
+        SigningKeyCache instanceUnderTest = new SigningKeyCache();
+
+        PrivateKey first = instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "Password1");
+        PrivateKey second = instanceUnderTest.loadSigningKey("./src/test/../test/resources/test_key_container.p12", "mykeyalias", "Password1");
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, instanceUnderTest.size());
+    }
+
+    @Test
+    public void testLoadSigningKey_ShouldNotReturnCachedKey_WhenWrongPassword() throws Exception {
+        SigningKeyCache instanceUnderTest = new SigningKeyCache();
+        instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "Password1");
+
+        try {
+            instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "WrongPassword");
+            Assert.fail("Exception expected");
+        } catch (IOException | GeneralSecurityException e) {
+            Assert.assertEquals(1, instanceUnderTest.size());
+        }
+    }
+
+    @Test
+    public void testLoadPkcs8SigningKeys_ShouldReturnCachedKeys() throws Exception {
+        SigningKeyCache instanceUnderTest = new SigningKeyCache();
+
+        PrivateKey encrypted = instanceUnderTest.loadEncryptedPkcs8SigningKey(ENCRYPTED_PKCS8_PATH, "Password1");
+        PrivateKey unencrypted = instanceUnderTest.loadPkcs8SigningKey("./src/test/resources/test_key_pkcs8.pem");
+
+        Assert.assertSame(encrypted, instanceUnderTest.loadEncryptedPkcs8SigningKey(ENCRYPTED_PKCS8_PATH, "Password1"));
+        Assert.assertSame(unencrypted, instanceUnderTest.loadPkcs8SigningKey("./src/test/resources/test_key_pkcs8.pem"));
+        Assert.assertArrayEquals(encrypted.getEncoded(), unencrypted.getEncoded());
+    }
+
+    @Test
+    public void testClear_ShouldRemoveCachedKeys() throws Exception {
+        SigningKeyCache instanceUnderTest = new SigningKeyCache();
+        PrivateKey first = instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "Password1");
+
+        instanceUnderTest.clear();
+
+        Assert.assertEquals(0, instanceUnderTest.size());
+        Assert.assertNotSame(first, instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "Password1"));
+    }
+
+    @Test
+    public void testLoadSigningKey_ShouldNotBeginKeyLoadEvent_WhenNotRecording() {
+        Assert.assertNull(KeyLoadEvents.begin());
+    }
+
+    @Test
+    public void testLoadSigningKey_ShouldLoadOnce_WhenLoadedConcurrently() throws Exception {
+        SigningKeyCache instanceUnderTest = new SigningKeyCache();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<PrivateKey>> keys = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                keys.add(executor.submit(() -> instanceUnderTest.loadSigningKey(PKCS12_PATH, "mykeyalias", "Password1")));
+            }
+            PrivateKey first = keys.get(0).get();
+            for (Future<PrivateKey> key : keys) {
+                Assert.assertSame(first, key.get());
+            }
+            Assert.assertEquals(1, instanceUnderTest.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}